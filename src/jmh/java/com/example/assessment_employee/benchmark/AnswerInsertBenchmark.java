@@ -0,0 +1,149 @@
+package com.example.assessment_employee.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INSERT evaluation_answers của một lần nộp đánh giá (kết quả: số dòng/giây)
+ * identityRowByRow: cách Hibernate ghi khi ID là IDENTITY (mỗi dòng một INSERT, đọc lại khóa sinh)
+ * pooledBatch: ID cấp từ pooled sequence, JDBC batch theo hibernate.jdbc.batch_size
+ * Mặc định H2 qua TCP loopback (server nhúng, mỗi lệnh là một round trip như MySQL); đo với MySQL thật (profile bulk):
+ * -Djmh.args="AnswerInsertBenchmark -p url=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true -p username=root"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class AnswerInsertBenchmark {
+
+    // 8 tiêu chí x 10 câu hỏi (cấu hình mặc định của LargeDatasetGenerator)
+    private static final int ANSWERS = 80;
+    private static final int BATCH_SIZE = 50;
+    private static final String COLUMNS = "total_score_by_employee, total_score_by_manager, total_score_by_supervision, total_score, question_id, summary_assessment_id";
+
+    private static final String EMBEDDED_SERVER_URL = "jdbc:h2:tcp://localhost:9093/";
+
+    @Param(EMBEDDED_SERVER_URL + "mem:answers;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String username;
+
+    @Param("")
+    public String password;
+
+    private Server server;
+    private Connection connection;
+    private PreparedStatement identityInsert;
+    private PreparedStatement pooledInsert;
+    private int[][] scores;
+    private long nextId;
+    private long assessmentId;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        if (url.startsWith(EMBEDDED_SERVER_URL)) {
+            server = Server.createTcpServer("-tcpPort", "9093", "-ifNotExists").start();
+        }
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_evaluation_answers");
+            statement.execute("""
+                    CREATE TABLE bench_evaluation_answers (
+                        evaluation_answer_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        total_score_by_employee INT NOT NULL,
+                        total_score_by_manager INT NOT NULL,
+                        total_score_by_supervision INT NOT NULL,
+                        total_score INT NOT NULL,
+                        question_id BIGINT,
+                        summary_assessment_id BIGINT)
+                    """);
+        }
+        connection.setAutoCommit(false);
+        identityInsert = connection.prepareStatement(
+                "INSERT INTO bench_evaluation_answers (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+        pooledInsert = connection.prepareStatement(
+                "INSERT INTO bench_evaluation_answers (evaluation_answer_id, " + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        scores = new int[ANSWERS][3];
+        for (int[] score : scores) {
+            score[0] = random.nextInt(11);
+            score[1] = random.nextInt(11);
+            score[2] = random.nextInt(11);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE bench_evaluation_answers");
+        }
+        connection.commit();
+        // Cả hai cách ghi dùng chung bảng: ID pooled bắt đầu xa khỏi vùng AUTO_INCREMENT
+        nextId = 1_000_000_000L;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_evaluation_answers");
+        }
+        connection.commit();
+        connection.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public long identityRowByRow() throws SQLException {
+        long assessment = ++assessmentId;
+        long lastId = 0;
+        for (int i = 0; i < ANSWERS; i++) {
+            bind(identityInsert, 1, i, assessment);
+            identityInsert.executeUpdate();
+            try (ResultSet keys = identityInsert.getGeneratedKeys()) {
+                keys.next();
+                lastId = keys.getLong(1);
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public long pooledBatch() throws SQLException {
+        long assessment = ++assessmentId;
+        for (int i = 0; i < ANSWERS; i++) {
+            pooledInsert.setLong(1, nextId++);
+            bind(pooledInsert, 2, i, assessment);
+            pooledInsert.addBatch();
+            if ((i + 1) % BATCH_SIZE == 0) {
+                pooledInsert.executeBatch();
+            }
+        }
+        pooledInsert.executeBatch();
+        connection.commit();
+        return nextId;
+    }
+
+    private void bind(PreparedStatement statement, int firstIndex, int answer, long assessment) throws SQLException {
+        int[] score = scores[answer];
+        statement.setInt(firstIndex, score[0]);
+        statement.setInt(firstIndex + 1, score[1]);
+        statement.setInt(firstIndex + 2, score[2]);
+        statement.setInt(firstIndex + 3, (score[0] * 2 + score[1] * 4 + score[2] * 4) / 10);
+        statement.setLong(firstIndex + 4, answer + 1);
+        statement.setLong(firstIndex + 5, assessment);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.entity.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Dữ liệu cố định (seed) dùng chung cho các benchmark để kết quả so sánh được giữa các lần chạy
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    static Department department(long id) {
+        return Department.builder()
+                .departmentId(id)
+                .departmentName("Phòng " + id)
+                .managerCode("MGR" + id)
+                .build();
+    }
+
+    static Employee employee(long code, Department department) {
+        return Employee.builder()
+                .code(code)
+                .fullName("Nguyễn Văn " + code)
+                .division("Công nghệ")
+                .basic("Cử nhân")
+                .staffType("Chuyên viên")
+                .startDate("2022-01-01")
+                .type("Toàn thời gian")
+                .department(department)
+                .account(Account.builder().id(code).username("user" + code).role("EMPLOYEE").status("ACTIVE").build())
+                .build();
+    }
+
+    /**
+     * Câu trả lời với đủ các tổ hợp vai trò đã chấm (có cả điểm 0 = chưa chấm)
+     */
+    static List<EvaluationAnswers> answers(int count, SummaryAssessment assessment, SplittableRandom random) {
+        EvaluationCriteria criteria = EvaluationCriteria.builder().evaluationCriteriaId(1L).criteriaName("Chuyên môn").build();
+        List<EvaluationAnswers> answers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EvaluationQuestions question = EvaluationQuestions.builder()
+                    .evaluationQuestionId((long) i + 1)
+                    .questionName("Câu hỏi " + (i + 1))
+                    .maxScore(10L)
+                    .evaluationCriteria(criteria)
+                    .build();
+            answers.add(EvaluationAnswers.builder()
+                    .evaluationAnswerId((long) i + 1)
+                    .totalScoreByEmployee(random.nextInt(11))
+                    .totalScoreBySupervision(random.nextInt(11))
+                    .totalScoreByManager(random.nextInt(11))
+                    .question(question)
+                    .summaryAssessment(assessment)
+                    .build());
+        }
+        return answers;
+    }
+
+    static SummaryAssessment assessment(long id, Employee employee, int answerCount, SplittableRandom random) {
+        SummaryAssessment assessment = SummaryAssessment.builder()
+                .summaryAssessmentId(id)
+                .criteriaFormId(1L)
+                .averageScore(7.5)
+                .sentiment("Tốt")
+                .comment("Hoàn thành tốt nhiệm vụ được giao")
+                .createdAt(LocalDateTime.of(2024, 1, 15, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 20, 17, 0))
+                .employee(employee)
+                .build();
+        assessment.setEvaluationAnswers(answers(answerCount, assessment, random));
+        return assessment;
+    }
+
+    static EvaluationCycles cycle(long id, Department department, int quarter) {
+        LocalDate start = LocalDate.of(2024, 1, 1).plusMonths(3L * quarter);
+        return EvaluationCycles.builder()
+                .evaluationCycleId(id)
+                .startDate(start)
+                .endDate(start.plusMonths(3).minusDays(1))
+                .status("COMPLETED")
+                .department(department)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.EvaluationHistoryResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialize ApiResponse<Page<...>>: phản hồi phân trang của lịch sử đánh giá
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<EvaluationHistoryResponse>> response;
+
+    @Setup
+    public void setup() {
+        // Cấu hình giống ObjectMapper mặc định của Spring Boot
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        List<EvaluationHistoryResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(EvaluationHistoryResponse.builder()
+                    .id((long) i + 1)
+                    .employeeId((long) random.nextInt(100_000))
+                    .employeeName("Nguyễn Văn " + i)
+                    .departmentName("Phòng Công nghệ thông tin")
+                    .formId(1L)
+                    .formName("Đánh giá quý")
+                    .cycleName("2024-01-01 - 2024-03-31")
+                    .createdAt(LocalDateTime.of(2024, 1, 15, 9, 0))
+                    .updatedAt(LocalDateTime.of(2024, 1, 20, 17, 0))
+                    .status("COMPLETED")
+                    .comment("Hoàn thành tốt nhiệm vụ được giao")
+                    .averageScore(random.nextInt(100) / 10.0)
+                    .totalQuestions(80)
+                    .completedQuestions(80)
+                    .assessmentItems(new ArrayList<>())
+                    .build());
+        }
+        response = ApiResponse.<Page<EvaluationHistoryResponse>>builder()
+                .code(200)
+                .message("Evaluation history retrieved successfully")
+                .result(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.configuration.CustomJwtDecoder;
+import com.example.assessment_employee.configuration.JwtConfig;
+import com.example.assessment_employee.entity.Account;
+import com.example.assessment_employee.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT: ký token khi đăng nhập (AuthService.generateToken) và xác thực trên mọi request (CustomJwtDecoder.decode)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET = "mySecretKeyForAssessmentEmployeeSystemThatShouldBeLongEnoughForSecurity";
+
+    private AuthService authService;
+    private MethodHandle generateToken;
+    private CustomJwtDecoder decoder;
+    private Account account;
+    private String token;
+
+    @Setup
+    public void setup() throws Throwable {
+        JwtConfig jwtConfig = new JwtConfig();
+        ReflectionTestUtils.setField(jwtConfig, "jwtSecret", SECRET);
+        JwtEncoder jwtEncoder = jwtConfig.jwtEncoder();
+
+        authService = new AuthService(null, null, null, jwtEncoder);
+        ReflectionTestUtils.setField(authService, "jwtExpirationInSeconds", 86400L);
+        // generateToken là private: gọi qua MethodHandle (chi phí không đáng kể so với ký HMAC)
+        generateToken = MethodHandles.privateLookupIn(AuthService.class, MethodHandles.lookup())
+                .findVirtual(AuthService.class, "generateToken", MethodType.methodType(String.class, Account.class));
+
+        decoder = new CustomJwtDecoder();
+        ReflectionTestUtils.setField(decoder, "jwtSecret", SECRET);
+
+        account = BenchmarkData.employee(1L, BenchmarkData.department(1L)).getAccount();
+        account.setEmployee(BenchmarkData.employee(1L, BenchmarkData.department(1L)));
+        token = encode();
+    }
+
+    @Benchmark
+    public String encode() throws Throwable {
+        return (String) generateToken.invoke(authService, account);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+}
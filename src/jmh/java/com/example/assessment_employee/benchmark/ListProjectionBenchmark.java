@@ -0,0 +1,128 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.AssessmentEmployeeApplication;
+import com.example.assessment_employee.dto.response.AccountResponse;
+import com.example.assessment_employee.dto.response.DepartmentResponse;
+import com.example.assessment_employee.dto.response.EmployeeResponse;
+import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.mapper.AccountMapper;
+import com.example.assessment_employee.mapper.DepartmentMapper;
+import com.example.assessment_employee.mapper.EmployeeMapper;
+import com.example.assessment_employee.repository.AccountRepository;
+import com.example.assessment_employee.repository.DepartmentRepository;
+import com.example.assessment_employee.repository.EmployeeRepository;
+import com.example.assessment_employee.service.AccountService;
+import com.example.assessment_employee.service.DepartmentService;
+import com.example.assessment_employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Danh sách /all với 100k nhân viên (500 phòng ban x 200): nạp entity graph + MapStruct (trước)
+ * so với projection chỉ các cột của response (sau). Ứng dụng chạy in-process trên H2 với datagen.
+ * Đo cấp phát heap: -Djmh.args="ListProjectionBenchmark -prof gc" (gc.alloc.rate.norm = byte/lần gọi)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+
+    private static final String[] APP_ARGS = {
+            "--spring.profiles.active=h2,datagen",
+            "--spring.datasource.url=jdbc:h2:mem:projection;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+            "--app.data-generator.departments=500",
+            "--app.data-generator.employees-per-department=200",
+            "--app.data-generator.cycles-per-department=1",
+            "--app.data-generator.completed-ratio=0",
+            "--app.data-generator.in-progress-ratio=0",
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.org.hibernate.validator=WARN"
+    };
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+
+    private EmployeeService employeeService;
+    private AccountService accountService;
+    private DepartmentService departmentService;
+    private EmployeeRepository employeeRepository;
+    private AccountRepository accountRepository;
+    private DepartmentRepository departmentRepository;
+    private EmployeeMapper employeeMapper;
+    private AccountMapper accountMapper;
+    private DepartmentMapper departmentMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = SpringApplication.run(AssessmentEmployeeApplication.class, APP_ARGS);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        employeeService = context.getBean(EmployeeService.class);
+        accountService = context.getBean(AccountService.class);
+        departmentService = context.getBean(DepartmentService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        departmentRepository = context.getBean(DepartmentRepository.class);
+        employeeMapper = context.getBean(EmployeeMapper.class);
+        accountMapper = context.getBean(AccountMapper.class);
+        departmentMapper = context.getBean(DepartmentMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeesEntityGraph() {
+        return readOnly.execute(status -> employeeMapper.toResponseList(employeeRepository.findAllWithFullInfo()));
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeesProjection() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<AccountResponse> accountsEntityGraph() {
+        return readOnly.execute(status -> accountMapper.toResponseList(accountRepository.findAllWithEmployee()));
+    }
+
+    @Benchmark
+    public List<AccountResponse> accountsProjection() {
+        return accountService.getAllAccounts();
+    }
+
+    @Benchmark
+    public List<DepartmentResponse> departmentsEntityGraph() {
+        // Cách map cũ của DepartmentService: collection employees / evaluationCycles nạp lazy theo từng phòng ban
+        return readOnly.execute(status -> departmentRepository.findAllBasic().stream()
+                .map(this::mapDepartment)
+                .toList());
+    }
+
+    @Benchmark
+    public List<DepartmentResponse> departmentsProjection() {
+        return departmentService.getAllDepartments();
+    }
+
+    private DepartmentResponse mapDepartment(Department department) {
+        DepartmentResponse response = departmentMapper.toResponse(department);
+        if (department.getEvaluationCycles() != null && !department.getEvaluationCycles().isEmpty()) {
+            response.setEvaluationCycles(departmentMapper.toEvaluationCycleInfoList(department.getEvaluationCycles()));
+        }
+        return response;
+    }
+}
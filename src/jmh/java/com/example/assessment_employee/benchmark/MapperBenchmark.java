@@ -0,0 +1,81 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.dto.response.DepartmentResponse;
+import com.example.assessment_employee.dto.response.EvaluationResponse;
+import com.example.assessment_employee.dto.response.SummaryAssessmentResponse;
+import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.entity.Employee;
+import com.example.assessment_employee.entity.EvaluationAnswers;
+import com.example.assessment_employee.entity.SummaryAssessment;
+import com.example.assessment_employee.mapper.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct mappers trên các đồ thị entity có kích thước thực tế (form 80 câu hỏi, phòng ban 200 nhân viên)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"80"})
+    public int questions;
+
+    @Param({"200"})
+    public int employees;
+
+    private SummaryAssessmentMapper summaryAssessmentMapper;
+    private EvaluationMapper evaluationMapper;
+    private DepartmentMapper departmentMapper;
+
+    private SummaryAssessment assessment;
+    private List<EvaluationAnswers> answers;
+    private Department department;
+
+    @Setup
+    public void setup() {
+        summaryAssessmentMapper = new SummaryAssessmentMapperImpl();
+        evaluationMapper = new EvaluationMapperImpl();
+        departmentMapper = new DepartmentMapperImpl();
+        // Mapper Spring (componentModel = "spring"): tự nối dependency thay cho container
+        ReflectionTestUtils.setField(departmentMapper, "employeeMapper", new EmployeeMapperImpl());
+
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        department = BenchmarkData.department(1L);
+        List<Employee> members = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            members.add(BenchmarkData.employee(i + 1, department));
+        }
+        department.setEmployees(members);
+        department.setEvaluationCycles(List.of(
+                BenchmarkData.cycle(1L, department, 0), BenchmarkData.cycle(2L, department, 1),
+                BenchmarkData.cycle(3L, department, 2), BenchmarkData.cycle(4L, department, 3)));
+
+        assessment = BenchmarkData.assessment(1L, members.get(0), questions, random);
+        answers = assessment.getEvaluationAnswers();
+    }
+
+    @Benchmark
+    public SummaryAssessmentResponse summaryAssessment() {
+        return summaryAssessmentMapper.toSummaryAssessmentResponse(assessment);
+    }
+
+    @Benchmark
+    public List<EvaluationResponse> evaluationAnswers() {
+        return evaluationMapper.toResponseList(answers);
+    }
+
+    @Benchmark
+    public DepartmentResponse department() {
+        return departmentMapper.toResponse(department);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.assessment_employee.benchmark;
+
+import com.example.assessment_employee.entity.EvaluationAnswers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EvaluationAnswers.getAVGScore: gọi cho mọi câu trả lời khi nộp đánh giá, xem lịch sử và thống kê
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ScoreBenchmark {
+
+    private static final int ANSWERS = 1024;
+
+    private EvaluationAnswers[] answers;
+
+    @Setup
+    public void setup() {
+        answers = BenchmarkData.answers(ANSWERS, null, new SplittableRandom(BenchmarkData.SEED))
+                .toArray(new EvaluationAnswers[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANSWERS)
+    public long avgScore() {
+        long sum = 0;
+        for (EvaluationAnswers answer : answers) {
+            sum += answer.getAVGScore();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.assessment_employee.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * HTTP client dùng chung cho các kịch bản; mọi request đều được ghi vào LatencyRecorder theo nhãn
+ */
+final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+    private final LatencyRecorder recorder;
+
+    ApiClient(String baseUrl, Duration timeout, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.recorder = recorder;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Đăng nhập, trả về JWT (null nếu thất bại)
+     */
+    String login(String username, String password) {
+        JsonNode body = post("login", "/api/auth/login", null, Map.of("username", username, "password", password));
+        return body == null ? null : body.path("result").path("token").asText(null);
+    }
+
+    /**
+     * Claim "role" trong payload của JWT (không kiểm tra chữ ký)
+     */
+    String role(String token) {
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(token.split("\\.")[1]);
+            return objectMapper.readTree(payload).path("role").asText(null);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    JsonNode get(String label, String path, String token) {
+        return send(label, request(path, token).GET().build());
+    }
+
+    JsonNode post(String label, String path, String token, Object payload) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            return send(label, request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                    .build());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String label, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() < 400;
+            if (!success) {
+                return null;
+            }
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (recorder != null) {
+                recorder.record(label, System.nanoTime() - start, success);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.assessment_employee.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dữ liệu mục tiêu cho các kịch bản, được dò qua các endpoint GET công khai
+ * (chu kỳ ACTIVE -> phiếu đánh giá -> tiêu chí/câu hỏi -> nhân viên của phòng ban)
+ */
+record Fixture(List<Target> targets, List<String> usernames, List<Long> completedCycleIds,
+               List<String> cycleNames, List<Long> activeCycleIds) {
+
+    record Question(long questionId, long maxScore) {
+    }
+
+    /**
+     * Một phiếu đánh giá của phòng ban cùng các nhân viên có thể được chấm trên phiếu đó
+     */
+    record Target(long formId, long managerCode, List<Long> employeeCodes, List<Question> questions) {
+    }
+
+    static Fixture discover(ApiClient client, int maxDepartments, String usernamePattern) {
+        List<Target> targets = new ArrayList<>();
+        List<String> usernames = new ArrayList<>();
+        List<Long> activeCycleIds = new ArrayList<>();
+        Map<Long, List<Question>> questionsByCriteria = new HashMap<>();
+
+        for (JsonNode cycle : results(client.get("discover", "/api/evaluation-cycles/active", null))) {
+            if (activeCycleIds.size() >= maxDepartments) {
+                break;
+            }
+            long cycleId = cycle.path("evaluationCycleId").asLong();
+            long departmentId = cycle.path("department").path("departmentId").asLong();
+            activeCycleIds.add(cycleId);
+
+            JsonNode department = client.get("discover", "/api/departments/" + departmentId + "/employees", null);
+            List<Long> employeeCodes = new ArrayList<>();
+            for (JsonNode employee : department.path("result").path("employees")) {
+                employeeCodes.add(employee.path("code").asLong());
+            }
+            if (employeeCodes.isEmpty()) {
+                continue;
+            }
+            employeeCodes.forEach(code -> usernames.add(String.format(usernamePattern, code)));
+            long managerCode = department.path("result").path("managerCode").asLong(employeeCodes.get(0));
+
+            for (JsonNode form : results(client.get("discover", "/api/criteria-forms/evaluation-cycle/" + cycleId, null))) {
+                List<Question> questions = new ArrayList<>();
+                for (JsonNode criteria : form.path("evaluationCriteria")) {
+                    long criteriaId = criteria.path("evaluationCriteriaId").asLong();
+                    questions.addAll(questionsByCriteria.computeIfAbsent(criteriaId, id -> loadQuestions(client, id)));
+                }
+                if (!questions.isEmpty()) {
+                    targets.add(new Target(form.path("criteriaFormId").asLong(), managerCode,
+                            List.copyOf(employeeCodes), List.copyOf(questions)));
+                }
+            }
+        }
+
+        List<Long> completedCycleIds = new ArrayList<>();
+        for (JsonNode cycle : results(client.get("discover", "/api/evaluation-cycles/status/COMPLETED", null))) {
+            completedCycleIds.add(cycle.path("evaluationCycleId").asLong());
+        }
+        List<String> cycleNames = new ArrayList<>();
+        for (JsonNode name : results(client.get("discover", "/api/evaluation-history/cycles", null))) {
+            cycleNames.add(name.asText());
+        }
+        return new Fixture(targets, usernames, completedCycleIds, cycleNames, activeCycleIds);
+    }
+
+    private static List<Question> loadQuestions(ApiClient client, long criteriaId) {
+        List<Question> questions = new ArrayList<>();
+        JsonNode criteria = client.get("discover", "/api/evaluation-criteria/" + criteriaId, null);
+        if (criteria != null) {
+            for (JsonNode question : criteria.path("result").path("evaluationQuestions")) {
+                questions.add(new Question(question.path("evaluationQuestionId").asLong(),
+                        question.path("maxScore").asLong()));
+            }
+        }
+        return questions;
+    }
+
+    private static Iterable<JsonNode> results(JsonNode response) {
+        if (response == null || !response.path("result").isArray()) {
+            return List.of();
+        }
+        return response.path("result");
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.assessment_employee.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ghi nhận độ trễ theo nhãn request (login, submit, overview...) và tính percentile
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String label, long latencyNanos, boolean success) {
+        series.computeIfAbsent(label, k -> new Series()).add(latencyNanos, success);
+    }
+
+    Map<String, Stats> snapshot(double durationSeconds) {
+        Map<String, Stats> result = new LinkedHashMap<>();
+        series.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue().stats(durationSeconds)));
+        return result;
+    }
+
+    record Stats(long count, long errors, double throughput, double p50, double p90, double p95, double p99, double max) {
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        double metric(String name) {
+            return switch (name) {
+                case "p50" -> p50;
+                case "p90" -> p90;
+                case "p95" -> p95;
+                case "p99" -> p99;
+                case "max" -> max;
+                case "errorRate" -> errorRate();
+                case "throughput" -> throughput;
+                default -> throw new IllegalArgumentException("Unknown metric: " + name);
+            };
+        }
+    }
+
+    private static final class Series {
+        private long[] latencies = new long[4096];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized Stats stats(double durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new Stats(size, errors.get(), size / durationSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), size == 0 ? 0 : sorted[size - 1] / 1_000_000.0);
+        }
+
+        // Nearest-rank percentile, đơn vị ms
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+}
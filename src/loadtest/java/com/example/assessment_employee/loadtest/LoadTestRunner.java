@@ -0,0 +1,216 @@
+package com.example.assessment_employee.loadtest;
+
+import com.example.assessment_employee.AssessmentEmployeeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test end-to-end qua HTTP: chạy các kịch bản (login-storm, bulk-scoring, dashboard-polling, role-contention)
+ * theo mô hình closed-loop trên virtual threads, in throughput/percentile và fail khi vi phạm SLO
+ * hoặc khi kiểm tra tính đúng đắn của kịch bản thất bại.
+ *
+ * <p>Cấu hình mặc định nằm trong loadtest.properties, có thể ghi đè bằng -D cùng tên, ví dụ:
+ * {@code mvn -Ploadtest test-compile exec:java -Dloadtest.baseUrl=http://localhost:8080 -Dloadtest.bulk-scoring.users=100}.
+ * Khi không có loadtest.baseUrl, ứng dụng được khởi động in-process với loadtest.appArgs
+ * (mặc định H2 in-memory + datagen quy mô nhỏ) và stub sentiment server.
+ */
+public final class LoadTestRunner {
+
+    private final Properties config;
+
+    private LoadTestRunner(Properties config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties config = new Properties();
+        try (InputStream in = LoadTestRunner.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                config.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("loadtest."))
+                .forEach(key -> config.setProperty(key, System.getProperty(key)));
+
+        List<String> violations = new LoadTestRunner(config).run();
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.err.println("SLO VIOLATION: " + violation));
+            throw new IllegalStateException(violations.size() + " SLO violation(s), see report above");
+        }
+        System.out.println("All SLOs passed");
+    }
+
+    private List<String> run() throws IOException {
+        StubSentimentServer stub = null;
+        ConfigurableApplicationContext app = null;
+        try {
+            String baseUrl = get("loadtest.baseUrl", "");
+            if (baseUrl.isBlank()) {
+                List<String> appArgs = new ArrayList<>(List.of(get("loadtest.appArgs", "").trim().split("\\s+")));
+                appArgs.add("--server.port=0");
+                if (getBoolean("loadtest.stub.enabled")) {
+                    stub = new StubSentimentServer(getInt("loadtest.stub.port"), getLong("loadtest.stub.delayMs")).start();
+                    appArgs.add("--service.sentiment-analysis-url=" + stub.url());
+                }
+                app = SpringApplication.run(AssessmentEmployeeApplication.class, appArgs.toArray(String[]::new));
+                baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            } else if (getBoolean("loadtest.stub.enabled")) {
+                // App chạy ngoài: stub phải lắng nghe đúng port mà service.sentiment-analysis-url của app trỏ tới
+                stub = new StubSentimentServer(getInt("loadtest.stub.port"), getLong("loadtest.stub.delayMs")).start();
+            }
+            System.out.println("Load testing " + baseUrl);
+            return runScenarios(baseUrl);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private List<String> runScenarios(String baseUrl) throws IOException {
+        Duration timeout = Duration.ofSeconds(getLong("loadtest.timeoutSeconds"));
+        ApiClient untimed = new ApiClient(baseUrl, timeout, null);
+        Fixture fixture = Fixture.discover(untimed, getInt("loadtest.maxDepartments"), get("loadtest.user.pattern", "gen.%07d"));
+        System.out.printf("Fixture: %d forms, %d accounts, %d completed cycles%n",
+                fixture.targets().size(), fixture.usernames().size(), fixture.completedCycleIds().size());
+
+        String adminUsername = get("loadtest.admin.username", "admin");
+        String adminPassword = get("loadtest.admin.password", "admin123");
+        String adminToken = untimed.login(adminUsername, adminPassword);
+        if (adminToken == null) {
+            throw new IllegalStateException("Admin login failed for " + adminUsername);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+        for (String id : get("loadtest.scenarios", "").split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            Scenario scenario = Scenario.fromId(id);
+            int users = getInt("loadtest." + scenario.id() + ".users");
+            long thinkTimeMs = getLong("loadtest." + scenario.id() + ".thinkTimeMs");
+            Duration duration = Duration.ofSeconds(getLong("loadtest." + scenario.id() + ".durationSeconds"));
+            Duration warmup = Duration.ofSeconds(getLong("loadtest.warmupSeconds"));
+
+            // Warm-up không ghi số liệu (JIT, connection pool, cache)
+            drive(scenario, context(untimed, fixture, adminToken, adminUsername, adminPassword), users, warmup, thinkTimeMs);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            ApiClient client = new ApiClient(baseUrl, timeout, recorder);
+            long start = System.nanoTime();
+            drive(scenario, context(client, fixture, adminToken, adminUsername, adminPassword), users, duration, thinkTimeMs);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, LatencyRecorder.Stats> stats = recorder.snapshot(elapsedSeconds);
+            print(scenario, users, elapsedSeconds, stats);
+            violations.addAll(checkSlo(scenario, stats));
+            violations.addAll(scenario.verify(context(untimed, fixture, adminToken, adminUsername, adminPassword)));
+            report.put(scenario.id(), Map.of("users", users, "durationSeconds", elapsedSeconds, "requests", stats));
+        }
+
+        Path reportPath = Path.of(get("loadtest.report", "target/loadtest-report.json"));
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+        return violations;
+    }
+
+    private Scenario.Context context(ApiClient client, Fixture fixture, String adminToken,
+                                     String adminUsername, String adminPassword) {
+        return new Scenario.Context(client, fixture, adminToken, adminUsername, adminPassword,
+                get("loadtest.user.pattern", "gen.%07d"), get("loadtest.user.password", "generated123"));
+    }
+
+    /**
+     * Closed model: mỗi virtual user lặp kịch bản cho tới hết thời gian, nghỉ thinkTime giữa các vòng
+     */
+    private static void drive(Scenario scenario, Scenario.Context context, int users, Duration duration, long thinkTimeMs) {
+        if (duration.isZero()) {
+            return;
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        scenario.iteration(context);
+                        if (thinkTimeMs > 0) {
+                            Thread.sleep(thinkTimeMs);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private List<String> checkSlo(Scenario scenario, Map<String, LatencyRecorder.Stats> stats) {
+        List<String> violations = new ArrayList<>();
+        String prefix = "loadtest.slo." + scenario.id() + ".";
+        for (String key : config.stringPropertyNames()) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String[] parts = key.substring(prefix.length()).split("\\.");
+            String label = parts[0];
+            String metric = parts[1];
+            double limit = Double.parseDouble(config.getProperty(key));
+            LatencyRecorder.Stats series = stats.get(label);
+            if (series == null || series.count() == 0) {
+                violations.add(scenario.id() + "/" + label + ": no requests recorded");
+                continue;
+            }
+            double actual = series.metric(metric);
+            // throughput là ngưỡng dưới, các chỉ số còn lại là ngưỡng trên
+            boolean breached = "throughput".equals(metric) ? actual < limit : actual > limit;
+            if (breached) {
+                violations.add(String.format("%s/%s %s = %.3f (limit %s)", scenario.id(), label, metric, actual, config.getProperty(key)));
+            }
+        }
+        return violations;
+    }
+
+    private static void print(Scenario scenario, int users, double elapsedSeconds, Map<String, LatencyRecorder.Stats> stats) {
+        System.out.printf("%n== %s: %d users, %.1fs ==%n", scenario.id(), users, elapsedSeconds);
+        System.out.printf("%-18s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        stats.forEach((label, s) -> System.out.printf("%-18s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                label, s.count(), s.errors(), s.throughput(), s.p50(), s.p90(), s.p95(), s.p99(), s.max()));
+    }
+
+    private String get(String key, String defaultValue) {
+        return config.getProperty(key, defaultValue);
+    }
+
+    private int getInt(String key) {
+        return Integer.parseInt(get(key, "0").trim());
+    }
+
+    private long getLong(String key) {
+        return Long.parseLong(get(key, "0").trim());
+    }
+
+    private boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key, "false").trim());
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.assessment_employee.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Các kịch bản tải; mỗi lần gọi {@link #iteration} là một vòng lặp của một virtual user
+ */
+enum Scenario {
+
+    /**
+     * Đầu chu kỳ: toàn bộ nhân viên đăng nhập cùng lúc
+     */
+    LOGIN_STORM("login-storm") {
+        @Override
+        void iteration(Context context) {
+            List<String> usernames = context.fixture().usernames();
+            if (usernames.isEmpty()) {
+                context.client().login(context.adminUsername(), context.adminPassword());
+                return;
+            }
+            context.client().login(pick(usernames), context.userPassword());
+        }
+    },
+
+    /**
+     * Chấm điểm hàng loạt: nhân viên tự đánh giá và quản lý chấm điểm trên phiếu của chu kỳ ACTIVE
+     */
+    BULK_SCORING("bulk-scoring") {
+        @Override
+        void iteration(Context context) {
+            List<Fixture.Target> targets = context.fixture().targets();
+            if (targets.isEmpty()) {
+                throw new IllegalStateException("No ACTIVE cycle with forms found for bulk-scoring");
+            }
+            Fixture.Target target = pick(targets);
+            long employeeCode = pick(target.employeeCodes());
+            boolean selfAssessment = ThreadLocalRandom.current().nextBoolean();
+            long assessorCode = selfAssessment ? employeeCode : target.managerCode();
+
+            String token = context.client().login(String.format(context.usernamePattern(), assessorCode), context.userPassword());
+            if (token == null) {
+                return;
+            }
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("formId", target.formId());
+            request.put("employeeId", employeeCode);
+            request.put("assessorId", assessorCode);
+            request.put("comment", selfAssessment ? "Hoàn thành tốt công việc được giao" : "Cần cải thiện kỹ năng giao tiếp");
+            request.put("assessmentItems", target.questions().stream()
+                    .map(question -> {
+                        long score = ThreadLocalRandom.current().nextLong(1, question.maxScore() + 1);
+                        return Map.of("questionId", question.questionId(),
+                                "employeeScore", score,
+                                "supervisorScore", score,
+                                "managerScore", score);
+                    })
+                    .toList());
+            context.client().post("submit", "/api/evaluations", token, request);
+        }
+    },
+
+    /**
+     * Stress ghi đồng thời: nhân viên (tự đánh giá), quản lý và giám sát liên tục nộp cùng một phiếu của cùng một
+     * nhân viên, mỗi virtual user giữ một vai trò (users = 3: một người mỗi vai trò). Mỗi lần nộp chấm cùng một mức
+     * điểm ngẫu nhiên cho mọi câu hỏi; sau khi chạy, cột điểm của mỗi vai trò phải bằng điểm của lần nộp thành công
+     * cuối cùng của vai trò đó trên mọi câu trả lời (ghi đè cả dòng bằng dữ liệu cũ sẽ làm mất hoặc xé lẻ điểm).
+     * Không nằm trong danh sách mặc định: -Dloadtest.scenarios=role-contention
+     */
+    ROLE_CONTENTION("role-contention") {
+        private static final String[] ROLES = {"EMPLOYEE", "MANAGER", "SUPERVISOR"};
+        // Hằng số (không phải ROLES.length): initializer của enum không được đọc field static khác
+        private static final int ROLE_COUNT = 3;
+
+        private final AtomicInteger nextRole = new AtomicInteger();
+        private final ThreadLocal<Integer> userRole = ThreadLocal.withInitial(() -> nextRole.getAndIncrement() % ROLE_COUNT);
+        // Điểm của lần nộp thành công gần nhất theo vai trò (0: chưa có)
+        private final AtomicLongArray lastScores = new AtomicLongArray(ROLE_COUNT);
+        private Contention contention;
+
+        @Override
+        void iteration(Context context) {
+            Contention target = contention(context);
+            int role = userRole.get();
+            long roleScore = ThreadLocalRandom.current().nextLong(1, 11);
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("formId", target.formId());
+            request.put("employeeId", target.employeeCode());
+            request.put("assessorId", target.assessorCodes()[role]);
+            request.put("comment", "Đánh giá của " + ROLES[role]);
+            request.put("assessmentItems", target.questions().stream()
+                    .map(question -> {
+                        long score = Math.min(roleScore, question.maxScore());
+                        return Map.of("questionId", question.questionId(),
+                                "employeeScore", score,
+                                "supervisorScore", score,
+                                "managerScore", score);
+                    })
+                    .toList());
+            if (context.client().post("submit", "/api/evaluations", target.tokens()[role], request) != null) {
+                lastScores.set(role, roleScore);
+            }
+        }
+
+        @Override
+        List<String> verify(Context context) {
+            Contention target = contention(context);
+            JsonNode assessment = context.client().get("verify",
+                    "/api/evaluations/" + target.formId() + "/" + target.employeeCode(), context.adminToken());
+            if (assessment == null) {
+                return List.of(id() + ": assessment of employee " + target.employeeCode() + " not found");
+            }
+            Map<Long, Long> maxScores = new HashMap<>();
+            target.questions().forEach(question -> maxScores.put(question.questionId(), question.maxScore()));
+
+            List<String> violations = new ArrayList<>();
+            JsonNode items = assessment.path("result").path("assessmentItems");
+            if (items.size() != target.questions().size()) {
+                violations.add(String.format("%s: %d answers, expected %d", id(), items.size(), target.questions().size()));
+            }
+            for (JsonNode item : items) {
+                long maxScore = maxScores.getOrDefault(item.path("questionId").asLong(), Long.MAX_VALUE);
+                long[] actual = {item.path("employeeScore").asLong(), item.path("managerScore").asLong(),
+                        item.path("supervisorScore").asLong()};
+                for (int role = 0; role < ROLES.length; role++) {
+                    long expected = Math.min(lastScores.get(role), maxScore);
+                    if (lastScores.get(role) > 0 && actual[role] != expected) {
+                        violations.add(String.format("%s: question %d lost %s score (%d, expected %d)",
+                                id(), item.path("questionId").asLong(), ROLES[role], actual[role], expected));
+                    }
+                }
+            }
+            return violations;
+        }
+
+        /**
+         * Phiếu đầu tiên của fixture; vai trò của từng tài khoản đọc từ JWT khi đăng nhập (một lần)
+         */
+        private synchronized Contention contention(Context context) {
+            if (contention != null) {
+                return contention;
+            }
+            List<Fixture.Target> targets = context.fixture().targets();
+            if (targets.isEmpty()) {
+                throw new IllegalStateException("No ACTIVE cycle with forms found for role-contention");
+            }
+            Fixture.Target target = targets.get(0);
+            long[] codes = new long[ROLES.length];
+            String[] tokens = new String[ROLES.length];
+            for (long code : target.employeeCodes()) {
+                String token = context.client().login(String.format(context.usernamePattern(), code), context.userPassword());
+                String role = token == null ? null : context.client().role(token);
+                for (int i = 0; i < ROLES.length; i++) {
+                    if (ROLES[i].equals(role) && tokens[i] == null) {
+                        codes[i] = code;
+                        tokens[i] = token;
+                    }
+                }
+                if (tokens[0] != null && tokens[1] != null && tokens[2] != null) {
+                    // Người được đánh giá là nhân viên tìm thấy (tự đánh giá bằng tài khoản của mình)
+                    contention = new Contention(target.formId(), codes[0], codes, tokens, target.questions());
+                    return contention;
+                }
+            }
+            throw new IllegalStateException("Department of form " + target.formId() + " has no employee, manager and supervisor");
+        }
+    },
+
+    /**
+     * Dashboard quản trị được poll định kỳ trong lúc chu kỳ đang diễn ra
+     */
+    DASHBOARD_POLLING("dashboard-polling") {
+        @Override
+        void iteration(Context context) {
+            ApiClient client = context.client();
+            String token = context.adminToken();
+            Fixture fixture = context.fixture();
+            client.get("overview", "/api/admin/statistics/overview", token);
+            client.get("top-employees", "/api/admin/statistics/top-employees", token);
+            client.get("history", "/api/evaluation-history?page=0&size=20", null);
+            if (!fixture.completedCycleIds().isEmpty()) {
+                long cycleId = pick(fixture.completedCycleIds());
+                client.get("criteria-average", "/api/admin/statistics/criteria-average/" + cycleId, token);
+                client.get("cycle-results", "/api/admin/statistics/cycles/" + cycleId + "/results", token);
+            }
+            if (!fixture.cycleNames().isEmpty()) {
+                client.get("cycle-statistics", "/api/evaluation-history/statistics/"
+                        + ApiClient.encode(pick(fixture.cycleNames())), null);
+            }
+        }
+    };
+
+    private final String id;
+
+    Scenario(String id) {
+        this.id = id;
+    }
+
+    String id() {
+        return id;
+    }
+
+    abstract void iteration(Context context);
+
+    /**
+     * Kiểm tra tính đúng đắn sau khi chạy; mỗi phần tử là một vi phạm
+     */
+    List<String> verify(Context context) {
+        return List.of();
+    }
+
+    static Scenario fromId(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id.trim())) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + id);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    record Contention(long formId, long employeeCode, long[] assessorCodes, String[] tokens,
+                      List<Fixture.Question> questions) {
+    }
+
+    record Context(ApiClient client, Fixture fixture, String adminToken, String adminUsername, String adminPassword,
+                   String usernamePattern, String userPassword) {
+    }
+}
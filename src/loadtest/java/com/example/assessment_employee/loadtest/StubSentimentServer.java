@@ -0,0 +1,66 @@
+package com.example.assessment_employee.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Stub cho dịch vụ phân tích cảm xúc (POST /sentiment-analysis) với độ trễ giả lập cố định,
+ * để kết quả load test không phụ thuộc vào dịch vụ bên ngoài
+ */
+final class StubSentimentServer implements AutoCloseable {
+
+    private static final String[] SENTIMENTS = {"Tốt", "Trung bình", "Kém"};
+
+    private final HttpServer server;
+
+    StubSentimentServer(int port, long delayMillis) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/sentiment-analysis", exchange -> {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            sleep(delayMillis);
+            String sentiment = SENTIMENTS[Math.floorMod(new String(request, StandardCharsets.UTF_8).hashCode(), SENTIMENTS.length)];
+            byte[] body = ("{\"sentiment\":\"" + sentiment + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+    }
+
+    StubSentimentServer start() {
+        server.start();
+        return this;
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 5005;
+        long delay = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        StubSentimentServer stub = new StubSentimentServer(port, delay).start();
+        System.out.println("Stub sentiment server listening on " + stub.url());
+    }
+}
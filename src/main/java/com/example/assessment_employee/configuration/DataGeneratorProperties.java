@@ -0,0 +1,34 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cấu hình bộ sinh dữ liệu lớn (app.data-generator.*)
+ * Mặc định: 500 phòng ban, 100k nhân viên, 2k chu kỳ, form 80 câu hỏi, ~30 triệu câu trả lời
+ */
+@Data
+@ConfigurationProperties(prefix = "app.data-generator")
+public class DataGeneratorProperties {
+
+    private boolean enabled = false;
+    private long seed = 20240101L;
+
+    private int departments = 500;
+    private int employeesPerDepartment = 200;
+    private int supervisorsPerDepartment = 5;
+    private int cyclesPerDepartment = 4;
+    private int formsPerCycle = 1;
+
+    private int criteria = 40;
+    private int questionsPerCriteria = 10;
+    private int criteriaPerForm = 8;
+    private int maxScore = 10;
+
+    // Tỉ lệ đánh giá đã trả lời đủ (phần còn lại trả lời dở dang hoặc chưa trả lời)
+    private double completedRatio = 0.85;
+    private double inProgressRatio = 0.1;
+
+    private int batchSize = 1000;
+    private String password = "generated123";
+}
@@ -0,0 +1,78 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ID Sequences - Đồng bộ pooled sequence của các entity ghi hàng loạt với dữ liệu hiện có
+ * Các bảng này trước đây dùng AUTO_INCREMENT, và LargeDatasetGenerator ghi ID trực tiếp (MAX(id)+1),
+ * nên sequence phải được đẩy lên trên MAX(id) trước khi Hibernate cấp ID mới.
+ * MySQL không có sequence: Hibernate dùng bảng một dòng (next_val); H2 dùng sequence thật.
+ * Chạy khi khởi động, sau khi ddl-auto tạo sequence (EntityManagerFactory đã khởi tạo) và trước khi web server
+ * nhận request: CommandLineRunner chạy quá muộn, insert trong khoảng đó nhận ID trùng với dòng AUTO_INCREMENT cũ.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequences implements SmartInitializingSingleton {
+
+    // Phải khớp allocationSize của @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<PooledSequence> SEQUENCES = List.of(
+            new PooledSequence("evaluation_answers_seq", "evaluation_answers", "evaluation_answer_id"),
+            new PooledSequence("department_seq", "department", "department_id"),
+            new PooledSequence("cycle_result_snapshot_seq", "cycle_result_snapshot", "cycle_result_snapshot_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resync();
+    }
+
+    /**
+     * Đặt giá trị kế tiếp của mỗi sequence >= MAX(id) + 1 + ALLOCATION_SIZE
+     * (pooled optimizer cấp khối [next_val - ALLOCATION_SIZE + 1, next_val]). Idempotent, chỉ tăng.
+     */
+    public void resync() {
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        for (PooledSequence sequence : SEQUENCES) {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT MAX(" + sequence.idColumn() + ") FROM " + sequence.table(), Long.class);
+            if (maxId == null) {
+                continue;
+            }
+            long floor = maxId + 1 + ALLOCATION_SIZE;
+
+            if ("MySQL".equalsIgnoreCase(databaseProduct)) {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + sequence.name() + " SET next_val = ? WHERE next_val < ?", floor, floor);
+                if (updated > 0) {
+                    log.info("Advanced {} to {}", sequence.name(), floor);
+                }
+            } else if ("H2".equalsIgnoreCase(databaseProduct)) {
+                Long current = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, sequence.name());
+                if (current != null && current < floor) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence.name() + " RESTART WITH " + floor);
+                    log.info("Advanced {} to {}", sequence.name(), floor);
+                }
+            } else {
+                log.warn("Cannot resync {} on database: {}", sequence.name(), databaseProduct);
+            }
+        }
+    }
+
+    private record PooledSequence(String name, String table, String idColumn) {
+    }
+}
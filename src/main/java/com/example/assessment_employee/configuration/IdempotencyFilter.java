@@ -0,0 +1,235 @@
+package com.example.assessment_employee.configuration;
+
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+
+/**
+ * Idempotency-Key cho request ghi: lần đầu xử lý bình thường và lưu response (status &lt; 500) vào IdempotencyStore,
+ * các lần retry cùng key và cùng nội dung nhận lại response đã lưu (header Idempotent-Replayed: true)
+ * mà không chạm tới DB hay dịch vụ sentiment. Key đang xử lý: 409; key đã dùng cho request khác: 422;
+ * body lớn hơn app.idempotency.max-request-bytes: 413.
+ * Chạy sau Spring Security (order mặc định) để key được tách riêng theo người dùng.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null || !WRITE_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))
+                || properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH
+                || !idempotencyKey.chars().allMatch(c -> c >= 0x21 && c <= 0x7e)) {
+            reject(response, ErrorCode.INVALID_IDEMPOTENCY_KEY);
+            return;
+        }
+
+        if (request.getContentLengthLong() > properties.getMaxRequestBytes()) {
+            reject(response, ErrorCode.IDEMPOTENT_REQUEST_TOO_LARGE);
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, properties.getMaxRequestBytes());
+        if (cachedRequest.body == null) {
+            // Không có Content-Length (chunked) và body vượt giới hạn
+            reject(response, ErrorCode.IDEMPOTENT_REQUEST_TOO_LARGE);
+            return;
+        }
+        String key = principal() + '\n' + idempotencyKey;
+        IdempotencyStore.Outcome outcome = store.begin(key, requestHash(cachedRequest));
+        count(outcome);
+
+        switch (outcome) {
+            case IdempotencyStore.Replay replay -> {
+                response.setStatus(replay.status());
+                if (replay.contentType() != null) {
+                    response.setContentType(replay.contentType());
+                }
+                response.setHeader(REPLAYED_HEADER, "true");
+                response.setContentLength(replay.body().length);
+                response.getOutputStream().write(replay.body());
+            }
+            case IdempotencyStore.InProgress ignored -> reject(response, ErrorCode.IDEMPOTENCY_KEY_IN_PROGRESS);
+            case IdempotencyStore.Mismatch ignored -> reject(response, ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            case IdempotencyStore.Bypass ignored -> filterChain.doFilter(cachedRequest, response);
+            case IdempotencyStore.Started ignored -> process(key, cachedRequest, response, filterChain);
+        }
+    }
+
+    private void process(String key, CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            // Lỗi server có thể là tạm thời: không lưu để client retry được
+            if (cachingResponse.getStatus() < 500) {
+                store.complete(key, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                        cachingResponse.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Người dùng đã xác thực (subject của JWT); request ẩn danh dùng chung một không gian key
+     */
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "";
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * SHA-256 của method, path, query và body: cùng key nhưng khác bất kỳ phần nào là request khác
+     */
+    private static byte[] requestHash(CachedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void count(IdempotencyStore.Outcome outcome) {
+        String name = switch (outcome) {
+            case IdempotencyStore.Started ignored -> "started";
+            case IdempotencyStore.Replay ignored -> "replayed";
+            case IdempotencyStore.InProgress ignored -> "in_progress";
+            case IdempotencyStore.Mismatch ignored -> "mismatch";
+            case IdempotencyStore.Bypass ignored -> "bypass";
+        };
+        meterRegistry.counter("idempotency.requests", "outcome", name).increment();
+    }
+
+    private void reject(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        response.setStatus(errorCode.getHttpStatusCode().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponse.builder()
+                .code(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build()));
+    }
+
+    /**
+     * Đọc trước toàn bộ body (để băm) và phát lại cho controller; body null nếu dài hơn maxBytes
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, int maxBytes) throws IOException {
+            super(request);
+            byte[] read = request.getInputStream().readNBytes(maxBytes + 1);
+            this.body = read.length > maxBytes ? null : read;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Idempotency-Key cho các request ghi (app.idempotency.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // Thời gian giữ response đã lưu; client retry sau khoảng này sẽ chạy lại request
+    private Duration ttl = Duration.ofHours(1);
+
+    // Số key tối đa trong bộ nhớ; khi đầy, request mới được xử lý bình thường nhưng không được lưu
+    private int maxEntries = 20_000;
+
+    // Response lớn hơn (sau khi nén) không được lưu
+    private int maxResponseBytes = 64 * 1024;
+
+    // Tổng byte body đã lưu; vượt ngưỡng thì request mới được xử lý bình thường nhưng không được lưu
+    private long maxTotalBytes = 32L * 1024 * 1024;
+
+    // Body request được đọc vào bộ nhớ để băm; lớn hơn thì trả về 413
+    private int maxRequestBytes = 64 * 1024;
+
+    // Request ghi (POST/PUT/PATCH/DELETE) có header Idempotency-Key trên các path này
+    private List<String> paths = new ArrayList<>(List.of("/api/**"));
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/auth/**"));
+}
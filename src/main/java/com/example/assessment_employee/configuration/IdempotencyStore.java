@@ -0,0 +1,183 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Idempotency Store - Response đã xử lý theo (người dùng, Idempotency-Key), giữ trong bộ nhớ có TTL, giới hạn số key và tổng byte đã lưu.
+ * Mỗi key nhớ SHA-256 của request đầu tiên: cùng key với nội dung khác bị từ chối, key đang xử lý trả về xung đột.
+ * Body response được nén gzip khi có lợi. Chỉ đúng khi chạy một instance (giống AggregateVersions).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyStore {
+
+    // Body nhỏ hơn ngưỡng này lưu nguyên (gzip header + CRC không đáng)
+    private static final int COMPRESS_THRESHOLD = 512;
+
+    private final IdempotencyProperties properties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Tổng byte body của các response đang lưu
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public sealed interface Outcome {
+    }
+
+    /**
+     * Key mới: request được xử lý, sau đó gọi {@link #complete} hoặc {@link #release}
+     */
+    public record Started() implements Outcome {
+    }
+
+    public record InProgress() implements Outcome {
+    }
+
+    public record Mismatch() implements Outcome {
+    }
+
+    /**
+     * Store đầy (số key hoặc tổng byte): xử lý request mà không lưu
+     */
+    public record Bypass() implements Outcome {
+    }
+
+    public record Replay(int status, String contentType, byte[] body) implements Outcome {
+    }
+
+    private record Entry(byte[] requestHash, long expiresAt, StoredResponse response) {
+
+        boolean completed() {
+            return response != null;
+        }
+
+        int bytes() {
+            return response != null ? response.body().length : 0;
+        }
+    }
+
+    private record StoredResponse(int status, String contentType, byte[] body, boolean compressed) {
+    }
+
+    public Outcome begin(String key, byte[] requestHash) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= properties.getMaxEntries() && !entries.containsKey(key)) {
+            evictExpired();
+            if (entries.size() >= properties.getMaxEntries()) {
+                log.warn("Idempotency store full ({} keys), request processed without idempotency", entries.size());
+                return new Bypass();
+            }
+        }
+        if (storedBytes.get() >= properties.getMaxTotalBytes() && !entries.containsKey(key)) {
+            evictExpired();
+            if (storedBytes.get() >= properties.getMaxTotalBytes()) {
+                log.warn("Idempotency store full ({} bytes), request processed without idempotency", storedBytes.get());
+                return new Bypass();
+            }
+        }
+
+        Outcome[] outcome = new Outcome[1];
+        entries.compute(key, (k, existing) -> {
+            if (existing == null || existing.expiresAt() <= now) {
+                if (existing != null) {
+                    storedBytes.addAndGet(-existing.bytes());
+                }
+                outcome[0] = new Started();
+                return new Entry(requestHash, now + properties.getTtl().toMillis(), null);
+            }
+            if (!MessageDigest.isEqual(existing.requestHash(), requestHash)) {
+                outcome[0] = new Mismatch();
+            } else if (!existing.completed()) {
+                outcome[0] = new InProgress();
+            } else {
+                StoredResponse response = existing.response();
+                outcome[0] = new Replay(response.status(), response.contentType(),
+                        response.compressed() ? gunzip(response.body()) : response.body());
+            }
+            return existing;
+        });
+        return outcome[0];
+    }
+
+    /**
+     * Lưu response của key đang xử lý; response quá lớn hoặc vượt tổng byte thì bỏ key (client retry sẽ chạy lại)
+     */
+    public void complete(String key, int status, String contentType, byte[] body) {
+        boolean compressed = body.length >= COMPRESS_THRESHOLD;
+        byte[] stored = compressed ? gzip(body) : body;
+        if (compressed && stored.length >= body.length) {
+            stored = body;
+            compressed = false;
+        }
+        if (stored.length > properties.getMaxResponseBytes()
+                || storedBytes.get() + stored.length > properties.getMaxTotalBytes()) {
+            release(key);
+            return;
+        }
+        StoredResponse response = new StoredResponse(status, contentType, stored, compressed);
+        entries.computeIfPresent(key, (k, existing) -> {
+            storedBytes.addAndGet(response.body().length - existing.bytes());
+            return new Entry(existing.requestHash(), System.currentTimeMillis() + properties.getTtl().toMillis(), response);
+        });
+    }
+
+    /**
+     * Bỏ key đang xử lý (lỗi server / exception) để client retry được
+     */
+    public void release(String key) {
+        entries.computeIfPresent(key, (k, existing) -> existing.completed() ? existing : null);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long storedBytes() {
+        return storedBytes.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> {
+            if (entry.expiresAt() > now) {
+                return false;
+            }
+            storedBytes.addAndGet(-entry.bytes());
+            return true;
+        });
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.assessment_employee.configuration;
+
+import com.example.assessment_employee.entity.EvaluationAnswers;
+import com.example.assessment_employee.service.AggregateVersions;
+import com.example.assessment_employee.service.CommentSearchIndex;
+import com.example.assessment_employee.service.ReferenceCacheInvalidator;
+import com.example.assessment_employee.service.SearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Large Dataset Generator - Sinh dữ liệu quy mô production cho load test và benchmark
+ * Chỉ chạy khi app.data-generator.enabled=true. Ghi thẳng bằng JDBC batch (không qua Hibernate),
+ * ID được cấp tuần tự từ MAX(id)+1 nên không cần đọc lại khóa sinh tự động.
+ * Cùng seed và cùng cấu hình luôn sinh ra cùng một bộ dữ liệu.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "app.data-generator", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class LargeDatasetGenerator implements CommandLineRunner {
+
+    private static final String MARKER_DEPARTMENT = "GEN Phòng 00001";
+    private static final String[] SENTIMENTS = {"Tốt", "Tốt", "Trung bình", "Trung bình", "Kém"};
+    private static final String[] STAFF_TYPES = {"Chuyên viên", "Nhân viên", "Kỹ sư", "Chuyên viên chính"};
+    private static final String[] DIVISIONS = {"Công nghệ", "Kinh doanh", "Nhân sự", "Kế toán", "Marketing", "Vận hành"};
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Cường", "Dung", "Giang", "Hùng", "Lan", "Minh", "Nga", "Phong", "Quân", "Thảo", "Tùng", "Vy"};
+    private static final LocalDate FIRST_CYCLE_START = LocalDate.of(2023, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DataGeneratorProperties properties;
+    private final AggregateVersions aggregateVersions;
+    private final IdSequences idSequences;
+    private final ReferenceCacheInvalidator referenceCacheInvalidator;
+    private final SearchIndex searchIndex;
+    private final CommentSearchIndex commentSearchIndex;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM department WHERE department_name = ?", Integer.class, MARKER_DEPARTMENT);
+        if (existing != null && existing > 0) {
+            log.info("Generated dataset already exists, skipping data generation");
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        log.info("Generating dataset with seed {}: {}", properties.getSeed(), properties);
+
+        long[] criteriaIds = generateCriteria();
+        long[][] questionIdsByCriteria = generateQuestions(criteriaIds);
+        long[] departmentIds = generateDepartments();
+        long[][] employeeCodesByDepartment = generateEmployeesAndAccounts(departmentIds, random);
+        GeneratedForm[][] formsByDepartment = generateCyclesAndForms(departmentIds, criteriaIds, random);
+        long answers = generateAssessments(employeeCodesByDepartment, formsByDepartment, questionIdsByCriteria, random);
+        // Ghi bằng JDBC không đi qua Hibernate listener: ETag, second-level cache và chỉ mục tìm kiếm phải đổi thủ công
+        aggregateVersions.bumpAll();
+        referenceCacheInvalidator.evictAll();
+        searchIndex.invalidateAll();
+        commentSearchIndex.invalidate();
+        // ID ghi trực tiếp vượt qua pooled sequence của Hibernate
+        idSequences.resync();
+
+        log.info("Dataset generated in {} s: {} departments, {} employees, {} answers",
+                (System.currentTimeMillis() - startedAt) / 1000, departmentIds.length,
+                (long) departmentIds.length * properties.getEmployeesPerDepartment(), answers);
+    }
+
+    private long[] generateCriteria() {
+        long nextId = nextId("evaluation_criteria", "evaluation_criteria_id");
+        long[] ids = new long[properties.getCriteria()];
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = nextId++;
+            rows.add(new Object[]{ids[i], String.format("GEN Tiêu chí %03d", i + 1)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO evaluation_criteria (evaluation_criteria_id, criteria_name) VALUES (?, ?)", rows);
+        log.info("Generated {} criteria", ids.length);
+        return ids;
+    }
+
+    private long[][] generateQuestions(long[] criteriaIds) {
+        long nextId = nextId("evaluation_questions", "evaluation_question_id");
+        long[][] ids = new long[criteriaIds.length][properties.getQuestionsPerCriteria()];
+        BatchWriter writer = new BatchWriter(
+                "INSERT INTO evaluation_questions (evaluation_question_id, question_name, max_score, evaluation_criteria_id) VALUES (?, ?, ?, ?)");
+        for (int c = 0; c < criteriaIds.length; c++) {
+            for (int q = 0; q < ids[c].length; q++) {
+                ids[c][q] = nextId++;
+                writer.add(ids[c][q], String.format("GEN Câu hỏi %03d.%02d", c + 1, q + 1), properties.getMaxScore(), criteriaIds[c]);
+            }
+        }
+        writer.flush();
+        log.info("Generated {} questions", writer.total);
+        return ids;
+    }
+
+    private long[] generateDepartments() {
+        long nextId = nextId("department", "department_id");
+        long[] ids = new long[properties.getDepartments()];
+        BatchWriter writer = new BatchWriter("INSERT INTO department (department_id, department_name, manager_code) VALUES (?, ?, ?)");
+        for (int d = 0; d < ids.length; d++) {
+            ids[d] = nextId++;
+            writer.add(ids[d], String.format("GEN Phòng %05d", d + 1), String.format("GEN%05d", d + 1));
+        }
+        writer.flush();
+        log.info("Generated {} departments", ids.length);
+        return ids;
+    }
+
+    private long[][] generateEmployeesAndAccounts(long[] departmentIds, SplittableRandom random) {
+        long nextAccountId = nextId("account", "id");
+        long nextEmployeeCode = nextId("employee", "code");
+        // Băm mật khẩu một lần: bcrypt cho 100k tài khoản sẽ chiếm phần lớn thời gian sinh dữ liệu
+        String passwordHash = passwordEncoder.encode(properties.getPassword());
+
+        int perDepartment = properties.getEmployeesPerDepartment();
+        long[][] codes = new long[departmentIds.length][perDepartment];
+        BatchWriter accounts = new BatchWriter("INSERT INTO account (id, username, password, role, status) VALUES (?, ?, ?, ?, ?)");
+        BatchWriter employees = new BatchWriter(accounts, """
+                INSERT INTO employee (code, full_name, division, basic, staff_type, start_date, type, id, department_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """);
+
+        for (int d = 0; d < departmentIds.length; d++) {
+            String division = DIVISIONS[d % DIVISIONS.length];
+            for (int e = 0; e < perDepartment; e++) {
+                long accountId = nextAccountId++;
+                codes[d][e] = nextEmployeeCode++;
+                // Người đầu tiên là quản lý, tiếp theo là giám sát, còn lại là nhân viên
+                String role = e == 0 ? "MANAGER" : e <= properties.getSupervisorsPerDepartment() ? "SUPERVISOR" : "EMPLOYEE";
+                String staffType = e == 0 ? "Trưởng phòng" : STAFF_TYPES[random.nextInt(STAFF_TYPES.length)];
+                String fullName = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + " Văn "
+                        + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)] + " " + codes[d][e];
+
+                accounts.add(accountId, String.format("gen.%07d", codes[d][e]), passwordHash, role, "ACTIVE");
+                employees.add(codes[d][e], fullName, division, "Cử nhân", staffType,
+                        LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)).toString(),
+                        "Toàn thời gian", accountId, departmentIds[d]);
+            }
+        }
+        accounts.flush();
+        employees.flush();
+        log.info("Generated {} employees and accounts", employees.total);
+        return codes;
+    }
+
+    private GeneratedForm[][] generateCyclesAndForms(long[] departmentIds, long[] criteriaIds, SplittableRandom random) {
+        long nextCycleId = nextId("evaluation_cycles", "evaluation_cycle_id");
+        long nextFormId = nextId("criteria_form", "criteria_form_id");
+        int cyclesPerDepartment = properties.getCyclesPerDepartment();
+        int formsPerCycle = properties.getFormsPerCycle();
+
+        GeneratedForm[][] formsByDepartment = new GeneratedForm[departmentIds.length][cyclesPerDepartment * formsPerCycle];
+        BatchWriter cycles = new BatchWriter(
+                "INSERT INTO evaluation_cycles (evaluation_cycle_id, start_date, end_date, status, department_id) VALUES (?, ?, ?, ?, ?)");
+        BatchWriter forms = new BatchWriter(cycles,
+                "INSERT INTO criteria_form (criteria_form_id, evaluation_cycle_id, criteria_form_name) VALUES (?, ?, ?)");
+        BatchWriter formCriteria = new BatchWriter(forms,
+                "INSERT INTO criteria_form_evaluation_criteria (criteria_form_criteria_form_id, evaluation_criteria_evaluation_criteria_id) VALUES (?, ?)");
+
+        for (int d = 0; d < departmentIds.length; d++) {
+            for (int c = 0; c < cyclesPerDepartment; c++) {
+                long cycleId = nextCycleId++;
+                // Chu kỳ theo quý, không chồng lấn trong cùng phòng ban; chu kỳ cuối đang ACTIVE
+                LocalDate start = FIRST_CYCLE_START.plusMonths(3L * c);
+                LocalDate end = start.plusMonths(3).minusDays(1);
+                String status = c == cyclesPerDepartment - 1 ? "ACTIVE" : "COMPLETED";
+                cycles.add(cycleId, java.sql.Date.valueOf(start), java.sql.Date.valueOf(end), status, departmentIds[d]);
+
+                for (int f = 0; f < formsPerCycle; f++) {
+                    long formId = nextFormId++;
+                    int offset = random.nextInt(criteriaIds.length);
+                    formsByDepartment[d][c * formsPerCycle + f] = new GeneratedForm(formId, offset);
+                    forms.add(formId, cycleId, String.format("GEN Form %05d-%d-%d", d + 1, c + 1, f + 1));
+                    for (int k = 0; k < properties.getCriteriaPerForm(); k++) {
+                        formCriteria.add(formId, criteriaIds[(offset + k) % criteriaIds.length]);
+                    }
+                }
+            }
+        }
+        cycles.flush();
+        forms.flush();
+        formCriteria.flush();
+        log.info("Generated {} cycles and {} forms", cycles.total, forms.total);
+        return formsByDepartment;
+    }
+
+    private long generateAssessments(long[][] employeeCodesByDepartment, GeneratedForm[][] formsByDepartment,
+                                     long[][] questionIdsByCriteria, SplittableRandom random) {
+        long nextAssessmentId = nextId("summary_assessment", "summary_assessment_id");
+        long nextAnswerId = nextId("evaluation_answers", "evaluation_answer_id");
+        BatchWriter assessments = new BatchWriter("""
+                INSERT INTO summary_assessment (summary_assessment_id, criteria_form_id, average_score, sentiment, comment, created_at, updated_at, employee_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """);
+        // Flush answers luôn ghi các assessment đang chờ trước (khóa ngoại summary_assessment_id)
+        BatchWriter answers = new BatchWriter(assessments, """
+                INSERT INTO evaluation_answers (evaluation_answer_id, total_score_by_employee, total_score_by_manager,
+                    total_score_by_supervision, total_score, question_id, summary_assessment_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """);
+
+        List<Object[]> answerRows = new ArrayList<>();
+        for (int d = 0; d < employeeCodesByDepartment.length; d++) {
+            for (GeneratedForm form : formsByDepartment[d]) {
+                long formId = form.formId();
+                long[] questionIds = questionsOfForm(form, questionIdsByCriteria);
+                LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 8, 0).plusMinutes(random.nextInt(500_000));
+
+                for (long employeeCode : employeeCodesByDepartment[d]) {
+                    double roll = random.nextDouble();
+                    int answered = roll < properties.getCompletedRatio() ? questionIds.length
+                            : roll < properties.getCompletedRatio() + properties.getInProgressRatio() ? 1 + random.nextInt(questionIds.length)
+                            : 0;
+                    boolean reviewed = answered == questionIds.length;
+
+                    long assessmentId = nextAssessmentId++;
+                    long scoreSum = 0;
+                    answerRows.clear();
+                    for (int q = 0; q < answered; q++) {
+                        int employeeScore = 1 + random.nextInt(properties.getMaxScore());
+                        int supervisorScore = reviewed ? 1 + random.nextInt(properties.getMaxScore()) : 0;
+                        int managerScore = reviewed ? 1 + random.nextInt(properties.getMaxScore()) : 0;
+                        int totalScore = EvaluationAnswers.builder()
+                                .totalScoreByEmployee(employeeScore)
+                                .totalScoreBySupervision(supervisorScore)
+                                .totalScoreByManager(managerScore)
+                                .build()
+                                .getAVGScore();
+                        scoreSum += totalScore;
+                        answerRows.add(new Object[]{nextAnswerId++, employeeScore, managerScore, supervisorScore, totalScore,
+                                questionIds[q], assessmentId});
+                    }
+
+                    Timestamp timestamp = Timestamp.valueOf(createdAt.plusMinutes(random.nextInt(10_000)));
+                    assessments.add(assessmentId, formId, (double) scoreSum,
+                            answered > 0 ? SENTIMENTS[random.nextInt(SENTIMENTS.length)] : null,
+                            answered > 0 ? "Nhận xét tự động " + assessmentId : null,
+                            timestamp, timestamp, employeeCode);
+                    answerRows.forEach(answers::add);
+                }
+            }
+            answers.flush();
+            if ((d + 1) % 50 == 0) {
+                log.info("Generated assessments for {}/{} departments ({} answers)", d + 1, employeeCodesByDepartment.length, answers.total);
+            }
+        }
+        log.info("Generated {} assessments and {} answers", assessments.total, answers.total);
+        return answers.total;
+    }
+
+    /**
+     * Câu hỏi của form: criteriaPerForm tiêu chí liên tiếp bắt đầu từ criteriaOffset
+     */
+    private long[] questionsOfForm(GeneratedForm form, long[][] questionIdsByCriteria) {
+        long[] questionIds = new long[properties.getCriteriaPerForm() * properties.getQuestionsPerCriteria()];
+        int index = 0;
+        for (int k = 0; k < properties.getCriteriaPerForm(); k++) {
+            for (long questionId : questionIdsByCriteria[(form.criteriaOffset() + k) % questionIdsByCriteria.length]) {
+                questionIds[index++] = questionId;
+            }
+        }
+        return questionIds;
+    }
+
+    private long nextId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + idColumn + ") FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private record GeneratedForm(long formId, int criteriaOffset) {
+    }
+
+    /**
+     * Gom các dòng và ghi theo lô batchSize; parent (bảng được tham chiếu) luôn được flush trước
+     */
+    private final class BatchWriter {
+        private final BatchWriter parent;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long total;
+
+        private BatchWriter(String sql) {
+            this(null, sql);
+        }
+
+        private BatchWriter(BatchWriter parent, String sql) {
+            this.parent = parent;
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            total++;
+            if (rows.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
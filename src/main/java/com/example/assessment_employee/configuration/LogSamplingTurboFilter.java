@@ -0,0 +1,85 @@
+package com.example.assessment_employee.configuration;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lấy mẫu log INFO/DEBUG của các logger hot-path (service, controller): mỗi logger chỉ giữ 1 trên {@code rate} event.
+ * Bộ đếm riêng cho từng logger, nên logger ồn ào không lấy mất suất của logger ít log; event dưới level của logger
+ * (bị bỏ dù sao) không được đếm.
+ * Rate riêng cho một prefix: {@code prefix=rate}; prefix dài nhất khớp được dùng. WARN/ERROR luôn được ghi.
+ * Cấu hình trong logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="...LogSamplingTurboFilter"&gt;
+ *     &lt;logger&gt;com.example.assessment_employee.service&lt;/logger&gt;
+ *     &lt;logger&gt;com.example.assessment_employee.controller=10&lt;/logger&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    // prefix -> rate riêng (null: dùng rate mặc định)
+    private final Map<String, Integer> loggers = new LinkedHashMap<>();
+    // Tên logger -> rate đã phân giải và bộ đếm, để không phải duyệt prefix mỗi lần log
+    private final ConcurrentMap<String, Sampler> samplers = new ConcurrentHashMap<>();
+    private int rate = 100;
+
+    private record Sampler(int rate, AtomicLong counter) {
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null: lời gọi isXxxEnabled(), không tính vào mẫu
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN) || !logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), name -> new Sampler(rateOf(name), new AtomicLong()));
+        if (sampler.rate() <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampler.counter().getAndIncrement() % sampler.rate() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * Rate của prefix dài nhất khớp; 0 nếu logger không được lấy mẫu
+     */
+    private int rateOf(String loggerName) {
+        String matched = null;
+        for (String prefix : loggers.keySet()) {
+            if (loggerName.startsWith(prefix) && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        if (matched == null) {
+            return 0;
+        }
+        Integer prefixRate = loggers.get(matched);
+        return prefixRate != null ? prefixRate : rate;
+    }
+
+    public void addLogger(String logger) {
+        String value = logger.trim();
+        int separator = value.indexOf('=');
+        if (separator < 0) {
+            loggers.put(value, null);
+        } else {
+            loggers.put(value.substring(0, separator).trim(), Integer.parseInt(value.substring(separator + 1).trim()));
+        }
+        samplers.clear();
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+        samplers.clear();
+    }
+}
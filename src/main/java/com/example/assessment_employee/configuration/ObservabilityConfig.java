@@ -0,0 +1,40 @@
+package com.example.assessment_employee.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+/**
+ * Kích hoạt @Observed trên các service: mỗi lời gọi tạo một timer "assessment.service"
+ * (tag class, method) và một tracing span con của span HTTP request
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    public static final String SERVICE_OBSERVATION = "assessment.service";
+    public static final String SUBMIT_RETRY_LISTENER = "submitRetryListener";
+
+    @Bean
+    ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    /**
+     * Đếm xung đột ghi khi nộp đánh giá: "assessment.submit.conflicts" (tag exception) cho mỗi lần thử thất bại
+     */
+    @Bean(SUBMIT_RETRY_LISTENER)
+    RetryListener submitRetryListener(MeterRegistry meterRegistry) {
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+                meterRegistry.counter("assessment.submit.conflicts", "exception", throwable.getClass().getSimpleName())
+                        .increment();
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.assessment_employee.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Đếm số câu SQL và tổng thời gian DB của luồng hiện tại (mỗi HTTP request một Tracker).
+ * Dùng trực tiếp được trong test:
+ * <pre>
+ * try (QueryBudget.Tracker tracker = QueryBudget.start(new QueryBudget.Limits(10, 3, 0))) {
+ *     departmentService.getAllDepartments();
+ *     assertNull(tracker.violation());
+ * }
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<Tracker> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\((\\s*\\?\\s*,)*\\s*\\?\\s*\\)");
+
+    private QueryBudget() {
+    }
+
+    public static Tracker start(Limits limits) {
+        Tracker tracker = new Tracker(limits);
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    /**
+     * Tracker của luồng hiện tại, null nếu không có request nào đang được đếm
+     */
+    public static Tracker current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql, long elapsedMillis) {
+        Tracker tracker = CURRENT.get();
+        if (tracker != null) {
+            tracker.record(sql, elapsedMillis);
+        }
+    }
+
+    /**
+     * Ngưỡng cho một request; giá trị <= 0 nghĩa là không giới hạn
+     */
+    public record Limits(int maxStatements, int maxRepeats, long maxTimeMillis) {
+    }
+
+    public static final class Tracker implements AutoCloseable {
+        private final Limits limits;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int statementCount;
+        private long timeMillis;
+        private boolean reported;
+
+        private Tracker(Limits limits) {
+            this.limits = limits;
+        }
+
+        private void record(String sql, long elapsedMillis) {
+            statementCount++;
+            timeMillis += elapsedMillis;
+            statements.merge(normalize(sql), 1, Integer::sum);
+        }
+
+        public int statementCount() {
+            return statementCount;
+        }
+
+        public long timeMillis() {
+            return timeMillis;
+        }
+
+        /**
+         * Câu SQL lặp lại nhiều nhất (dấu hiệu N+1), null nếu chưa có câu nào
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return statements.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+
+        /**
+         * Mô tả vi phạm ngân sách, null nếu request nằm trong ngân sách
+         */
+        public String violation() {
+            StringBuilder message = new StringBuilder();
+            if (limits.maxStatements() > 0 && statementCount > limits.maxStatements()) {
+                message.append(statementCount).append(" statements > ").append(limits.maxStatements()).append("; ");
+            }
+            if (limits.maxTimeMillis() > 0 && timeMillis > limits.maxTimeMillis()) {
+                message.append(timeMillis).append(" ms in DB > ").append(limits.maxTimeMillis()).append(" ms; ");
+            }
+            Map.Entry<String, Integer> repeated = mostRepeated();
+            if (limits.maxRepeats() > 0 && repeated != null && repeated.getValue() > limits.maxRepeats()) {
+                message.append("repeated ").append(repeated.getValue()).append("x > ").append(limits.maxRepeats()).append("; ");
+            }
+            if (message.isEmpty()) {
+                return null;
+            }
+            if (repeated != null) {
+                message.append("most repeated (").append(repeated.getValue()).append("x): ").append(repeated.getKey());
+            }
+            return message.toString();
+        }
+
+        /**
+         * Đánh dấu đã báo lỗi để không ném lại khi ghi response lỗi
+         */
+        boolean markReported() {
+            boolean first = !reported;
+            reported = true;
+            return first;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+
+        private static String normalize(String sql) {
+            String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+            return IN_LIST.matcher(collapsed).replaceAll("in (...)");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.assessment_employee.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Gắn một QueryBudget.Tracker cho mỗi HTTP request (kể cả phần security/đăng nhập),
+ * ghi log WARN kèm câu SQL lặp lại nhiều nhất khi request vượt ngân sách
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (QueryBudget.Tracker tracker = QueryBudget.start(limitsFor(request.getRequestURI()))) {
+            filterChain.doFilter(request, response);
+
+            String violation = tracker.violation();
+            if (violation != null) {
+                log.warn("Query budget exceeded for {} {}: {}", request.getMethod(), request.getRequestURI(), violation);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {}: {} statements, {} ms in DB", request.getMethod(), request.getRequestURI(),
+                        tracker.statementCount(), tracker.timeMillis());
+            }
+        }
+    }
+
+    private QueryBudget.Limits limitsFor(String path) {
+        int maxStatements = properties.getMaxStatements();
+        for (Map.Entry<String, Integer> endpoint : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                maxStatements = endpoint.getValue();
+                break;
+            }
+        }
+        return new QueryBudget.Limits(maxStatements, properties.getMaxRepeats(), properties.getMaxTimeMs());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ngân sách truy vấn SQL cho mỗi HTTP request (app.query-budget.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.query-budget")
+public class QueryBudgetProperties {
+
+    public enum Mode {
+        // Chỉ ghi log WARN khi vượt ngân sách
+        LOG,
+        // Trả lỗi QUERY_BUDGET_EXCEEDED thay cho response (dùng trong test / load test)
+        FAIL
+    }
+
+    private boolean enabled = true;
+    private Mode mode = Mode.LOG;
+
+    // Thêm header X-Query-Count / X-Query-Time-Ms vào response
+    private boolean headers = true;
+
+    private int maxStatements = 30;
+    // Cùng một câu SQL lặp lại quá số lần này gần như chắc chắn là N+1
+    private int maxRepeats = 10;
+    private long maxTimeMs = 500;
+
+    // Ghi đè max-statements theo path pattern, ví dụ "/api/admin/statistics/**": 60
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+}
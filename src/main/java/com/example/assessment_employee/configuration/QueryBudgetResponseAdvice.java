@@ -0,0 +1,48 @@
+package com.example.assessment_employee.configuration;
+
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Ghi số câu SQL / thời gian DB vào header trước khi body được ghi ra (lúc response chưa commit).
+ * Ở mode FAIL, request vượt ngân sách trả về QUERY_BUDGET_EXCEEDED thay cho kết quả.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final QueryBudgetProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryBudget.Tracker tracker = QueryBudget.current();
+        if (tracker == null) {
+            return body;
+        }
+        if (properties.isHeaders()) {
+            response.getHeaders().set("X-Query-Count", String.valueOf(tracker.statementCount()));
+            response.getHeaders().set("X-Query-Time-Ms", String.valueOf(tracker.timeMillis()));
+        }
+        if (properties.getMode() == QueryBudgetProperties.Mode.FAIL && tracker.violation() != null && tracker.markReported()) {
+            throw new AppException(ErrorCode.QUERY_BUDGET_EXCEEDED);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.assessment_employee.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Theo dõi độ trễ replication của replica; khi replica trễ quá max-lag-seconds hoặc không truy cập được,
+ * ReplicaRoutingDataSource chuyển toàn bộ truy vấn đọc về primary
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaProperties properties;
+
+    private volatile boolean healthy;
+    private volatile double lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.properties = properties;
+        Gauge.builder("replica.lag.seconds", this, monitor -> monitor.lagSeconds).register(meterRegistry);
+        Gauge.builder("replica.healthy", this, monitor -> monitor.healthy ? 1 : 0).register(meterRegistry);
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        double lag;
+        try {
+            lag = properties.getLagCheck() == ReplicaProperties.LagCheck.NONE ? ping() : replicationLag();
+        } catch (RuntimeException e) {
+            log.debug("Replica lag check failed", e);
+            lag = -1;
+        }
+        boolean nowHealthy = lag >= 0 && lag <= properties.getMaxLagSeconds();
+        if (nowHealthy != healthy) {
+            if (nowHealthy) {
+                log.info("Replica available (lag {} s), routing read-only transactions to replica", lag);
+            } else {
+                log.warn("Replica unavailable or lagging (lag {} s, max {} s), routing all reads to primary",
+                        lag, properties.getMaxLagSeconds());
+            }
+        }
+        lagSeconds = lag;
+        healthy = nowHealthy;
+    }
+
+    private double ping() {
+        replicaJdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        return 0;
+    }
+
+    /**
+     * Seconds_Behind_Source; -1 nếu replication dừng (NULL) hoặc server không phải replica
+     */
+    private double replicationLag() {
+        List<Map<String, Object>> rows;
+        try {
+            rows = replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        } catch (RuntimeException e) {
+            rows = replicaJdbcTemplate.queryForList("SHOW SLAVE STATUS");
+        }
+        if (rows.isEmpty()) {
+            return -1;
+        }
+        Map<String, Object> status = rows.get(0);
+        Object lag = status.containsKey("Seconds_Behind_Source") ? status.get("Seconds_Behind_Source") : status.get("Seconds_Behind_Master");
+        return lag instanceof Number number ? number.doubleValue() : -1;
+    }
+}
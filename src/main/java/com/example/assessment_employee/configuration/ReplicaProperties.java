@@ -0,0 +1,34 @@
+package com.example.assessment_employee.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replica cho các transaction readOnly (app.datasource.replica.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    public enum LagCheck {
+        // SHOW REPLICA STATUS (MySQL 8.0.22+, fallback SHOW SLAVE STATUS)
+        REPLICA_STATUS,
+        // Chỉ kiểm tra kết nối (embedded stand-in, replica không báo lag)
+        NONE
+    }
+
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    private int maximumPoolSize = 10;
+
+    // Replica trễ hơn ngưỡng này (hoặc không kiểm tra được) thì mọi truy vấn về primary
+    private long maxLagSeconds = 5;
+    private LagCheck lagCheck = LagCheck.REPLICA_STATUS;
+    private long lagCheckIntervalMs = 5000;
+
+    // Sau khi user ghi, các lần đọc của chính user đó đi primary trong khoảng thời gian này
+    private long readYourWritesMs = 10000;
+}
@@ -0,0 +1,78 @@
+package com.example.assessment_employee.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Định tuyến kết nối: transaction readOnly đi replica, còn lại đi primary.
+ * Đọc về primary khi replica không khỏe (ReplicaLagMonitor) hoặc khi user vừa ghi trong
+ * read-your-writes window, để người vừa submit luôn thấy dữ liệu của mình.
+ * Phải được bọc trong LazyConnectionDataSourceProxy để cờ readOnly đã được set khi chọn đích.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesMs;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, long readYourWritesMs, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesMs = readYourWritesMs;
+        this.primaryRoutes = Counter.builder("datasource.routing").tag("target", "primary").register(meterRegistry);
+        this.replicaRoutes = Counter.builder("datasource.routing").tag("target", "replica").register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaRoutes : primaryRoutes).increment();
+        return target;
+    }
+
+    private Target route() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteByUser.put(user, System.currentTimeMillis());
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isHealthy()) {
+            return Target.PRIMARY;
+        }
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null) {
+                if (System.currentTimeMillis() - lastWrite < readYourWritesMs) {
+                    return Target.PRIMARY;
+                }
+                lastWriteByUser.remove(user, lastWrite);
+            }
+        }
+        return Target.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
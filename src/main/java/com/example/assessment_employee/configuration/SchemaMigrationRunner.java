@@ -0,0 +1,245 @@
+package com.example.assessment_employee.configuration;
+
+import com.example.assessment_employee.entity.EvaluationAnswers;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Schema Migration Runner - Chuyển đổi kiểu cột mà ddl-auto: update không tự làm được
+ * Hibernate chỉ thêm bảng/cột/index mới, không đổi kiểu cột đã tồn tại, nên các thay đổi kiểu
+ * được thực hiện ở đây một lần (idempotent: bỏ qua nếu cột đã đúng kiểu).
+ * Chạy khi khởi động, sau ddl-auto và trước khi web server nhận request (giống IdSequences): entity đọc cột
+ * theo kiểu mới, và upsert khi nộp đánh giá cần các khóa unique. Thiếu khóa unique thì ứng dụng không khởi động.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Tắt khi chạy migration bằng công cụ online bên ngoài (gh-ost / pt-online-schema-change) trên bảng lớn
+    @Value("${app.schema-migration.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(databaseProduct)) {
+            log.info("Skipping schema migrations for database: {}", databaseProduct);
+            return;
+        }
+
+        if (enabled) {
+            migrateEvaluationCycleDates();
+            migrateCriteriaFormCycleId();
+            deduplicateAssessments();
+        } else {
+            log.info("Schema migrations disabled");
+        }
+        requireUniqueKeys();
+    }
+
+    /**
+     * INSERT ... ON DUPLICATE KEY UPDATE của SummaryAssessmentUpsertRepositoryImpl chỉ nguyên tử khi có khóa unique:
+     * không nhận request nộp đánh giá nào trước khi chúng tồn tại (kể cả khi migration chạy bằng công cụ bên ngoài)
+     */
+    private void requireUniqueKeys() {
+        if (!constraintExists("summary_assessment", "uk_summary_assessment_form_employee")
+                || !constraintExists("evaluation_answers", "uk_evaluation_answers_assessment_question")) {
+            throw new IllegalStateException("Missing unique keys uk_summary_assessment_form_employee /"
+                    + " uk_evaluation_answers_assessment_question: merge duplicate assessments before starting");
+        }
+    }
+
+    /**
+     * evaluation_cycles.start_date / end_date: VARCHAR 'yyyy-MM-dd' -> DATE
+     */
+    private void migrateEvaluationCycleDates() {
+        if (!"varchar".equals(columnType("evaluation_cycles", "start_date"))
+                && !"varchar".equals(columnType("evaluation_cycles", "end_date"))) {
+            return;
+        }
+
+        Integer invalidRows = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM evaluation_cycles
+                WHERE STR_TO_DATE(start_date, '%Y-%m-%d') IS NULL OR STR_TO_DATE(end_date, '%Y-%m-%d') IS NULL
+                """, Integer.class);
+        if (invalidRows != null && invalidRows > 0) {
+            log.error("Cannot migrate evaluation_cycles dates to DATE: {} rows are not in yyyy-MM-dd format", invalidRows);
+            return;
+        }
+
+        log.info("Migrating evaluation_cycles.start_date/end_date to DATE");
+        jdbcTemplate.execute("""
+                ALTER TABLE evaluation_cycles
+                    MODIFY start_date DATE NULL,
+                    MODIFY end_date DATE NULL,
+                    LOCK = SHARED
+                """);
+    }
+
+    /**
+     * criteria_form.evaluation_cycle_id: VARCHAR -> BIGINT + foreign key tới evaluation_cycles
+     */
+    private void migrateCriteriaFormCycleId() {
+        if ("varchar".equals(columnType("criteria_form", "evaluation_cycle_id"))) {
+            Integer invalidRows = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM criteria_form
+                    WHERE evaluation_cycle_id IS NOT NULL AND evaluation_cycle_id NOT REGEXP '^[0-9]+$'
+                    """, Integer.class);
+            if (invalidRows != null && invalidRows > 0) {
+                log.error("Cannot migrate criteria_form.evaluation_cycle_id to BIGINT: {} rows are not numeric", invalidRows);
+                return;
+            }
+
+            log.info("Migrating criteria_form.evaluation_cycle_id to BIGINT");
+            jdbcTemplate.execute("ALTER TABLE criteria_form MODIFY evaluation_cycle_id BIGINT NULL, LOCK = SHARED");
+        }
+
+        if (constraintExists("criteria_form", "fk_criteria_form_evaluation_cycle")) {
+            return;
+        }
+
+        Integer orphanRows = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM criteria_form cf
+                LEFT JOIN evaluation_cycles ec ON cf.evaluation_cycle_id = ec.evaluation_cycle_id
+                WHERE cf.evaluation_cycle_id IS NOT NULL AND ec.evaluation_cycle_id IS NULL
+                """, Integer.class);
+        if (orphanRows != null && orphanRows > 0) {
+            log.error("Cannot add fk_criteria_form_evaluation_cycle: {} criteria forms reference missing cycles", orphanRows);
+            return;
+        }
+
+        log.info("Adding foreign key criteria_form.evaluation_cycle_id -> evaluation_cycles");
+        jdbcTemplate.execute("""
+                ALTER TABLE criteria_form
+                    ADD CONSTRAINT fk_criteria_form_evaluation_cycle
+                    FOREIGN KEY (evaluation_cycle_id) REFERENCES evaluation_cycles (evaluation_cycle_id),
+                    LOCK = SHARED
+                """);
+    }
+
+    /**
+     * Gộp bản ghi trùng do submitAssessment cũ (tìm rồi tạo, không khóa) để thêm khóa unique
+     * uk_summary_assessment_form_employee / uk_evaluation_answers_assessment_question
+     * (ddl-auto không tạo được khi dữ liệu đang trùng). Giữ bản đánh giá có ID nhỏ nhất; câu trả lời
+     * trùng được gộp, mỗi cột điểm lấy giá trị lớn nhất (mỗi vai trò chỉ ghi cột của mình).
+     */
+    private void deduplicateAssessments() {
+        boolean summaryKeyExists = constraintExists("summary_assessment", "uk_summary_assessment_form_employee");
+        boolean answerKeyExists = constraintExists("evaluation_answers", "uk_evaluation_answers_assessment_question");
+        if (summaryKeyExists && answerKeyExists) {
+            return;
+        }
+
+        String duplicateSummaries = """
+                SELECT employee_id, criteria_form_id, MIN(summary_assessment_id) AS keep_id
+                FROM summary_assessment
+                GROUP BY employee_id, criteria_form_id
+                HAVING COUNT(*) > 1
+                """;
+        // Bản đánh giá cần tính lại average_score sau khi gộp
+        Set<Long> mergedSummaries = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT keep_id FROM (" + duplicateSummaries + ") k", Long.class));
+        if (!mergedSummaries.isEmpty()) {
+            log.warn("Merging duplicate summary assessments of {} employee/form pairs", mergedSummaries.size());
+            jdbcTemplate.update("""
+                    UPDATE evaluation_answers ea
+                    JOIN summary_assessment sa ON sa.summary_assessment_id = ea.summary_assessment_id
+                    JOIN (%s) k ON k.employee_id = sa.employee_id AND k.criteria_form_id = sa.criteria_form_id
+                    SET ea.summary_assessment_id = k.keep_id
+                    WHERE sa.summary_assessment_id <> k.keep_id
+                    """.formatted(duplicateSummaries));
+            jdbcTemplate.update("""
+                    DELETE sa FROM summary_assessment sa
+                    JOIN (%s) k ON k.employee_id = sa.employee_id AND k.criteria_form_id = sa.criteria_form_id
+                    WHERE sa.summary_assessment_id <> k.keep_id
+                    """.formatted(duplicateSummaries));
+        }
+
+        String duplicateAnswers = """
+                SELECT summary_assessment_id, question_id, MIN(evaluation_answer_id) AS keep_id,
+                       MAX(total_score_by_employee) AS employee_score,
+                       MAX(total_score_by_manager) AS manager_score,
+                       MAX(total_score_by_supervision) AS supervisor_score
+                FROM evaluation_answers
+                GROUP BY summary_assessment_id, question_id
+                HAVING COUNT(*) > 1
+                """;
+        List<Long> answerSummaries = jdbcTemplate.queryForList(
+                "SELECT DISTINCT summary_assessment_id FROM (" + duplicateAnswers + ") d", Long.class);
+        if (!answerSummaries.isEmpty()) {
+            log.warn("Merging duplicate evaluation answers of {} summary assessments", answerSummaries.size());
+            mergedSummaries.addAll(answerSummaries);
+            jdbcTemplate.update("""
+                    UPDATE evaluation_answers ea
+                    JOIN (%s) d ON d.keep_id = ea.evaluation_answer_id
+                    SET ea.total_score_by_employee = d.employee_score,
+                        ea.total_score_by_manager = d.manager_score,
+                        ea.total_score_by_supervision = d.supervisor_score,
+                        ea.total_score = %s
+                    """.formatted(duplicateAnswers,
+                    EvaluationAnswers.totalScoreSql("d.employee_score", "d.manager_score", "d.supervisor_score")));
+            jdbcTemplate.update("""
+                    DELETE ea FROM evaluation_answers ea
+                    JOIN (%s) d ON d.summary_assessment_id = ea.summary_assessment_id AND d.question_id = ea.question_id
+                    WHERE ea.evaluation_answer_id <> d.keep_id
+                    """.formatted(duplicateAnswers));
+        }
+
+        jdbcTemplate.batchUpdate("""
+                        UPDATE summary_assessment
+                        SET average_score = (SELECT COALESCE(SUM(total_score), 0) FROM evaluation_answers WHERE summary_assessment_id = ?)
+                        WHERE summary_assessment_id = ?
+                        """,
+                mergedSummaries.stream().map(id -> new Object[]{id, id}).toList());
+
+        if (!summaryKeyExists) {
+            log.info("Adding unique key summary_assessment (criteria_form_id, employee_id)");
+            jdbcTemplate.execute("""
+                    ALTER TABLE summary_assessment
+                        ADD CONSTRAINT uk_summary_assessment_form_employee UNIQUE (criteria_form_id, employee_id),
+                        LOCK = SHARED
+                    """);
+        }
+        if (!answerKeyExists) {
+            log.info("Adding unique key evaluation_answers (summary_assessment_id, question_id)");
+            jdbcTemplate.execute("""
+                    ALTER TABLE evaluation_answers
+                        ADD CONSTRAINT uk_evaluation_answers_assessment_question UNIQUE (summary_assessment_id, question_id),
+                        LOCK = SHARED
+                    """);
+        }
+    }
+
+    private boolean constraintExists(String table, String constraint) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = ?
+                """, Integer.class, table, constraint);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Kiểu dữ liệu hiện tại của cột (null nếu bảng/cột chưa tồn tại)
+     */
+    private String columnType(String table, String column) {
+        return jdbcTemplate.query("""
+                        SELECT DATA_TYPE FROM information_schema.COLUMNS
+                        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?
+                        """,
+                rs -> rs.next() ? rs.getString(1).toLowerCase() : null,
+                table, column);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.assessment_employee.configuration;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,7 +38,8 @@ public class SecurityConfig {
         httpSecurity.cors(cors -> cors.configurationSource(corsConfigurationSource));
 
         httpSecurity.authorizeHttpRequests(request ->
-                request.requestMatchers(HttpMethod.POST, PUBLIC_ENDPOINTS).permitAll()
+                request.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE: request gốc đã được xác thực
+                        .requestMatchers(HttpMethod.POST, PUBLIC_ENDPOINTS).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/evaluation-criteria/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/criteria-forms/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/criteria-forms/**").permitAll()
@@ -45,6 +47,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/departments/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/evaluation-questions/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/evaluation-history/**").permitAll() // Add evaluation history
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/prometheus").permitAll() // Probe + Prometheus scrape
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow preflight requests
                         .anyRequest()
                         .authenticated());
@@ -4,16 +4,19 @@ import com.example.assessment_employee.constants.RoleConstants;
 import com.example.assessment_employee.dto.request.AccountCreateRequest;
 import com.example.assessment_employee.dto.response.AccountResponse;
 import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.service.AggregateVersions;
 import com.example.assessment_employee.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -24,6 +27,7 @@ import java.util.List;
 public class AccountController {
     
     private final AccountService accountService;
+    private final AggregateVersions aggregateVersions;
     
     /**
      * Get all accounts with pagination
@@ -49,16 +53,24 @@ public class AccountController {
      */
     @GetMapping("/all")
     @PreAuthorize(RoleConstants.HAS_ROLE_MANAGER)
-    public ResponseEntity<ApiResponse<List<AccountResponse>>> getAllAccountsWithoutPagination() {
+    public ResponseEntity<ApiResponse<List<AccountResponse>>> getAllAccountsWithoutPagination(WebRequest webRequest) {
         log.info("Get all accounts request without pagination");
         
+        // Danh mục chưa thay đổi: trả 304 mà không truy vấn DB hay serialize
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.ACCOUNT);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<AccountResponse> accounts = accountService.getAllAccounts();
         
-        return ResponseEntity.ok(ApiResponse.<List<AccountResponse>>builder()
-                .code(200)
-                .message("Accounts retrieved successfully")
-                .result(accounts)
-                .build());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<AccountResponse>>builder()
+                        .code(200)
+                        .message("Accounts retrieved successfully")
+                        .result(accounts)
+                        .build());
     }
     
     /**
@@ -0,0 +1,44 @@
+package com.example.assessment_employee.controller;
+
+import com.example.assessment_employee.dto.request.AssessmentRequest;
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.AssessmentDraftResponse;
+import com.example.assessment_employee.service.AssessmentDraftService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Autosave bản nháp đánh giá; bản nháp bị xóa khi đánh giá được nộp qua /api/evaluations
+ */
+@RestController
+@RequestMapping("/api/assessment-drafts")
+@RequiredArgsConstructor
+public class AssessmentDraftController {
+
+    private final AssessmentDraftService assessmentDraftService;
+
+    @PutMapping
+    public ResponseEntity<ApiResponse<AssessmentDraftResponse>> save(@Valid @RequestBody AssessmentRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.<AssessmentDraftResponse>builder()
+                        .code(202)
+                        .message("Draft saved")
+                        .result(assessmentDraftService.saveDraft(request))
+                        .build());
+    }
+
+    @GetMapping("/{formId}/{employeeId}/{assessorId}")
+    public ResponseEntity<ApiResponse<AssessmentDraftResponse>> get(
+            @PathVariable Long formId,
+            @PathVariable Long employeeId,
+            @PathVariable Long assessorId) {
+        return ResponseEntity.ok(ApiResponse.<AssessmentDraftResponse>builder()
+                .code(200)
+                .message("Draft retrieved successfully")
+                .result(assessmentDraftService.getDraft(formId, employeeId, assessorId))
+                .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.assessment_employee.controller;
+
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.AssessorInboxItemResponse;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.service.AssessorInboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/assessor-inbox")
+@RequiredArgsConstructor
+@Slf4j
+public class AssessorInboxController {
+
+    private final AssessorInboxService assessorInboxService;
+
+    /**
+     * Get evaluations an assessor still has to do in active cycles (self, as manager, as supervisor)
+     */
+    @GetMapping("/{assessorId}")
+    public ResponseEntity<ApiResponse<Page<AssessorInboxItemResponse>>> getInbox(
+            @PathVariable Long assessorId,
+            @RequestParam(required = false) AssessorRole role,
+            Pageable pageable) {
+        Page<AssessorInboxItemResponse> inbox = assessorInboxService.getInbox(assessorId, role, pageable);
+
+        return ResponseEntity.ok(ApiResponse.<Page<AssessorInboxItemResponse>>builder()
+                .code(200)
+                .message("Assessor inbox retrieved successfully")
+                .result(inbox)
+                .build());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.assessment_employee.controller;
+
+import com.example.assessment_employee.constants.RoleConstants;
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.CommentSearchResultResponse;
+import com.example.assessment_employee.service.CommentSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/assessment-comments")
+@RequiredArgsConstructor
+@Slf4j
+public class CommentSearchController {
+
+    private final CommentSearchService commentSearchService;
+
+    /**
+     * Full-text search over assessment comments (diacritic-insensitive, BM25 ranked)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Page<CommentSearchResultResponse>>> searchComments(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long evaluationCycleId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String sentiment,
+            Pageable pageable) {
+        Page<CommentSearchResultResponse> results = commentSearchService.searchComments(query, evaluationCycleId,
+                departmentId, sentiment, pageable);
+
+        return ResponseEntity.ok(ApiResponse.<Page<CommentSearchResultResponse>>builder()
+                .code(200)
+                .message("Assessment comments retrieved successfully")
+                .result(results)
+                .build());
+    }
+
+    /**
+     * Rebuild the comment index from the database
+     * Chỉ MANAGER mới có quyền dựng lại chỉ mục
+     */
+    @PostMapping("/index/rebuild")
+    @PreAuthorize(RoleConstants.HAS_ROLE_MANAGER)
+    public ResponseEntity<ApiResponse<Integer>> rebuildIndex() {
+        int indexed = commentSearchService.rebuildIndex();
+
+        return ResponseEntity.ok(ApiResponse.<Integer>builder()
+                .code(200)
+                .message("Assessment comment index rebuilt")
+                .result(indexed)
+                .build());
+    }
+}
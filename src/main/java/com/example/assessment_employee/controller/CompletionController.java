@@ -0,0 +1,67 @@
+package com.example.assessment_employee.controller;
+
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.CompletionProgressResponse;
+import com.example.assessment_employee.dto.response.EmployeeSimpleResponse;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.CompletionStatus;
+import com.example.assessment_employee.service.CompletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/completion")
+@RequiredArgsConstructor
+@Slf4j
+public class CompletionController {
+
+    private final CompletionService completionService;
+
+    /**
+     * Get evaluation progress of a cycle per assessor role, optionally for one form and some departments
+     */
+    @GetMapping("/cycles/{cycleId}/progress")
+    public ResponseEntity<ApiResponse<CompletionProgressResponse>> getCycleProgress(
+            @PathVariable Long cycleId,
+            @RequestParam(required = false) Long criteriaFormId,
+            @RequestParam(required = false) Set<Long> departmentIds) {
+        CompletionProgressResponse progress = completionService.getCycleProgress(cycleId, criteriaFormId, departmentIds);
+
+        return ResponseEntity.ok(ApiResponse.<CompletionProgressResponse>builder()
+                .code(200)
+                .message("Evaluation progress retrieved successfully")
+                .result(progress)
+                .build());
+    }
+
+    /**
+     * Get employees of a cycle with the given status for every given role (default: not yet evaluated)
+     */
+    @GetMapping("/cycles/{cycleId}/employees")
+    public ResponseEntity<ApiResponse<Page<EmployeeSimpleResponse>>> getEmployeesByStatus(
+            @PathVariable Long cycleId,
+            @RequestParam(required = false) Long criteriaFormId,
+            @RequestParam(required = false) Set<Long> departmentIds,
+            @RequestParam(required = false) Set<AssessorRole> roles,
+            @RequestParam(required = false) CompletionStatus status,
+            Pageable pageable) {
+        Page<EmployeeSimpleResponse> employees = completionService.getEmployeesByStatus(cycleId, criteriaFormId,
+                departmentIds, roles, status, pageable);
+
+        return ResponseEntity.ok(ApiResponse.<Page<EmployeeSimpleResponse>>builder()
+                .code(200)
+                .message("Employees retrieved successfully")
+                .result(employees)
+                .build());
+    }
+}
@@ -3,16 +3,22 @@ package com.example.assessment_employee.controller;
 import com.example.assessment_employee.dto.request.CriteriaFormCreateRequest;
 import com.example.assessment_employee.dto.response.ApiResponse;
 import com.example.assessment_employee.dto.response.CriteriaFormResponse;
+import com.example.assessment_employee.service.AggregateVersions;
 import com.example.assessment_employee.service.CriteriaFormService;
+import com.example.assessment_employee.service.FormDefinitionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -22,6 +28,8 @@ import java.util.List;
 public class CriteriaFormController {
     
     private final CriteriaFormService criteriaFormService;
+    private final AggregateVersions aggregateVersions;
+    private final FormDefinitionService formDefinitionService;
     
     /**
      * Get all criteria forms with pagination
@@ -43,16 +51,24 @@ public class CriteriaFormController {
      * Get all criteria forms without pagination
      */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<CriteriaFormResponse>>> getAllCriteriaFormsWithoutPagination() {
+    public ResponseEntity<ApiResponse<List<CriteriaFormResponse>>> getAllCriteriaFormsWithoutPagination(WebRequest webRequest) {
         log.info("Get all criteria forms request without pagination");
         
+        // Danh mục chưa thay đổi: trả 304 mà không truy vấn DB hay serialize
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.CRITERIA_FORM);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<CriteriaFormResponse> forms = criteriaFormService.getAllCriteriaForms();
         
-        return ResponseEntity.ok(ApiResponse.<List<CriteriaFormResponse>>builder()
-                .code(200)
-                .message("Criteria forms retrieved successfully")
-                .result(forms)
-                .build());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<CriteriaFormResponse>>builder()
+                        .code(200)
+                        .message("Criteria forms retrieved successfully")
+                        .result(forms)
+                        .build());
     }
     
     /**
@@ -143,7 +159,7 @@ public class CriteriaFormController {
      */
     @GetMapping("/evaluation-cycle/{evaluationCycleId}")
     public ResponseEntity<ApiResponse<List<CriteriaFormResponse>>> getCriteriaFormsByEvaluationCycleId(
-            @PathVariable String evaluationCycleId) {
+            @PathVariable Long evaluationCycleId) {
         log.info("Get criteria forms by evaluation cycle ID: {}", evaluationCycleId);
         
         List<CriteriaFormResponse> forms = criteriaFormService.getCriteriaFormsByEvaluationCycleId(evaluationCycleId);
@@ -189,6 +205,27 @@ public class CriteriaFormController {
                 .build());
     }
     
+    /**
+     * Get the whole form tree (criteria, questions with maxScore) for the scoring screen.
+     * Body được serialize sẵn cho mỗi version; client gửi If-None-Match nhận 304 khi biểu mẫu không đổi
+     */
+    @GetMapping("/{id}/definition")
+    public ResponseEntity<byte[]> getCriteriaFormDefinition(@PathVariable Long id, WebRequest webRequest) {
+        FormDefinitionService.Definition definition = formDefinitionService.getDefinition(id);
+        if (webRequest.checkNotModified(definition.etag())) {
+            return null;
+        }
+
+        // Version đã phát hành không bao giờ đổi; bản nháp phải revalidate bằng ETag
+        CacheControl cacheControl = definition.published()
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(definition.json());
+    }
+
     /**
      * Get criteria form with full details (criteria and questions)
      */
@@ -210,7 +247,7 @@ public class CriteriaFormController {
      */
     @GetMapping("/evaluation-cycle/{evaluationCycleId}/count")
     public ResponseEntity<ApiResponse<Long>> countCriteriaFormsByEvaluationCycle(
-            @PathVariable String evaluationCycleId) {
+            @PathVariable Long evaluationCycleId) {
         log.info("Count criteria forms for evaluation cycle ID: {}", evaluationCycleId);
         
         long count = criteriaFormService.countCriteriaFormsByEvaluationCycle(evaluationCycleId);
@@ -3,15 +3,18 @@ package com.example.assessment_employee.controller;
 import com.example.assessment_employee.dto.request.EmployeeCreateRequest;
 import com.example.assessment_employee.dto.response.ApiResponse;
 import com.example.assessment_employee.dto.response.EmployeeResponse;
+import com.example.assessment_employee.service.AggregateVersions;
 import com.example.assessment_employee.service.EmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,6 +25,7 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final AggregateVersions aggregateVersions;
     
     /**
      * Get all employees with pagination
@@ -43,16 +47,24 @@ public class EmployeeController {
      * Get all employees without pagination
      */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployeesWithoutPagination() {
+    public ResponseEntity<ApiResponse<List<EmployeeResponse>>> getAllEmployeesWithoutPagination(WebRequest webRequest) {
         log.info("Get all employees request without pagination");
         
+        // Danh mục chưa thay đổi: trả 304 mà không truy vấn DB hay serialize
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.EMPLOYEE);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<EmployeeResponse> employees = employeeService.getAllEmployees();
         
-        return ResponseEntity.ok(ApiResponse.<List<EmployeeResponse>>builder()
-                .code(200)
-                .message("Employees retrieved successfully")
-                .result(employees)
-                .build());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<EmployeeResponse>>builder()
+                        .code(200)
+                        .message("Employees retrieved successfully")
+                        .result(employees)
+                        .build());
     }
     
     /**
@@ -9,10 +9,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -206,4 +208,22 @@ public class EvaluationCycleController {
                 .result(cycles)
                 .build());
     }
+    
+    /**
+     * Get the cycle of a department that contains the given date
+     */
+    @GetMapping("/department/{departmentId}/containing")
+    public ResponseEntity<ApiResponse<EvaluationCycleResponse>> getCycleContainingDate(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Get evaluation cycle of department {} containing date: {}", departmentId, date);
+        
+        EvaluationCycleResponse cycle = evaluationCycleService.getCycleContainingDate(departmentId, date);
+        
+        return ResponseEntity.ok(ApiResponse.<EvaluationCycleResponse>builder()
+                .code(200)
+                .message("Evaluation cycle retrieved successfully")
+                .result(cycle)
+                .build());
+    }
 }
@@ -3,15 +3,18 @@ package com.example.assessment_employee.controller;
 import com.example.assessment_employee.dto.request.EvaluationQuestionCreateRequest;
 import com.example.assessment_employee.dto.response.ApiResponse;
 import com.example.assessment_employee.dto.response.EvaluationQuestionResponse;
+import com.example.assessment_employee.service.AggregateVersions;
 import com.example.assessment_employee.service.EvaluationQuestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,6 +25,7 @@ import java.util.List;
 public class EvaluationQuestionController {
     
     private final EvaluationQuestionService evaluationQuestionService;
+    private final AggregateVersions aggregateVersions;
     
     /**
      * Get all evaluation questions with pagination
@@ -43,16 +47,24 @@ public class EvaluationQuestionController {
      * Get all evaluation questions without pagination
      */
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<EvaluationQuestionResponse>>> getAllEvaluationQuestionsWithoutPagination() {
+    public ResponseEntity<ApiResponse<List<EvaluationQuestionResponse>>> getAllEvaluationQuestionsWithoutPagination(WebRequest webRequest) {
         log.info("Get all evaluation questions request without pagination");
         
+        // Danh mục chưa thay đổi: trả 304 mà không truy vấn DB hay serialize
+        String etag = aggregateVersions.etag(AggregateVersions.Aggregate.EVALUATION_QUESTION);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<EvaluationQuestionResponse> questions = evaluationQuestionService.getAllEvaluationQuestions();
         
-        return ResponseEntity.ok(ApiResponse.<List<EvaluationQuestionResponse>>builder()
-                .code(200)
-                .message("Evaluation questions retrieved successfully")
-                .result(questions)
-                .build());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<EvaluationQuestionResponse>>builder()
+                        .code(200)
+                        .message("Evaluation questions retrieved successfully")
+                        .result(questions)
+                        .build());
     }
     
     /**
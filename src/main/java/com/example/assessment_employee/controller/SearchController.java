@@ -0,0 +1,43 @@
+package com.example.assessment_employee.controller;
+
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.SearchResultResponse;
+import com.example.assessment_employee.enums.SearchEntityType;
+import com.example.assessment_employee.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Search employees, departments, criteria, questions and criteria forms by name (diacritic-insensitive)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<SearchResultResponse>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "types", required = false) Set<SearchEntityType> types,
+            Pageable pageable) {
+        Page<SearchResultResponse> results = searchService.search(query, types, pageable);
+
+        return ResponseEntity.ok(ApiResponse.<Page<SearchResultResponse>>builder()
+                .code(200)
+                .message("Search results retrieved successfully")
+                .result(results)
+                .build());
+    }
+}
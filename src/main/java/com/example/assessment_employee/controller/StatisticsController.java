@@ -2,10 +2,13 @@ package com.example.assessment_employee.controller;
 
 import com.example.assessment_employee.dto.response.*;
 import com.example.assessment_employee.service.StatisticsService;
+import com.example.assessment_employee.service.StatisticsStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,6 +20,16 @@ import java.util.List;
 public class StatisticsController {
 
     private final StatisticsService statisticsService;
+    private final StatisticsStreamService statisticsStreamService;
+
+    /**
+     * Server-Sent Events thay cho polling overview / top-employees / criteria-average:
+     * sự kiện "statistics" đầu tiên là ảnh chụp đầy đủ, các sự kiện sau chỉ chứa phần thay đổi
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatistics(@RequestParam(required = false) Long cycleId) {
+        return statisticsStreamService.subscribe(cycleId);
+    }
 
     @GetMapping("/overview")
     public ResponseEntity<EvaluationStatisticsResponse> getStatisticsOverview() {
@@ -37,6 +50,10 @@ public class StatisticsController {
         return statisticsService.getCriteriaAverages(cycleId);
     }
 
+    @GetMapping("/cycles/{cycleId}/results")
+    public ResponseEntity<CycleResultResponse> getCycleResults(@PathVariable Long cycleId) {
+        return ResponseEntity.ok(statisticsService.getCycleResults(cycleId));
+    }
 
     @GetMapping("/employees-evaluated")
     public ResponseEntity<List<EmployeeSimpleResponse>> getEmployeesEvaluated() {
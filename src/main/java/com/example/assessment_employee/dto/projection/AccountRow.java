@@ -0,0 +1,19 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Một dòng danh sách tài khoản: đúng các cột AccountResponse cần (không có password)
+ */
+public record AccountRow(
+        Long id,
+        String username,
+        String role,
+        String status,
+        Long employeeCode,
+        String fullName,
+        String division,
+        String basic,
+        String staffType,
+        String startDate,
+        String type,
+        String departmentName) {
+}
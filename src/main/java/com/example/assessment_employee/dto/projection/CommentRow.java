@@ -0,0 +1,16 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Bình luận của một bản đánh giá kèm các trường lọc (chu kỳ, phòng ban, cảm xúc), dùng cho CommentSearchIndex
+ */
+public record CommentRow(
+        Long summaryAssessmentId,
+        long version,
+        String comment,
+        String sentiment,
+        Long employeeId,
+        String employeeName,
+        Long departmentId,
+        long criteriaFormId,
+        Long evaluationCycleId) {
+}
@@ -0,0 +1,8 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Số câu đã trả lời của một bản đánh giá, tổng và theo từng vai trò (điểm > 0) — nguồn cho CompletionTracker
+ */
+public record CompletionRow(Long employeeId, long criteriaFormId, long answered,
+                            long employeeAnswered, long managerAnswered, long supervisorAnswered) {
+}
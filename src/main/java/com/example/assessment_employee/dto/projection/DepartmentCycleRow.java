@@ -0,0 +1,9 @@
+package com.example.assessment_employee.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Chu kỳ đánh giá trong DepartmentResponse, kèm departmentId để gom nhóm
+ */
+public record DepartmentCycleRow(Long departmentId, Long evaluationCycleId, LocalDate startDate, LocalDate endDate, String status) {
+}
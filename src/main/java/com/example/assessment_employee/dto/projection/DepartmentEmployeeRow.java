@@ -0,0 +1,7 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Nhân viên trong DepartmentResponse, kèm departmentId để gom nhóm
+ */
+public record DepartmentEmployeeRow(Long departmentId, Long code, String fullName, String division, String staffType, String type) {
+}
@@ -0,0 +1,4 @@
+package com.example.assessment_employee.dto.projection;
+
+public record DepartmentRow(Long departmentId, String departmentName, String managerCode) {
+}
@@ -0,0 +1,21 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Một dòng danh sách nhân viên: đúng các cột EmployeeResponse cần (nhân viên + tài khoản + phòng ban)
+ */
+public record EmployeeRow(
+        Long code,
+        String fullName,
+        String division,
+        String basic,
+        String staffType,
+        String startDate,
+        String type,
+        Long accountId,
+        String username,
+        String role,
+        String status,
+        Long departmentId,
+        String departmentName,
+        String managerCode) {
+}
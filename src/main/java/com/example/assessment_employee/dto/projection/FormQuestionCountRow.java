@@ -0,0 +1,7 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * Số câu hỏi đang dùng của một biểu mẫu, kèm chu kỳ của biểu mẫu
+ */
+public record FormQuestionCountRow(Long criteriaFormId, Long evaluationCycleId, long questionCount) {
+}
@@ -0,0 +1,10 @@
+package com.example.assessment_employee.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Biểu mẫu hiện hành của một chu kỳ ACTIVE, kèm phòng ban và hạn của chu kỳ (nạp AssessorInbox)
+ */
+public record InboxFormRow(Long criteriaFormId, String criteriaFormName, Long evaluationCycleId, Long departmentId,
+                           LocalDate endDate) {
+}
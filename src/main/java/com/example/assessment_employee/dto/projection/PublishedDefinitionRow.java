@@ -0,0 +1,9 @@
+package com.example.assessment_employee.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Định nghĩa JSON đóng băng của một version đã phát hành (bộ câu hỏi của version)
+ */
+public record PublishedDefinitionRow(Long criteriaFormId, LocalDateTime publishedAt, String publishedDefinition) {
+}
@@ -0,0 +1,9 @@
+package com.example.assessment_employee.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Biểu mẫu đã phát hành, kèm chu kỳ và thời điểm phát hành (nạp CompletionTracker)
+ */
+public record PublishedFormRow(Long criteriaFormId, Long evaluationCycleId, LocalDateTime publishedAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.assessment_employee.dto.projection;
+
+/**
+ * ID và tên hiển thị của một entity, dùng để nạp SearchIndex
+ */
+public record SearchRow(Long id, String name) {
+}
@@ -21,8 +21,8 @@ public class CriteriaFormCreateRequest {
     @Size(min = 2, max = 100, message = "Criteria form name must be between 2 and 100 characters")
     private String criteriaFormName;
     
-    @NotBlank(message = "Evaluation cycle ID is required")
-    private String evaluationCycleId;
+    @NotNull(message = "Evaluation cycle ID is required")
+    private Long evaluationCycleId;
     
     @NotEmpty(message = "At least one evaluation criteria ID is required")
     private List<Long> evaluationCriteriaIds;
@@ -0,0 +1,24 @@
+package com.example.assessment_employee.dto.response;
+
+import com.example.assessment_employee.dto.request.AssessmentRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssessmentDraftResponse {
+
+    private long formId;
+    private long employeeId;
+    private long assessorId;
+    private String comment;
+    private List<AssessmentRequest.AssessmentItem> assessmentItems;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.assessment_employee.dto.response;
+
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.CompletionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Một bản đánh giá người đánh giá còn phải làm: chấm ai, trên biểu mẫu nào, với vai trò nào
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AssessorInboxItemResponse {
+    private Long criteriaFormId;
+    private String criteriaFormName;
+    private Long evaluationCycleId;
+    private LocalDate endDate;
+    private AssessorRole role;
+    private Long employeeId;
+    private String employeeName;
+    private CompletionStatus status;
+}
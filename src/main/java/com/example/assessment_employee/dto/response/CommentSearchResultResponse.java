@@ -0,0 +1,22 @@
+package com.example.assessment_employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CommentSearchResultResponse {
+    private Long summaryAssessmentId;
+    private Long employeeId;
+    private String employeeName;
+    private Long departmentId;
+    private Long criteriaFormId;
+    private Long evaluationCycleId;
+    private String sentiment;
+    private String comment;
+    private double score;
+}
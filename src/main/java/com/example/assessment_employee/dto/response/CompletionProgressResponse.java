@@ -0,0 +1,46 @@
+package com.example.assessment_employee.dto.response;
+
+import com.example.assessment_employee.enums.AssessorRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tiến độ đánh giá của một chu kỳ theo vai trò chấm điểm, tổng và theo từng biểu mẫu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompletionProgressResponse {
+
+    private Long evaluationCycleId;
+    private List<RoleProgress> roles;
+    private List<FormProgress> forms;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FormProgress {
+        private Long criteriaFormId;
+        private long questionCount;
+        private List<RoleProgress> roles;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RoleProgress {
+        private AssessorRole role;
+        private int totalEmployees;
+        private int pending;
+        private int inProgress;
+        private int completed;
+        private double completedPercent;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -16,6 +17,10 @@ public class CriteriaFormResponse {
     private Long criteriaFormId;
     private String criteriaFormName;
     private String evaluationCycleId;
+    private int formVersion;
+    private Long previousVersionId;
+    private Long supersededById;
+    private LocalDateTime publishedAt;
     private List<EvaluationCriteriaInfo> evaluationCriteria;
     
     @Data
@@ -0,0 +1,71 @@
+package com.example.assessment_employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CycleResultResponse {
+
+    private Long evaluationCycleId;
+    private String cycleName;
+    private String status;
+    private boolean fromSnapshot;
+    private LocalDateTime snapshotAt;
+
+    private Integer totalEvaluations;
+    private Integer completedEvaluations;
+    private Double averageScore;
+
+    private List<EmployeeResult> employees;
+    private List<CriteriaResult> criteria;
+    private List<DepartmentResult> departments;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EmployeeResult {
+        private Integer rank;
+        private Long employeeId;
+        private String fullName;
+        private String position;
+        private String departmentName;
+        private Double averageScore;
+        private Integer evaluationCount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CriteriaResult {
+        private Integer rank;
+        private Long criteriaId;
+        private String criteriaName;
+        private Double averageScore;
+        private Double employeeScore;
+        private Double supervisorScore;
+        private Double managerScore;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DepartmentResult {
+        private Integer rank;
+        private Long departmentId;
+        private String departmentName;
+        private Double averageScore;
+        private Integer evaluationCount;
+        private Integer completedCount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.assessment_employee.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toàn bộ cây biểu mẫu (biểu mẫu -> tiêu chí -> câu hỏi) để hiển thị màn hình chấm điểm trong một request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FormDefinitionResponse {
+
+    private Long criteriaFormId;
+    private String criteriaFormName;
+    private Long evaluationCycleId;
+    private int formVersion;
+    private List<Criteria> evaluationCriteria;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Criteria {
+        private Long evaluationCriteriaId;
+        private String criteriaName;
+        private List<Question> evaluationQuestions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Question {
+        private Long evaluationQuestionId;
+        private String questionName;
+        private Long maxScore;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.assessment_employee.dto.response;
+
+import com.example.assessment_employee.enums.SearchEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchResultResponse {
+    private SearchEntityType type;
+    private Long id;
+    private String name;
+    private int score;
+}
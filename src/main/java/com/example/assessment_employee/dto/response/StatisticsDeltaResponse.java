@@ -0,0 +1,27 @@
+package com.example.assessment_employee.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sự kiện SSE của dashboard thống kê: full=true khi vừa kết nối (đủ mọi phần),
+ * các lần sau chỉ chứa những phần đã thay đổi (phần không đổi là null)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatisticsDeltaResponse {
+    private long sequence;
+    private boolean full;
+    private EvaluationStatisticsResponse overview;
+    private List<TopEmployeeResponse> topEmployees;
+    private Long cycleId;
+    private List<CriteriaAverageResponse> criteriaAverages;
+}
@@ -0,0 +1,47 @@
+package com.example.assessment_employee.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bản nháp đánh giá (autosave) của một người đánh giá cho một nhân viên trên một biểu mẫu.
+ * Được ghi theo lô từ AssessmentDraftService (write-behind), không qua Hibernate; bị xóa khi đánh giá được nộp.
+ * Không có khóa ngoại: bản nháp không hợp lệ chỉ bị từ chối khi nộp.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_assessment_draft_assessor_employee_form",
+        columnNames = {"assessor_id", "employee_id", "criteria_form_id"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class AssessmentDraft {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long assessmentDraftId;
+
+    @Column(name = "assessor_id", nullable = false)
+    private long assessorId;
+
+    @Column(name = "employee_id", nullable = false)
+    private long employeeId;
+
+    @Column(name = "criteria_form_id", nullable = false)
+    private long criteriaFormId;
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    // Danh sách AssessmentItem dạng JSON
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String answers;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,8 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @NoArgsConstructor
@@ -14,14 +17,36 @@ import java.util.Set;
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "criteria-form")
+@Table(indexes = @Index(name = "idx_criteria_form_cycle", columnList = "evaluation_cycle_id, criteria_form_id"))
 public class CriteriaForm {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long criteriaFormId;
-    private String evaluationCycleId;
+    // FK tới evaluation_cycles (tạo bởi SchemaMigrationRunner)
+    @Column(name = "evaluation_cycle_id")
+    private Long evaluationCycleId;
     private String criteriaFormName;
 
+    // Copy-on-write: biểu mẫu đã phát hành không bị sửa tại chỗ, mỗi lần sửa tạo một version mới (dòng mới)
+    @ColumnDefault("1")
+    @Builder.Default
+    private int formVersion = 1;
+    // Version trước / version thay thế (null: bản đầu tiên / bản hiện hành)
+    private Long previousVersionId;
+    private Long supersededById;
+    // Thời điểm phát hành (null: bản nháp, sửa tại chỗ) và định nghĩa JSON đóng băng lúc đó (FormDefinitionResponse)
+    private LocalDateTime publishedAt;
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String publishedDefinition;
+    // Optimistic locking: hai request cùng tạo version mới / phát hành một biểu mẫu, request sau bị từ chối
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "criteria-form.evaluation-criteria")
     private Set<EvaluationCriteria> evaluationCriteria;
 
 
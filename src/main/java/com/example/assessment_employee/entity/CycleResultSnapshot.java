@@ -0,0 +1,69 @@
+package com.example.assessment_employee.entity;
+
+import com.example.assessment_employee.enums.SnapshotScope;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed, read-only result row of a completed evaluation cycle.
+ * Rows are written once when the cycle moves to COMPLETED and never updated.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+@Entity
+@Immutable
+@Table(indexes = {
+        @Index(name = "idx_cycle_snapshot_cycle_scope", columnList = "evaluation_cycle_id, scope, ranking"),
+        @Index(name = "idx_cycle_snapshot_scope_ref", columnList = "scope, ref_id")
+})
+public class CycleResultSnapshot {
+    @Id
+    // Pooled sequence (MySQL: bảng cycle_result_snapshot_seq, 50 id mỗi lần đọc) thay IDENTITY để Hibernate gom INSERT thành JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cycle_result_snapshot_seq")
+    @SequenceGenerator(name = "cycle_result_snapshot_seq", sequenceName = "cycle_result_snapshot_seq", allocationSize = 50)
+    private Long cycleResultSnapshotId;
+
+    @Column(name = "evaluation_cycle_id", nullable = false)
+    private Long evaluationCycleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SnapshotScope scope;
+
+    // Assessment id, employee code, criteria id or department id depending on scope
+    @Column(name = "ref_id")
+    private Long refId;
+    private String refName;
+    private Long employeeId;
+    private String position;
+    private String departmentName;
+    private Long formId;
+    private String formName;
+    private String cycleName;
+    private String sentiment;
+    private String status;
+
+    private Double averageScore;
+    private Double employeeScore;
+    private Double supervisorScore;
+    private Double managerScore;
+
+    private Integer evaluationCount;
+    private Integer completedCount;
+    private Integer totalQuestions;
+    private Integer completedQuestions;
+    private Integer ranking;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 @NoArgsConstructor
@@ -12,9 +14,13 @@ import java.util.List;
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
 public class Department {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (MySQL: bảng department_seq, 50 id mỗi lần đọc) thay IDENTITY để Hibernate gom INSERT thành JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "department_seq", allocationSize = 50)
     private Long departmentId;
     private String managerCode;
     private String departmentName;
@@ -22,7 +28,9 @@ public class Department {
     @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
     private List<Employee> employees;
 
+    // Phía inverse: ReferenceCacheInvalidator xóa cache collection khi chu kỳ thêm/đổi/xóa
     @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department.evaluation-cycles")
     private List<EvaluationCycles> evaluationCycles;
 
 
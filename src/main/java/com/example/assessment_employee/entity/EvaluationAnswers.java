@@ -5,20 +5,29 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Builder
 @Entity
+// Một câu trả lời cho mỗi câu hỏi của một bản đánh giá: khóa cho upsert điểm theo vai trò người đánh giá
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_evaluation_answers_assessment_question", columnNames = {"summary_assessment_id", "question_id"}))
 public class EvaluationAnswers {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (MySQL: bảng evaluation_answers_seq, 50 id mỗi lần đọc) thay IDENTITY để Hibernate gom INSERT thành JDBC batch
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evaluation_answers_seq")
+    @SequenceGenerator(name = "evaluation_answers_seq", sequenceName = "evaluation_answers_seq", allocationSize = 50)
     private Long evaluationAnswerId;
     private int totalScoreByEmployee;
     private int totalScoreByManager;
     private int totalScoreBySupervision;
     private int totalScore;
+    // Optimistic locking: ghi qua entity kiểm tra version, upsert khi nộp đánh giá tăng version trong SQL
+    @Version
+    @ColumnDefault("0")
+    private long version;
 
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -68,4 +77,19 @@ public class EvaluationAnswers {
         // Trường hợp mặc định (nên không bao giờ đạt được nếu logic trên đầy đủ)
         return 0;
     }
+
+    /**
+     * Biểu thức SQL tính total_score, tương đương {@link #getAVGScore()}, từ ba cột điểm.
+     * FLOOR thay cho phép chia nguyên: MySQL chia INT ra DECIMAL, H2 ra INT.
+     */
+    public static String totalScoreSql(String employee, String manager, String supervisor) {
+        return "CASE"
+                + " WHEN " + supervisor + " > 0 AND " + manager + " > 0 AND " + employee + " > 0"
+                + " THEN FLOOR((" + employee + " * 2 + " + supervisor + " * 4 + " + manager + " * 4) / 10)"
+                + " WHEN " + supervisor + " > 0 AND " + manager + " > 0 THEN FLOOR((" + supervisor + " + " + manager + ") / 2)"
+                + " WHEN " + manager + " > 0 THEN " + manager
+                + " WHEN " + supervisor + " > 0 THEN " + supervisor
+                + " WHEN " + employee + " > 0 THEN " + employee
+                + " ELSE 0 END";
+    }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.List;
 @NoArgsConstructor
@@ -13,6 +16,8 @@ import java.util.List;
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "evaluation-criteria")
 public class EvaluationCriteria {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,7 +25,11 @@ public class EvaluationCriteria {
     private String criteriaName;
 
 
+    // Phía inverse: ReferenceCacheInvalidator xóa cache collection khi câu hỏi thêm/đổi/xóa
+    // Chỉ câu hỏi hiện hành; câu hỏi đã ngừng dùng chỉ còn trong định nghĩa của biểu mẫu đã phát hành
     @OneToMany(mappedBy = "evaluationCriteria")
+    @SQLRestriction("retired_at IS NULL")
     @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "evaluation-criteria.evaluation-questions")
     private List<EvaluationQuestions> evaluationQuestions;
 }
@@ -5,18 +5,28 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDate;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "evaluation-cycles")
+@Table(indexes = {
+        @Index(name = "idx_evaluation_cycles_department_start", columnList = "department_id, start_date"),
+        @Index(name = "idx_evaluation_cycles_dates", columnList = "start_date, end_date")
+})
 public class EvaluationCycles {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long evaluationCycleId;
-    private String startDate;
-    private String endDate;
+    private LocalDate startDate;
+    private LocalDate endDate;
     private String status;
 
     @ManyToOne
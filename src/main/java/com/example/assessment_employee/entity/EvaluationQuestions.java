@@ -5,8 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "evaluation-questions")
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -17,6 +23,10 @@ public class EvaluationQuestions {
     private Long evaluationQuestionId;
     private String questionName;
     private Long maxScore;
+    // Câu hỏi đã được chấm hoặc thuộc biểu mẫu đã phát hành không sửa/xóa tại chỗ: bị thay thế (replacedById) hoặc
+    // ngừng dùng; dòng cũ giữ nguyên cho các câu trả lời và biểu mẫu đã phát hành trỏ tới nó
+    private LocalDateTime retiredAt;
+    private Long replacedById;
 
     @ManyToOne
     @JoinColumn(name = "evaluation_criteria_id")
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +13,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+// Mỗi nhân viên chỉ có một bản đánh giá cho mỗi biểu mẫu: khóa cho INSERT ... ON DUPLICATE KEY UPDATE khi nộp đánh giá
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_summary_assessment_form_employee", columnNames = {"criteria_form_id", "employee_id"}))
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -26,6 +29,10 @@ public class SummaryAssessment {
     private String sentiment;
     @Column(columnDefinition = "TEXT")
     private String comment; // Bình luận
+    // Optimistic locking: ghi qua entity kiểm tra version, upsert khi nộp đánh giá tăng version trong SQL
+    @Version
+    @ColumnDefault("0")
+    private long version;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -0,0 +1,11 @@
+package com.example.assessment_employee.enums;
+
+/**
+ * Vai trò chấm điểm trong một bản đánh giá; ANY: bất kỳ vai trò nào (trạng thái chung của bản đánh giá)
+ */
+public enum AssessorRole {
+    ANY,
+    EMPLOYEE,
+    MANAGER,
+    SUPERVISOR
+}
@@ -0,0 +1,10 @@
+package com.example.assessment_employee.enums;
+
+/**
+ * Tiến độ của một bản đánh giá: chưa trả lời câu nào, đã trả lời một phần, đã trả lời đủ câu hỏi của biểu mẫu
+ */
+public enum CompletionStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,12 @@
+package com.example.assessment_employee.enums;
+
+/**
+ * Loại entity được đánh chỉ mục tìm kiếm theo tên
+ */
+public enum SearchEntityType {
+    EMPLOYEE,
+    DEPARTMENT,
+    EVALUATION_CRITERIA,
+    EVALUATION_QUESTION,
+    CRITERIA_FORM
+}
@@ -0,0 +1,31 @@
+package com.example.assessment_employee.enums;
+
+/**
+ * Loại dòng kết quả trong snapshot của chu kỳ đánh giá đã hoàn thành
+ */
+public enum SnapshotScope {
+    /**
+     * Tổng hợp toàn chu kỳ
+     */
+    CYCLE,
+
+    /**
+     * Kết quả của từng bản đánh giá (SummaryAssessment)
+     */
+    ASSESSMENT,
+
+    /**
+     * Kết quả và xếp hạng theo nhân viên
+     */
+    EMPLOYEE,
+
+    /**
+     * Kết quả và xếp hạng theo tiêu chí
+     */
+    CRITERIA,
+
+    /**
+     * Kết quả và xếp hạng theo phòng ban
+     */
+    DEPARTMENT
+}
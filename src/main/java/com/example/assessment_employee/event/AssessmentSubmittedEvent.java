@@ -0,0 +1,9 @@
+package com.example.assessment_employee.event;
+
+/**
+ * Phát ra khi submitAssessment ghi xong một đánh giá; listener nên dùng
+ * {@code @TransactionalEventListener} để chỉ xử lý sau khi transaction commit
+ */
+public record AssessmentSubmittedEvent(Long summaryAssessmentId, Long employeeId, Long criteriaFormId,
+                                       Long evaluationCycleId, Long assessorId) {
+}
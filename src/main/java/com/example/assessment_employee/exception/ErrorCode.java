@@ -8,8 +8,13 @@ public enum ErrorCode {
     // Common errors (9000-9999)
     UNCATEGORIZED_EXCEPTION(9999, "Uncategorized error", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_KEY(9998, "Invalid message key", HttpStatus.BAD_REQUEST),
+    IDEMPOTENT_REQUEST_TOO_LARGE(9991, "Request body is too large for an Idempotency-Key request", HttpStatus.PAYLOAD_TOO_LARGE),
     VALIDATION_ERROR(9997, "Validation error", HttpStatus.BAD_REQUEST),
     RESOURCE_NOT_FOUND(9996, "Resource not found", HttpStatus.NOT_FOUND),
+    QUERY_BUDGET_EXCEEDED(9995, "Request exceeded its SQL query budget", HttpStatus.INTERNAL_SERVER_ERROR),
+    IDEMPOTENCY_KEY_IN_PROGRESS(9994, "A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT),
+    IDEMPOTENCY_KEY_REUSED(9993, "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY),
+    INVALID_IDEMPOTENCY_KEY(9992, "Idempotency-Key must be 1-255 printable characters", HttpStatus.BAD_REQUEST),
 
     // Authentication & Authorization errors (1000-1099)
     UNAUTHENTICATED(1000, "Unauthenticated", HttpStatus.UNAUTHORIZED),
@@ -49,6 +54,7 @@ public enum ErrorCode {
     EVALUATION_CYCLE_COMPLETED(1403, "Cannot modify completed evaluation cycle", HttpStatus.CONFLICT),
     INVALID_CYCLE_STATUS(1404, "Invalid evaluation cycle status", HttpStatus.BAD_REQUEST),
     CYCLE_DATE_INVALID(1405, "Invalid cycle date range", HttpStatus.BAD_REQUEST),
+    EVALUATION_CYCLE_HAS_FORMS(1406, "Cannot delete evaluation cycle with existing criteria forms", HttpStatus.CONFLICT),
 
     // Criteria Form errors (1500-1599)
     CRITERIA_FORM_NOT_FOUND(1500, "Criteria form not found", HttpStatus.NOT_FOUND),
@@ -56,6 +62,9 @@ public enum ErrorCode {
     CRITERIA_FORM_NAME_EXISTED(1502, "Criteria form name already exists", HttpStatus.CONFLICT),
     CRITERIA_FORM_HAS_EVALUATIONS(1503, "Cannot delete criteria form with existing evaluations", HttpStatus.CONFLICT),
     CRITERIA_FORM_EMPTY(1504, "Criteria form must have at least one criteria", HttpStatus.BAD_REQUEST),
+    CRITERIA_FORM_PUBLISHED(1505, "Published criteria form versions cannot be deleted", HttpStatus.CONFLICT),
+    CRITERIA_FORM_SUPERSEDED(1506, "Criteria form has a newer version, edit the current version instead", HttpStatus.CONFLICT),
+    CRITERIA_FORM_VERSION_SUPERSEDED(1507, "Criteria form version was superseded, submit against the current version", HttpStatus.CONFLICT),
 
     // Evaluation Criteria errors (1600-1699)
     EVALUATION_CRITERIA_NOT_FOUND(1600, "Evaluation criteria not found", HttpStatus.NOT_FOUND),
@@ -70,6 +79,8 @@ public enum ErrorCode {
     QUESTION_NAME_EXISTED(1702, "Question name already exists for this criteria", HttpStatus.CONFLICT),
     QUESTION_HAS_ANSWERS(1703, "Cannot delete question with existing answers", HttpStatus.CONFLICT),
     INVALID_MAX_SCORE(1704, "Invalid maximum score value", HttpStatus.BAD_REQUEST),
+    QUESTION_RETIRED(1705, "Evaluation question has been replaced or retired", HttpStatus.CONFLICT),
+    QUESTION_NOT_IN_FORM(1706, "Evaluation question does not belong to this criteria form version", HttpStatus.BAD_REQUEST),
 
     // Evaluation Process errors (1800-1899)
     EVALUATION_NOT_FOUND(1800, "Evaluation not found", HttpStatus.NOT_FOUND),
@@ -83,7 +94,10 @@ public enum ErrorCode {
     MANAGER_REVIEW_COMPLETED(1807, "Manager review is already completed", HttpStatus.CONFLICT),
     INVALID_SCORE_VALUE(1808, "Invalid score value", HttpStatus.BAD_REQUEST),
     SCORE_EXCEEDS_MAXIMUM(1809, "Score exceeds maximum allowed value", HttpStatus.BAD_REQUEST),
-    EVALUATION_STEP_NOT_ALLOWED(1810, "This evaluation step is not allowed at this time", HttpStatus.CONFLICT)
+    EVALUATION_STEP_NOT_ALLOWED(1810, "This evaluation step is not allowed at this time", HttpStatus.CONFLICT),
+    ASSESSMENT_DRAFT_NOT_FOUND(1811, "Assessment draft not found", HttpStatus.NOT_FOUND),
+    ASSESSMENT_DRAFT_TOO_LARGE(1812, "Assessment draft has too many items", HttpStatus.BAD_REQUEST),
+    ASSESSMENT_DRAFT_BUFFER_FULL(1813, "Drafts cannot be saved right now, please retry", HttpStatus.SERVICE_UNAVAILABLE)
     ;
 
     ErrorCode(int code, String message, HttpStatusCode httpStatusCode) {
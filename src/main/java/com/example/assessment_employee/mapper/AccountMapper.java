@@ -1,5 +1,6 @@
 package com.example.assessment_employee.mapper;
 
+import com.example.assessment_employee.dto.projection.AccountRow;
 import com.example.assessment_employee.dto.request.AccountCreateRequest;
 import com.example.assessment_employee.dto.response.AccountResponse;
 import com.example.assessment_employee.entity.Account;
@@ -38,6 +39,36 @@ public interface AccountMapper {
      */
     List<AccountResponse> toResponseList(List<Account> accounts);
     
+    /**
+     * Convert AccountRow projection to AccountResponse (employee null khi tài khoản chưa gắn nhân viên)
+     */
+    default AccountResponse toResponse(AccountRow row) {
+        if (row == null) {
+            return null;
+        }
+        return AccountResponse.builder()
+                .id(row.id())
+                .username(row.username())
+                .role(row.role())
+                .status(row.status())
+                .employee(row.employeeCode() == null ? null : AccountResponse.EmployeeInfo.builder()
+                        .code(row.employeeCode())
+                        .fullName(row.fullName())
+                        .division(row.division())
+                        .basic(row.basic())
+                        .staffType(row.staffType())
+                        .startDate(row.startDate())
+                        .type(row.type())
+                        .departmentName(row.departmentName())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Convert list of AccountRow projections to list of AccountResponse
+     */
+    List<AccountResponse> toResponseListFromRows(List<AccountRow> rows);
+
     /**
      * Update existing Account entity from AccountCreateRequest
      */
@@ -20,6 +20,13 @@ public interface CriteriaFormMapper {
      */
     @Mapping(target = "criteriaFormId", ignore = true)
     @Mapping(target = "evaluationCriteria", ignore = true)
+    // Cột versioning do FormVersionService quản lý
+    @Mapping(target = "formVersion", ignore = true)
+    @Mapping(target = "previousVersionId", ignore = true)
+    @Mapping(target = "supersededById", ignore = true)
+    @Mapping(target = "publishedAt", ignore = true)
+    @Mapping(target = "publishedDefinition", ignore = true)
+    @Mapping(target = "version", ignore = true)
     CriteriaForm toEntity(CriteriaFormCreateRequest request);
     
     /**
@@ -38,5 +45,12 @@ public interface CriteriaFormMapper {
      */
     @Mapping(target = "criteriaFormId", ignore = true)
     @Mapping(target = "evaluationCriteria", ignore = true)
+    // Cột versioning do FormVersionService quản lý
+    @Mapping(target = "formVersion", ignore = true)
+    @Mapping(target = "previousVersionId", ignore = true)
+    @Mapping(target = "supersededById", ignore = true)
+    @Mapping(target = "publishedAt", ignore = true)
+    @Mapping(target = "publishedDefinition", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(CriteriaFormCreateRequest request, @MappingTarget CriteriaForm criteriaForm);
 }
@@ -1,5 +1,8 @@
 package com.example.assessment_employee.mapper;
 
+import com.example.assessment_employee.dto.projection.DepartmentCycleRow;
+import com.example.assessment_employee.dto.projection.DepartmentEmployeeRow;
+import com.example.assessment_employee.dto.projection.DepartmentRow;
 import com.example.assessment_employee.dto.request.DepartmentCreateRequest;
 import com.example.assessment_employee.dto.response.DepartmentResponse;
 import com.example.assessment_employee.entity.Department;
@@ -35,6 +38,23 @@ public interface DepartmentMapper {
      */
     List<DepartmentResponse> toResponseList(List<Department> departments);
     
+    /**
+     * Convert DepartmentRow projection to DepartmentResponse (employees / evaluationCycles set by the service)
+     */
+    @Mapping(target = "employees", ignore = true)
+    @Mapping(target = "evaluationCycles", ignore = true)
+    DepartmentResponse toResponse(DepartmentRow row);
+
+    /**
+     * Convert DepartmentEmployeeRow projection to DepartmentResponse.EmployeeInfo
+     */
+    DepartmentResponse.EmployeeInfo toEmployeeInfo(DepartmentEmployeeRow row);
+
+    /**
+     * Convert DepartmentCycleRow projection to DepartmentResponse.EvaluationCycleInfo
+     */
+    DepartmentResponse.EvaluationCycleInfo toEvaluationCycleInfo(DepartmentCycleRow row);
+
     /**
      * Update existing Department entity from DepartmentCreateRequest
      */
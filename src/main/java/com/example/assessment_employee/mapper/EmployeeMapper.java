@@ -1,5 +1,6 @@
 package com.example.assessment_employee.mapper;
 
+import com.example.assessment_employee.dto.projection.EmployeeRow;
 import com.example.assessment_employee.dto.request.EmployeeCreateRequest;
 import com.example.assessment_employee.dto.response.EmployeeResponse;
 import com.example.assessment_employee.entity.Employee;
@@ -40,6 +41,40 @@ public interface EmployeeMapper {
      */
     List<EmployeeResponse> toResponseList(List<Employee> employees);
     
+    /**
+     * Convert EmployeeRow projection to EmployeeResponse (account/department null khi không có, như khi map entity)
+     */
+    default EmployeeResponse toResponse(EmployeeRow row) {
+        if (row == null) {
+            return null;
+        }
+        return EmployeeResponse.builder()
+                .code(row.code())
+                .fullName(row.fullName())
+                .division(row.division())
+                .basic(row.basic())
+                .staffType(row.staffType())
+                .startDate(row.startDate())
+                .type(row.type())
+                .account(row.accountId() == null ? null : EmployeeResponse.AccountInfo.builder()
+                        .id(row.accountId())
+                        .username(row.username())
+                        .role(row.role())
+                        .status(row.status())
+                        .build())
+                .department(row.departmentId() == null ? null : EmployeeResponse.DepartmentInfo.builder()
+                        .departmentId(row.departmentId())
+                        .departmentName(row.departmentName())
+                        .managerCode(row.managerCode())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Convert list of EmployeeRow projections to list of EmployeeResponse
+     */
+    List<EmployeeResponse> toResponseListFromRows(List<EmployeeRow> rows);
+
     /**
      * Update existing Employee entity from EmployeeCreateRequest
      */
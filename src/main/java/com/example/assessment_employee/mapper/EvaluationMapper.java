@@ -20,7 +20,7 @@ public interface EvaluationMapper {
      * Convert EvaluationStartRequest to EvaluationAnswers entity
      */
     @Mapping(target = "evaluationAnswerId", ignore = true)
-
+    @Mapping(target = "version", ignore = true) // Optimistic locking: request không được đặt version
     EvaluationAnswers toEntity(EvaluationStartRequest request);
     
     /**
@@ -20,6 +20,9 @@ public interface EvaluationQuestionMapper {
      */
     @Mapping(target = "evaluationQuestionId", ignore = true)
     @Mapping(target = "evaluationCriteria", ignore = true)
+    // Ngừng dùng câu hỏi do EvaluationQuestionService quản lý
+    @Mapping(target = "retiredAt", ignore = true)
+    @Mapping(target = "replacedById", ignore = true)
     EvaluationQuestions toEntity(EvaluationQuestionCreateRequest request);
 
     /**
@@ -39,12 +42,17 @@ public interface EvaluationQuestionMapper {
      */
     @Mapping(target = "evaluationQuestionId", ignore = true)
     @Mapping(target = "evaluationCriteria", ignore = true)
+    // Ngừng dùng câu hỏi do EvaluationQuestionService quản lý
+    @Mapping(target = "retiredAt", ignore = true)
+    @Mapping(target = "replacedById", ignore = true)
     void updateEntity(EvaluationQuestionCreateRequest request, @MappingTarget EvaluationQuestions evaluationQuestion);
 
     /**
      * Set EvaluationCriteria reference to EvaluationQuestions
      */
     @Mapping(target = "evaluationCriteria", source = "evaluationCriteria")
+    @Mapping(target = "retiredAt", ignore = true)
+    @Mapping(target = "replacedById", ignore = true)
     void setEvaluationCriteria(EvaluationCriteria evaluationCriteria, @MappingTarget EvaluationQuestions evaluationQuestion);
 
     /**
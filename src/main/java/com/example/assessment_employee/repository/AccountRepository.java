@@ -1,6 +1,9 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.AccountRow;
 import com.example.assessment_employee.entity.Account;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -69,4 +72,27 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     @Query("SELECT a FROM Account a LEFT JOIN FETCH a.employee WHERE a.username = :username")
     Optional<Account> findByUsernameWithEmployee(@Param("username") String username);
+
+    /**
+     * Danh sách tài khoản dạng projection: chỉ các cột của AccountResponse, không qua persistence context
+     * @return List<AccountRow>
+     */
+    @Query(ACCOUNT_ROW_SELECT)
+    List<AccountRow> findAllRows();
+
+    /**
+     * Danh sách tài khoản dạng projection, phân trang
+     * @param pageable the pagination information
+     * @return Page<AccountRow>
+     */
+    @Query(value = ACCOUNT_ROW_SELECT, countQuery = "SELECT COUNT(a) FROM Account a")
+    Page<AccountRow> findAllRows(Pageable pageable);
+
+    String ACCOUNT_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.AccountRow(
+                a.id, a.username, a.role, a.status,
+                e.code, e.fullName, e.division, e.basic, e.staffType, e.startDate, e.type,
+                d.departmentName)
+            FROM Account a LEFT JOIN a.employee e LEFT JOIN e.department d
+            """;
 }
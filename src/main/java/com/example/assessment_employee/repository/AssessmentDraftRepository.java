@@ -0,0 +1,23 @@
+package com.example.assessment_employee.repository;
+
+import com.example.assessment_employee.entity.AssessmentDraft;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface AssessmentDraftRepository extends JpaRepository<AssessmentDraft, Long>, AssessmentDraftUpsertRepository {
+
+    Optional<AssessmentDraft> findByAssessorIdAndEmployeeIdAndCriteriaFormId(long assessorId, long employeeId, long criteriaFormId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AssessmentDraft d WHERE d.assessorId = :assessorId AND d.employeeId = :employeeId AND d.criteriaFormId = :criteriaFormId")
+    int deleteDraft(@Param("assessorId") long assessorId, @Param("employeeId") long employeeId,
+                    @Param("criteriaFormId") long criteriaFormId);
+}
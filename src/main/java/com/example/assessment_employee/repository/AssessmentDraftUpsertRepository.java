@@ -0,0 +1,14 @@
+package com.example.assessment_employee.repository;
+
+import com.example.assessment_employee.entity.AssessmentDraft;
+
+import java.util.List;
+
+/**
+ * Ghi một lô bản nháp bằng JDBC batch INSERT ... ON DUPLICATE KEY UPDATE trên khóa
+ * (assessor_id, employee_id, criteria_form_id)
+ */
+public interface AssessmentDraftUpsertRepository {
+
+    void upsertDrafts(List<AssessmentDraft> drafts);
+}
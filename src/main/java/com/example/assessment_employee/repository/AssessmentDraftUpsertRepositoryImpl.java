@@ -0,0 +1,34 @@
+package com.example.assessment_employee.repository;
+
+import com.example.assessment_employee.entity.AssessmentDraft;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class AssessmentDraftUpsertRepositoryImpl implements AssessmentDraftUpsertRepository {
+
+    // Khớp hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertDrafts(List<AssessmentDraft> drafts) {
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO assessment_draft (assessor_id, employee_id, criteria_form_id, comment, answers, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON DUPLICATE KEY UPDATE comment = VALUES(comment), answers = VALUES(answers), updated_at = VALUES(updated_at)
+                        """,
+                drafts, BATCH_SIZE, (statement, draft) -> {
+                    statement.setLong(1, draft.getAssessorId());
+                    statement.setLong(2, draft.getEmployeeId());
+                    statement.setLong(3, draft.getCriteriaFormId());
+                    statement.setString(4, draft.getComment());
+                    statement.setString(5, draft.getAnswers());
+                    statement.setTimestamp(6, Timestamp.valueOf(draft.getUpdatedAt()));
+                });
+    }
+}
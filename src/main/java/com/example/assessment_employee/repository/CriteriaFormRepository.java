@@ -1,11 +1,22 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.FormQuestionCountRow;
+import com.example.assessment_employee.dto.projection.InboxFormRow;
+import com.example.assessment_employee.dto.projection.PublishedDefinitionRow;
+import com.example.assessment_employee.dto.projection.PublishedFormRow;
+import com.example.assessment_employee.dto.projection.SearchRow;
 import com.example.assessment_employee.entity.CriteriaForm;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,28 +28,29 @@ public interface CriteriaFormRepository extends JpaRepository<CriteriaForm, Long
      * @param evaluationCycleId the evaluation cycle ID to search for
      * @return List<CriteriaForm>
      */
-    List<CriteriaForm> findByEvaluationCycleId(String evaluationCycleId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CriteriaForm> findByEvaluationCycleId(Long evaluationCycleId);
     
     /**
      * Find criteria form by name
      * @param criteriaFormName the criteria form name to search for
      * @return Optional<CriteriaForm>
      */
-    Optional<CriteriaForm> findByCriteriaFormName(String criteriaFormName);
+    @Query("SELECT cf FROM CriteriaForm cf WHERE cf.criteriaFormName = :criteriaFormName AND cf.supersededById IS NULL")
+    Optional<CriteriaForm> findByCriteriaFormName(@Param("criteriaFormName") String criteriaFormName);
     
     /**
-     * Find criteria forms by name containing keyword
-     * @param keyword the keyword to search for
-     * @return List<CriteriaForm>
+     * Tên các biểu mẫu hiện hành (version mới nhất), để nạp SearchIndex
+     * @return List<SearchRow>
      */
-    @Query("SELECT cf FROM CriteriaForm cf WHERE LOWER(cf.criteriaFormName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<CriteriaForm> searchByCriteriaFormName(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(cf.criteriaFormId, cf.criteriaFormName) FROM CriteriaForm cf WHERE cf.supersededById IS NULL")
+    List<SearchRow> findSearchRows();
     
     /**
      * Find criteria forms with evaluation criteria
      * @return List<CriteriaForm>
      */
-    @Query("SELECT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria")
+    @Query("SELECT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria WHERE cf.supersededById IS NULL")
     List<CriteriaForm> findAllWithEvaluationCriteria();
     
     /**
@@ -54,15 +66,16 @@ public interface CriteriaFormRepository extends JpaRepository<CriteriaForm, Long
      * @param evaluationCycleId the evaluation cycle ID
      * @return List<CriteriaForm>
      */
-    @Query("SELECT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria WHERE cf.evaluationCycleId = :evaluationCycleId")
-    List<CriteriaForm> findByEvaluationCycleIdWithCriteria(@Param("evaluationCycleId") String evaluationCycleId);
+    @Query("SELECT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria WHERE cf.evaluationCycleId = :evaluationCycleId AND cf.supersededById IS NULL")
+    List<CriteriaForm> findByEvaluationCycleIdWithCriteria(@Param("evaluationCycleId") Long evaluationCycleId);
     
     /**
      * Check if criteria form name exists
      * @param criteriaFormName the criteria form name to check
      * @return boolean
      */
-    boolean existsByCriteriaFormName(String criteriaFormName);
+    @Query("SELECT COUNT(cf) > 0 FROM CriteriaForm cf WHERE cf.criteriaFormName = :criteriaFormName AND cf.supersededById IS NULL")
+    boolean existsByCriteriaFormName(@Param("criteriaFormName") String criteriaFormName);
     
     /**
      * Check if criteria form exists for evaluation cycle
@@ -70,27 +83,123 @@ public interface CriteriaFormRepository extends JpaRepository<CriteriaForm, Long
      * @param criteriaFormName the criteria form name
      * @return boolean
      */
-    boolean existsByEvaluationCycleIdAndCriteriaFormName(String evaluationCycleId, String criteriaFormName);
+    @Query("SELECT COUNT(cf) > 0 FROM CriteriaForm cf WHERE cf.evaluationCycleId = :evaluationCycleId AND cf.criteriaFormName = :criteriaFormName AND cf.supersededById IS NULL")
+    boolean existsByEvaluationCycleIdAndCriteriaFormName(@Param("evaluationCycleId") Long evaluationCycleId,
+                                                         @Param("criteriaFormName") String criteriaFormName);
     
     /**
      * Count criteria forms by evaluation cycle ID
      * @param evaluationCycleId the evaluation cycle ID
      * @return long
      */
-    long countByEvaluationCycleId(String evaluationCycleId);
+    long countByEvaluationCycleId(Long evaluationCycleId);
     
     /**
      * Find criteria forms that contain specific evaluation criteria
      * @param criteriaId the evaluation criteria ID
      * @return List<CriteriaForm>
      */
-    @Query("SELECT cf FROM CriteriaForm cf JOIN cf.evaluationCriteria ec WHERE ec.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT cf FROM CriteriaForm cf JOIN cf.evaluationCriteria ec WHERE ec.evaluationCriteriaId = :criteriaId AND cf.supersededById IS NULL")
     List<CriteriaForm> findByCriteriaId(@Param("criteriaId") Long criteriaId);
     
     /**
      * Find criteria forms with full details (criteria and their questions)
      * @return List<CriteriaForm>
      */
-    @Query("SELECT DISTINCT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria")
+    @Query("SELECT DISTINCT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria ec LEFT JOIN FETCH ec.evaluationQuestions WHERE cf.supersededById IS NULL")
     List<CriteriaForm> findAllWithFullDetails();
+
+    /**
+     * Find criteria form by ID with criteria and their questions in one query
+     * @param criteriaFormId the criteria form ID
+     * @return Optional<CriteriaForm>
+     */
+    @Query("SELECT DISTINCT cf FROM CriteriaForm cf LEFT JOIN FETCH cf.evaluationCriteria ec LEFT JOIN FETCH ec.evaluationQuestions WHERE cf.criteriaFormId = :criteriaFormId")
+    Optional<CriteriaForm> findByIdWithFullDetails(@Param("criteriaFormId") Long criteriaFormId);
+
+    /**
+     * Find current (not superseded) criteria forms with pagination
+     * @param pageable the page request
+     * @return Page<CriteriaForm>
+     */
+    Page<CriteriaForm> findBySupersededByIdIsNull(Pageable pageable);
+
+    /**
+     * Find current forms of a cycle that are not published yet
+     * @param evaluationCycleId the evaluation cycle ID
+     * @return List<CriteriaForm>
+     */
+    List<CriteriaForm> findByEvaluationCycleIdAndPublishedAtIsNullAndSupersededByIdIsNull(Long evaluationCycleId);
+
+    /**
+     * Find unpublished forms containing a criteria that must already be immutable
+     * (cycle no longer DRAFT, or assessments submitted against the form)
+     * @param criteriaId the evaluation criteria ID
+     * @return List<CriteriaForm>
+     */
+    @Query("""
+            SELECT cf FROM CriteriaForm cf JOIN cf.evaluationCriteria ec
+            WHERE ec.evaluationCriteriaId = :criteriaId AND cf.publishedAt IS NULL
+              AND (EXISTS (SELECT 1 FROM EvaluationCycles c WHERE c.evaluationCycleId = cf.evaluationCycleId AND c.status <> 'DRAFT')
+                   OR EXISTS (SELECT 1 FROM SummaryAssessment sa WHERE sa.criteriaFormId = cf.criteriaFormId))
+            """)
+    List<CriteriaForm> findLockedUnpublishedByCriteriaId(@Param("criteriaId") Long criteriaId);
+
+    /**
+     * Check if any published form version contains the criteria
+     * @param criteriaId the evaluation criteria ID
+     * @return boolean
+     */
+    @Query("SELECT COUNT(cf) > 0 FROM CriteriaForm cf JOIN cf.evaluationCriteria ec WHERE ec.evaluationCriteriaId = :criteriaId AND cf.publishedAt IS NOT NULL")
+    boolean existsPublishedByCriteriaId(@Param("criteriaId") Long criteriaId);
+
+    /**
+     * Số câu hỏi chưa ngừng dùng của các bản nháp (nạp CompletionTracker). Version đã phát hành không đếm qua
+     * tiêu chí hiện tại: bộ câu hỏi của chúng nằm trong publishedDefinition ({@link #findPublishedFormRows()})
+     * @return List<FormQuestionCountRow>
+     */
+    @Query("""
+            SELECT new com.example.assessment_employee.dto.projection.FormQuestionCountRow(
+                cf.criteriaFormId, cf.evaluationCycleId, COUNT(eq))
+            FROM CriteriaForm cf LEFT JOIN cf.evaluationCriteria ec LEFT JOIN ec.evaluationQuestions eq ON eq.retiredAt IS NULL
+            WHERE cf.publishedAt IS NULL
+            GROUP BY cf.criteriaFormId, cf.evaluationCycleId
+            """)
+    List<FormQuestionCountRow> findQuestionCountRows();
+
+    /**
+     * Mọi version đã phát hành, kể cả version cũ (nạp CompletionTracker)
+     * @return List<PublishedFormRow>
+     */
+    @Query("""
+            SELECT new com.example.assessment_employee.dto.projection.PublishedFormRow(
+                cf.criteriaFormId, cf.evaluationCycleId, cf.publishedAt)
+            FROM CriteriaForm cf WHERE cf.publishedAt IS NOT NULL
+            """)
+    List<PublishedFormRow> findPublishedFormRows();
+
+    /**
+     * Định nghĩa đóng băng của các version đã phát hành
+     * @param criteriaFormIds the criteria form IDs
+     * @return List<PublishedDefinitionRow>
+     */
+    @Query("""
+            SELECT new com.example.assessment_employee.dto.projection.PublishedDefinitionRow(
+                cf.criteriaFormId, cf.publishedAt, cf.publishedDefinition)
+            FROM CriteriaForm cf WHERE cf.criteriaFormId IN :criteriaFormIds AND cf.publishedAt IS NOT NULL
+            """)
+    List<PublishedDefinitionRow> findPublishedDefinitionRows(@Param("criteriaFormIds") Collection<Long> criteriaFormIds);
+
+    /**
+     * Biểu mẫu hiện hành của các chu kỳ ACTIVE có phòng ban (nạp AssessorInbox)
+     * @return List<InboxFormRow>
+     */
+    @Query("""
+            SELECT new com.example.assessment_employee.dto.projection.InboxFormRow(
+                cf.criteriaFormId, cf.criteriaFormName, ec.evaluationCycleId, ec.department.departmentId, ec.endDate)
+            FROM CriteriaForm cf JOIN EvaluationCycles ec ON ec.evaluationCycleId = cf.evaluationCycleId
+            WHERE ec.status = 'ACTIVE' AND ec.department IS NOT NULL AND cf.supersededById IS NULL
+            ORDER BY ec.endDate, cf.criteriaFormId
+            """)
+    List<InboxFormRow> findInboxFormRows();
 }
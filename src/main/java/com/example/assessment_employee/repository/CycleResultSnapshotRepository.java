@@ -0,0 +1,42 @@
+package com.example.assessment_employee.repository;
+
+import com.example.assessment_employee.entity.CycleResultSnapshot;
+import com.example.assessment_employee.enums.SnapshotScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CycleResultSnapshotRepository extends JpaRepository<CycleResultSnapshot, Long> {
+
+    /**
+     * Check if a snapshot was already taken for the cycle
+     * @param evaluationCycleId the cycle ID
+     * @return boolean
+     */
+    boolean existsByEvaluationCycleId(Long evaluationCycleId);
+
+    /**
+     * Find snapshot rows of a cycle for one scope, ordered by ranking
+     * @param evaluationCycleId the cycle ID
+     * @param scope the snapshot scope
+     * @return List<CycleResultSnapshot>
+     */
+    @Query("SELECT s FROM CycleResultSnapshot s WHERE s.evaluationCycleId = :evaluationCycleId AND s.scope = :scope ORDER BY s.ranking")
+    List<CycleResultSnapshot> findByCycleAndScope(@Param("evaluationCycleId") Long evaluationCycleId,
+                                                   @Param("scope") SnapshotScope scope);
+
+    /**
+     * Find snapshot rows of one scope by referenced IDs (e.g. assessment IDs of a history page)
+     * @param scope the snapshot scope
+     * @param refIds the referenced IDs
+     * @return List<CycleResultSnapshot>
+     */
+    @Query("SELECT s FROM CycleResultSnapshot s WHERE s.scope = :scope AND s.refId IN :refIds")
+    List<CycleResultSnapshot> findByScopeAndRefIds(@Param("scope") SnapshotScope scope,
+                                                    @Param("refIds") Collection<Long> refIds);
+}
@@ -1,8 +1,15 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.DepartmentRow;
+import com.example.assessment_employee.dto.projection.SearchRow;
 import com.example.assessment_employee.entity.Department;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,15 +24,15 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      * @param managerCode the manager code to search for
      * @return Optional<Department>
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByManagerCode(String managerCode);
     
     /**
-     * Find departments by department name containing keyword
-     * @param keyword the keyword to search for
-     * @return List<Department>
+     * Tên mọi phòng ban, để nạp SearchIndex
+     * @return List<SearchRow>
      */
-    @Query("SELECT d FROM Department d WHERE LOWER(d.departmentName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Department> searchByDepartmentName(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(d.departmentId, d.departmentName) FROM Department d")
+    List<SearchRow> findSearchRows();
     
     /**
      * Find department by exact name
@@ -53,6 +60,7 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      * @return List<Department>
      */
     @Query("SELECT d FROM Department d")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Department> findAllBasic();
     
     /**
@@ -84,4 +92,23 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      * @return boolean
      */
     boolean existsByManagerCode(String managerCode);
+
+    /**
+     * Danh sách phòng ban dạng projection (nhân viên và chu kỳ lấy bằng truy vấn riêng)
+     * @return List<DepartmentRow>
+     */
+    @Query(DEPARTMENT_ROW_SELECT)
+    List<DepartmentRow> findAllRows();
+
+    /**
+     * Danh sách phòng ban dạng projection, phân trang
+     * @param pageable the pagination information
+     * @return Page<DepartmentRow>
+     */
+    @Query(value = DEPARTMENT_ROW_SELECT, countQuery = "SELECT COUNT(d) FROM Department d")
+    Page<DepartmentRow> findAllRows(Pageable pageable);
+
+    String DEPARTMENT_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.DepartmentRow(d.departmentId, d.departmentName, d.managerCode)
+            FROM Department d""";
 }
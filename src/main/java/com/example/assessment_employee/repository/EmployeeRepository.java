@@ -1,12 +1,18 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.DepartmentEmployeeRow;
+import com.example.assessment_employee.dto.projection.EmployeeRow;
+import com.example.assessment_employee.dto.projection.SearchRow;
 import com.example.assessment_employee.entity.Employee;
 import com.example.assessment_employee.entity.Department;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -79,12 +85,19 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findAllWithFullInfo();
     
     /**
-     * Search employees by fullname containing keyword
-     * @param keyword the keyword to search for
-     * @return List<Employee>
+     * Họ tên mọi nhân viên, để nạp SearchIndex
+     * @return List<SearchRow>
+     */
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(e.code, e.fullName) FROM Employee e")
+    List<SearchRow> findSearchRows();
+
+    /**
+     * Họ tên của các nhân viên cho trước (một trang danh sách tiến độ đánh giá)
+     * @param codes the employee codes
+     * @return List<SearchRow>
      */
-    @Query("SELECT e FROM Employee e WHERE LOWER(e.fullName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Employee> searchByFullName(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(e.code, e.fullName) FROM Employee e WHERE e.code IN :codes")
+    List<SearchRow> findSearchRowsByCodes(@Param("codes") Collection<Long> codes);
     
     /**
      * Find employees by department and staff type
@@ -106,5 +119,46 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 """)
     List<Employee> findDistinctEvaluatedEmployees();
 
+    /**
+     * Danh sách nhân viên dạng projection: chỉ các cột của EmployeeResponse, không qua persistence context
+     * @return List<EmployeeRow>
+     */
+    @Query(EMPLOYEE_ROW_SELECT)
+    List<EmployeeRow> findAllRows();
+
+    /**
+     * Danh sách nhân viên dạng projection, phân trang
+     * @param pageable the pagination information
+     * @return Page<EmployeeRow>
+     */
+    @Query(value = EMPLOYEE_ROW_SELECT, countQuery = "SELECT COUNT(e) FROM Employee e")
+    Page<EmployeeRow> findAllRows(Pageable pageable);
+
+    /**
+     * Nhân viên của tất cả phòng ban (cho DepartmentResponse)
+     * @return List<DepartmentEmployeeRow>
+     */
+    @Query(DEPARTMENT_EMPLOYEE_ROW_SELECT + " WHERE e.department IS NOT NULL ORDER BY e.code")
+    List<DepartmentEmployeeRow> findDepartmentEmployeeRows();
+
+    /**
+     * Nhân viên của các phòng ban cho trước (cho một trang DepartmentResponse)
+     * @param departmentIds the department IDs
+     * @return List<DepartmentEmployeeRow>
+     */
+    @Query(DEPARTMENT_EMPLOYEE_ROW_SELECT + " WHERE e.department.departmentId IN :departmentIds ORDER BY e.code")
+    List<DepartmentEmployeeRow> findDepartmentEmployeeRows(@Param("departmentIds") List<Long> departmentIds);
+
+    String EMPLOYEE_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.EmployeeRow(
+                e.code, e.fullName, e.division, e.basic, e.staffType, e.startDate, e.type,
+                a.id, a.username, a.role, a.status,
+                d.departmentId, d.departmentName, d.managerCode)
+            FROM Employee e LEFT JOIN e.account a LEFT JOIN e.department d
+            """;
 
+    String DEPARTMENT_EMPLOYEE_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.DepartmentEmployeeRow(
+                e.department.departmentId, e.code, e.fullName, e.division, e.staffType, e.type)
+            FROM Employee e""";
 }
@@ -1,5 +1,6 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.CompletionRow;
 import com.example.assessment_employee.dto.response.CriteriaAverageResponse;
 import com.example.assessment_employee.dto.response.CriteriaEmployeeResponse;
 import com.example.assessment_employee.entity.EvaluationAnswers;
@@ -11,8 +12,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface EvaluationAnswersRepository extends JpaRepository<EvaluationAnswers, Long> {
@@ -38,19 +40,19 @@ public interface EvaluationAnswersRepository extends JpaRepository<EvaluationAns
 
     /**
      * Find top 5 employees by average score
+     * Một dòng cho mỗi nhân viên: bản đánh giá điểm cao nhất, hòa điểm thì lấy bản mới nhất (ID lớn nhất)
      */
-    @Query("SELECT e.fullName, e.staffType, d.departmentName, ea.summaryAssessment.sentiment," +
-            " ea.summaryAssessment.averageScore AS avgScore " +
-            "FROM EvaluationAnswers ea " +
-            "JOIN ea.summaryAssessment.employee e " +
+    @Query("SELECT e.fullName, e.staffType, d.departmentName, sa.sentiment, sa.averageScore AS avgScore " +
+            "FROM SummaryAssessment sa " +
+            "JOIN sa.employee e " +
             "JOIN e.department d " +
-            "GROUP BY e.code, e.fullName, e.staffType, d.departmentName " +
-            "ORDER BY ea.summaryAssessment.averageScore DESC")
+            "WHERE sa.summaryAssessmentId = (SELECT MAX(sa2.summaryAssessmentId) FROM SummaryAssessment sa2 " +
+            "WHERE sa2.employee = e AND sa2.averageScore = " +
+            "(SELECT MAX(sa3.averageScore) FROM SummaryAssessment sa3 WHERE sa3.employee = e)) " +
+            "ORDER BY sa.averageScore DESC, e.code " +
+            "LIMIT 5")
     List<Object[]> findTop5Employees();
 
-    @Query("SELECT ea FROM EvaluationAnswers ea WHERE ea.summaryAssessment.summaryAssessmentId = :summaryAssessmentId AND ea.question.evaluationQuestionId = :questionId")
-    Optional<EvaluationAnswers> findBySummaryAssessmentIdAndQuestionId(@Param("summaryAssessmentId") Long summaryAssessmentId, @Param("questionId") Long questionId);
-
     /**
      * Fetch average scores by criteria for a specific employee
      */
@@ -59,7 +61,7 @@ public interface EvaluationAnswersRepository extends JpaRepository<EvaluationAns
      */
     @Query(value = """
     SELECT ec.criteria_name AS criteria,
-           sum(COALESCE(ea.total_score, 0))/count(cf.criteria_form) AS averageScore
+           AVG(COALESCE(ea.total_score, 0)) AS averageScore
     FROM evaluation_answers ea
     JOIN summary_assessment sa ON ea.summary_assessment_id = sa.summary_assessment_id
     JOIN criteria_form cf ON sa.criteria_form_id = cf.criteria_form_id
@@ -72,8 +74,8 @@ public interface EvaluationAnswersRepository extends JpaRepository<EvaluationAns
     ORDER BY ec.criteria_name
     """, nativeQuery = true)
     List<Object[]> getAverageScoreByCriteria(
-            @Param("startDate") String startDate,
-            @Param("endDate") String endDate
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
     );
 
     @Query("SELECT new com.example.assessment_employee.dto.response.CriteriaEmployeeResponse(" +
@@ -98,5 +100,39 @@ public interface EvaluationAnswersRepository extends JpaRepository<EvaluationAns
      */
     @Query("SELECT COUNT(ea) FROM EvaluationAnswers ea WHERE ea.summaryAssessment.summaryAssessmentId = :summaryAssessmentId")
     int countBySummaryAssessmentId(@Param("summaryAssessmentId") Long summaryAssessmentId);
-  
+
+    /**
+     * Find evaluation answers of several summary assessments with question and criteria
+     */
+    @Query("SELECT ea FROM EvaluationAnswers ea JOIN FETCH ea.question q JOIN FETCH q.evaluationCriteria " +
+            "WHERE ea.summaryAssessment.summaryAssessmentId IN :summaryAssessmentIds")
+    List<EvaluationAnswers> findBySummaryAssessmentIdsWithCriteria(@Param("summaryAssessmentIds") Collection<Long> summaryAssessmentIds);
+
+    /**
+     * Check if any answer references the question
+     */
+    @Query("SELECT COUNT(ea) > 0 FROM EvaluationAnswers ea WHERE ea.question.evaluationQuestionId = :questionId")
+    boolean existsByQuestionId(@Param("questionId") Long questionId);
+
+    /**
+     * Số câu đã trả lời của mọi bản đánh giá (nạp CompletionTracker)
+     */
+    @Query(COMPLETION_ROW_SELECT + " GROUP BY s.summaryAssessmentId, s.employee.code, s.criteriaFormId")
+    List<CompletionRow> findCompletionRows();
+
+    /**
+     * Số câu đã trả lời của một bản đánh giá (cập nhật CompletionTracker sau khi nộp)
+     */
+    @Query(COMPLETION_ROW_SELECT + " WHERE s.summaryAssessmentId = :summaryAssessmentId"
+            + " GROUP BY s.summaryAssessmentId, s.employee.code, s.criteriaFormId")
+    List<CompletionRow> findCompletionRows(@Param("summaryAssessmentId") Long summaryAssessmentId);
+
+    // Một vai trò đã chấm câu hỏi khi cột điểm của vai trò > 0 (cùng quy ước với EvaluationAnswers.totalScoreSql)
+    String COMPLETION_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.CompletionRow(
+                s.employee.code, s.criteriaFormId, COUNT(ea),
+                SUM(CASE WHEN ea.totalScoreByEmployee > 0 THEN 1 ELSE 0 END),
+                SUM(CASE WHEN ea.totalScoreByManager > 0 THEN 1 ELSE 0 END),
+                SUM(CASE WHEN ea.totalScoreBySupervision > 0 THEN 1 ELSE 0 END))
+            FROM EvaluationAnswers ea JOIN ea.summaryAssessment s""";
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.SearchRow;
 import com.example.assessment_employee.entity.EvaluationCriteria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,12 +24,11 @@ public interface EvaluationCriteriaRepository extends JpaRepository<EvaluationCr
     Optional<EvaluationCriteria> findByCriteriaName(String criteriaName);
     
     /**
-     * Find evaluation criteria by name containing keyword
-     * @param keyword the keyword to search for
-     * @return List<EvaluationCriteria>
+     * Tên mọi tiêu chí, để nạp SearchIndex
+     * @return List<SearchRow>
      */
-    @Query("SELECT ec FROM EvaluationCriteria ec WHERE LOWER(ec.criteriaName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<EvaluationCriteria> searchByCriteriaName(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(ec.evaluationCriteriaId, ec.criteriaName) FROM EvaluationCriteria ec")
+    List<SearchRow> findSearchRows();
     
     /**
      * Find evaluation criteria with questions
@@ -54,21 +57,21 @@ public interface EvaluationCriteriaRepository extends JpaRepository<EvaluationCr
      * @param criteriaId the criteria ID
      * @return long
      */
-    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId AND eq.retiredAt IS NULL")
     long countQuestionsByCriteriaId(@Param("criteriaId") Long criteriaId);
     
     /**
      * Find criteria that have questions
      * @return List<EvaluationCriteria>
      */
-    @Query("SELECT DISTINCT ec FROM EvaluationCriteria ec WHERE EXISTS (SELECT 1 FROM EvaluationQuestions eq WHERE eq.evaluationCriteria = ec)")
+    @Query("SELECT DISTINCT ec FROM EvaluationCriteria ec WHERE EXISTS (SELECT 1 FROM EvaluationQuestions eq WHERE eq.evaluationCriteria = ec AND eq.retiredAt IS NULL)")
     List<EvaluationCriteria> findCriteriaWithQuestions();
     
     /**
      * Find criteria that have no questions
      * @return List<EvaluationCriteria>
      */
-    @Query("SELECT ec FROM EvaluationCriteria ec WHERE NOT EXISTS (SELECT 1 FROM EvaluationQuestions eq WHERE eq.evaluationCriteria = ec)")
+    @Query("SELECT ec FROM EvaluationCriteria ec WHERE NOT EXISTS (SELECT 1 FROM EvaluationQuestions eq WHERE eq.evaluationCriteria = ec AND eq.retiredAt IS NULL)")
     List<EvaluationCriteria> findCriteriaWithoutQuestions();
     
     /**
@@ -91,5 +94,6 @@ public interface EvaluationCriteriaRepository extends JpaRepository<EvaluationCr
      * @return List<EvaluationCriteria>
      */
     @Query("SELECT ec FROM EvaluationCriteria ec WHERE ec.evaluationCriteriaId IN :criteriaIds")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationCriteria> findByCriteriaIds(@Param("criteriaIds") List<Long> criteriaIds);
 }
@@ -1,12 +1,17 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.DepartmentCycleRow;
 import com.example.assessment_employee.entity.EvaluationCycles;
 import com.example.assessment_employee.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +31,7 @@ public interface EvaluationCyclesRepository extends JpaRepository<EvaluationCycl
      * @return List<EvaluationCycles>
      */
     @Query("SELECT ec FROM EvaluationCycles ec WHERE ec.department.departmentId = :departmentId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationCycles> findByDepartmentId(@Param("departmentId") Long departmentId);
     
     /**
@@ -33,6 +39,7 @@ public interface EvaluationCyclesRepository extends JpaRepository<EvaluationCycl
      * @param status the status to search for
      * @return List<EvaluationCycles>
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationCycles> findByStatus(String status);
     
     /**
@@ -57,6 +64,7 @@ public interface EvaluationCyclesRepository extends JpaRepository<EvaluationCycl
      * @return List<EvaluationCycles>
      */
     @Query("SELECT ec FROM EvaluationCycles ec WHERE ec.status = 'ACTIVE'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationCycles> findActiveCycles();
     
     /**
@@ -94,6 +102,7 @@ public interface EvaluationCyclesRepository extends JpaRepository<EvaluationCycl
      * @return List<EvaluationCycles>
      */
     @Query("SELECT ec FROM EvaluationCycles ec WHERE ec.department.departmentId = :departmentId AND ec.status = 'ACTIVE'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationCycles> findActiveCyclesByDepartmentId(@Param("departmentId") Long departmentId);
     
     /**
@@ -103,5 +112,34 @@ public interface EvaluationCyclesRepository extends JpaRepository<EvaluationCycl
      * @return List<EvaluationCycles>
      */
     @Query("SELECT ec FROM EvaluationCycles ec WHERE ec.startDate >= :startDate AND ec.endDate <= :endDate")
-    List<EvaluationCycles> findByDateRange(@Param("startDate") String startDate, @Param("endDate") String endDate);
+    List<EvaluationCycles> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Find cycles with exactly the given start and end date
+     * @param startDate the start date
+     * @param endDate the end date
+     * @return List<EvaluationCycles>
+     */
+    @Query("SELECT ec FROM EvaluationCycles ec WHERE ec.startDate = :startDate AND ec.endDate = :endDate")
+    List<EvaluationCycles> findByStartDateAndEndDate(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Chu kỳ của tất cả phòng ban (cho DepartmentResponse)
+     * @return List<DepartmentCycleRow>
+     */
+    @Query(DEPARTMENT_CYCLE_ROW_SELECT + " WHERE ec.department IS NOT NULL ORDER BY ec.evaluationCycleId")
+    List<DepartmentCycleRow> findDepartmentCycleRows();
+
+    /**
+     * Chu kỳ của các phòng ban cho trước (cho một trang DepartmentResponse)
+     * @param departmentIds the department IDs
+     * @return List<DepartmentCycleRow>
+     */
+    @Query(DEPARTMENT_CYCLE_ROW_SELECT + " WHERE ec.department.departmentId IN :departmentIds ORDER BY ec.evaluationCycleId")
+    List<DepartmentCycleRow> findDepartmentCycleRows(@Param("departmentIds") List<Long> departmentIds);
+
+    String DEPARTMENT_CYCLE_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.DepartmentCycleRow(
+                ec.department.departmentId, ec.evaluationCycleId, ec.startDate, ec.endDate, ec.status)
+            FROM EvaluationCycles ec""";
 }
@@ -1,9 +1,15 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.SearchRow;
 import com.example.assessment_employee.entity.EvaluationQuestions;
 import com.example.assessment_employee.entity.EvaluationCriteria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -25,23 +31,30 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param criteriaId the criteria ID to search for
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId AND eq.retiredAt IS NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationQuestions> findByCriteriaId(@Param("criteriaId") Long criteriaId);
     
     /**
-     * Find questions by question name containing keyword
-     * @param keyword the keyword to search for
-     * @return List<EvaluationQuestions>
+     * Tên các câu hỏi còn dùng, để nạp SearchIndex
+     * @return List<SearchRow>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq WHERE LOWER(eq.questionName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<EvaluationQuestions> searchByQuestionName(@Param("keyword") String keyword);
+    @Query("SELECT new com.example.assessment_employee.dto.projection.SearchRow(eq.evaluationQuestionId, eq.questionName) FROM EvaluationQuestions eq WHERE eq.retiredAt IS NULL")
+    List<SearchRow> findSearchRows();
     
     /**
      * Find questions by max score
      * @param maxScore the max score to search for
      * @return List<EvaluationQuestions>
      */
-    List<EvaluationQuestions> findByMaxScore(Long maxScore);
+    List<EvaluationQuestions> findByMaxScoreAndRetiredAtIsNull(Long maxScore);
+
+    /**
+     * Find current (not retired) questions with pagination
+     * @param pageable the page request
+     * @return Page<EvaluationQuestions>
+     */
+    Page<EvaluationQuestions> findByRetiredAtIsNull(Pageable pageable);
     
     /**
      * Find questions by max score range
@@ -49,14 +62,14 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param maxScore the maximum score
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.maxScore BETWEEN :minScore AND :maxScore")
+    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.maxScore BETWEEN :minScore AND :maxScore AND eq.retiredAt IS NULL")
     List<EvaluationQuestions> findByMaxScoreRange(@Param("minScore") Long minScore, @Param("maxScore") Long maxScore);
     
     /**
      * Find questions with evaluation criteria information
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq LEFT JOIN FETCH eq.evaluationCriteria")
+    @Query("SELECT eq FROM EvaluationQuestions eq LEFT JOIN FETCH eq.evaluationCriteria WHERE eq.retiredAt IS NULL")
     List<EvaluationQuestions> findAllWithCriteria();
     
     /**
@@ -72,7 +85,7 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param criteriaId the criteria ID
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq LEFT JOIN FETCH eq.evaluationCriteria WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT eq FROM EvaluationQuestions eq LEFT JOIN FETCH eq.evaluationCriteria WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId AND eq.retiredAt IS NULL")
     List<EvaluationQuestions> findByCriteriaIdWithCriteria(@Param("criteriaId") Long criteriaId);
     
     /**
@@ -81,7 +94,7 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param criteriaId the criteria ID
      * @return boolean
      */
-    @Query("SELECT COUNT(eq) > 0 FROM EvaluationQuestions eq WHERE eq.questionName = :questionName AND eq.evaluationCriteria.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT COUNT(eq) > 0 FROM EvaluationQuestions eq WHERE eq.questionName = :questionName AND eq.evaluationCriteria.evaluationCriteriaId = :criteriaId AND eq.retiredAt IS NULL")
     boolean existsByQuestionNameAndCriteriaId(@Param("questionName") String questionName, @Param("criteriaId") Long criteriaId);
     
     /**
@@ -89,7 +102,7 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param criteriaId the criteria ID
      * @return long
      */
-    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId")
+    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId = :criteriaId AND eq.retiredAt IS NULL")
     long countByCriteriaId(@Param("criteriaId") Long criteriaId);
     
     /**
@@ -97,21 +110,23 @@ public interface EvaluationQuestionsRepository extends JpaRepository<EvaluationQ
      * @param criteriaIds the list of criteria IDs
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId IN :criteriaIds")
+    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.evaluationCriteria.evaluationCriteriaId IN :criteriaIds AND eq.retiredAt IS NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<EvaluationQuestions> findByCriteriaIds(@Param("criteriaIds") List<Long> criteriaIds);
     
     /**
      * Find questions ordered by criteria and question name
      * @return List<EvaluationQuestions>
      */
-    @Query("SELECT eq FROM EvaluationQuestions eq ORDER BY eq.evaluationCriteria.criteriaName, eq.questionName")
+    @Query("SELECT eq FROM EvaluationQuestions eq WHERE eq.retiredAt IS NULL ORDER BY eq.evaluationCriteria.criteriaName, eq.questionName")
     List<EvaluationQuestions> findAllOrderedByCriteriaAndName();
 
     /**
-     * Count questions by criteria form ID
+     * Count questions by criteria form ID, through the form's current criteria (bản nháp; version đã phát hành
+     * dùng FormDefinitionService.questionCount)
      * @param criteriaFormId the criteria form ID
      * @return int
      */
-    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq JOIN CriteriaForm cf ON eq.evaluationCriteria MEMBER OF cf.evaluationCriteria WHERE cf.criteriaFormId = :criteriaFormId")
+    @Query("SELECT COUNT(eq) FROM EvaluationQuestions eq JOIN CriteriaForm cf ON eq.evaluationCriteria MEMBER OF cf.evaluationCriteria WHERE cf.criteriaFormId = :criteriaFormId AND eq.retiredAt IS NULL")
     int countByCriteriaFormId(@Param("criteriaFormId") Long criteriaFormId);
 }
@@ -1,17 +1,21 @@
 package com.example.assessment_employee.repository;
 
+import com.example.assessment_employee.dto.projection.CommentRow;
 import com.example.assessment_employee.entity.CriteriaForm;
 import com.example.assessment_employee.entity.Employee;
 import com.example.assessment_employee.entity.SummaryAssessment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SummaryAssessmentRepository extends JpaRepository<SummaryAssessment, Long> {
+public interface SummaryAssessmentRepository extends JpaRepository<SummaryAssessment, Long>, SummaryAssessmentUpsertRepository {
     /**
      * Tìm SummaryAssessment dựa trên employee và criteriaForm.
      * @param employee Nhân viên cần tìm.
@@ -24,6 +28,43 @@ public interface SummaryAssessmentRepository extends JpaRepository<SummaryAssess
             @Param("criteriaFormId") long criteriaFormId
     );
 
+    /**
+     * Tìm các SummaryAssessment thuộc các biểu mẫu, kèm nhân viên và phòng ban.
+     * @param criteriaFormIds Danh sách ID biểu mẫu.
+     * @return Danh sách SummaryAssessment.
+     */
+    @Query("SELECT s FROM SummaryAssessment s JOIN FETCH s.employee e LEFT JOIN FETCH e.department WHERE s.criteriaFormId IN :criteriaFormIds")
+    List<SummaryAssessment> findByCriteriaFormIdsWithEmployee(@Param("criteriaFormIds") Collection<Long> criteriaFormIds);
+
+    /**
+     * Kiểm tra biểu mẫu đã có đánh giá nào được nộp chưa.
+     * @param criteriaFormId ID biểu mẫu.
+     * @return true nếu có ít nhất một SummaryAssessment.
+     */
+    boolean existsByCriteriaFormId(long criteriaFormId);
 
+    /**
+     * Các bản đánh giá có bình luận, theo ID tăng dần sau afterId (keyset, để nạp chỉ mục bình luận theo lô).
+     * @param afterId ID cuối cùng của lô trước.
+     * @param pageable Kích thước lô (trang 0).
+     * @return Danh sách CommentRow.
+     */
+    @Query(COMMENT_ROW_SELECT + " WHERE s.summaryAssessmentId > :afterId AND s.comment IS NOT NULL ORDER BY s.summaryAssessmentId")
+    List<CommentRow> findCommentRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Bình luận và trường lọc của các bản đánh giá cho trước.
+     * @param summaryAssessmentIds Danh sách ID bản đánh giá.
+     * @return Danh sách CommentRow.
+     */
+    @Query(COMMENT_ROW_SELECT + " WHERE s.summaryAssessmentId IN :summaryAssessmentIds")
+    List<CommentRow> findCommentRowsByIds(@Param("summaryAssessmentIds") Collection<Long> summaryAssessmentIds);
 
+    String COMMENT_ROW_SELECT = """
+            SELECT new com.example.assessment_employee.dto.projection.CommentRow(
+                s.summaryAssessmentId, s.version, s.comment, s.sentiment, e.code, e.fullName, d.departmentId,
+                s.criteriaFormId, cf.evaluationCycleId)
+            FROM SummaryAssessment s JOIN s.employee e LEFT JOIN e.department d
+            LEFT JOIN CriteriaForm cf ON cf.criteriaFormId = s.criteriaFormId
+            """;
 }
\ No newline at end of file
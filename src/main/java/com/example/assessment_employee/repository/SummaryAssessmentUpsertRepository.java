@@ -0,0 +1,50 @@
+package com.example.assessment_employee.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ghi đánh giá bằng upsert một câu lệnh trên khóa unique (criteria_form_id, employee_id) và
+ * (summary_assessment_id, question_id), không đọc trước: các lần nộp đồng thời của nhân viên,
+ * quản lý và giám sát cho cùng một nhân viên được gộp bởi database thay vì tạo bản ghi trùng.
+ */
+public interface SummaryAssessmentUpsertRepository {
+
+    /**
+     * Cột điểm của từng vai trò người đánh giá
+     */
+    enum ScoreColumn {
+        EMPLOYEE("total_score_by_employee"),
+        MANAGER("total_score_by_manager"),
+        SUPERVISOR("total_score_by_supervision");
+
+        private final String column;
+
+        ScoreColumn(String column) {
+            this.column = column;
+        }
+
+        public String column() {
+            return column;
+        }
+    }
+
+    /**
+     * Điểm của một câu hỏi theo từng vai trò (chỉ các cột được upsert mới được ghi)
+     */
+    record AnswerScores(long questionId, int employeeScore, int managerScore, int supervisorScore) {
+    }
+
+    /**
+     * Tạo hoặc cập nhật bản đánh giá của nhân viên cho biểu mẫu.
+     * @param comment null thì giữ bình luận hiện có
+     * @return ID của bản đánh giá
+     */
+    long upsertSummary(long employeeId, long criteriaFormId, String sentiment, String comment);
+
+    /**
+     * Tạo hoặc cập nhật câu trả lời, chỉ ghi đè các cột điểm của vai trò người đánh giá và tính lại total_score,
+     * rồi cập nhật average_score của bản đánh giá. Một INSERT nhiều dòng cho tất cả câu trả lời.
+     */
+    void upsertAnswers(long summaryAssessmentId, List<AnswerScores> answers, Collection<ScoreColumn> scoredColumns);
+}
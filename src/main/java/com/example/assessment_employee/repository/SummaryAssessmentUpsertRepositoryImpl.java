@@ -0,0 +1,102 @@
+package com.example.assessment_employee.repository;
+
+import com.example.assessment_employee.entity.EvaluationAnswers;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Upsert bằng JdbcTemplate trên connection của transaction JPA hiện tại (JpaTransactionManager chia sẻ
+ * connection với JdbcTemplate). Không qua Hibernate nên không kích hoạt invalidate second-level cache;
+ * hai bảng này không được cache. INSERT ... ON DUPLICATE KEY UPDATE chạy trên MySQL và H2 (MODE=MySQL).
+ */
+@RequiredArgsConstructor
+public class SummaryAssessmentUpsertRepositoryImpl implements SummaryAssessmentUpsertRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long upsertSummary(long employeeId, long criteriaFormId, String sentiment, String comment) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        INSERT INTO summary_assessment (employee_id, criteria_form_id, average_score, sentiment, comment, created_at, updated_at, version)
+                        VALUES (?, ?, 0, ?, ?, ?, ?, 0)
+                        ON DUPLICATE KEY UPDATE sentiment = ?, comment = COALESCE(?, comment), updated_at = ?, version = version + 1
+                        """,
+                employeeId, criteriaFormId, sentiment, comment, now, now,
+                sentiment, comment, now);
+        // Dòng vừa tạo hoặc đã có: cả hai trường hợp đều đọc qua khóa unique
+        return jdbcTemplate.queryForObject(
+                "SELECT summary_assessment_id FROM summary_assessment WHERE criteria_form_id = ? AND employee_id = ?",
+                Long.class, criteriaFormId, employeeId);
+    }
+
+    @Override
+    public void upsertAnswers(long summaryAssessmentId, List<AnswerScores> answers, Collection<ScoreColumn> scoredColumns) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        EnumSet<ScoreColumn> scored = scoredColumns.isEmpty() ? EnumSet.noneOf(ScoreColumn.class) : EnumSet.copyOf(scoredColumns);
+
+        // ID cho dòng mới lấy từ pooled sequence của entity (dòng bị trùng khóa bỏ phí ID, không sao)
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator idGenerator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(EvaluationAnswers.class).getGenerator();
+
+        StringJoiner rows = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(answers.size() * 6);
+        for (AnswerScores answer : answers) {
+            int employeeScore = scored.contains(ScoreColumn.EMPLOYEE) ? answer.employeeScore() : 0;
+            int managerScore = scored.contains(ScoreColumn.MANAGER) ? answer.managerScore() : 0;
+            int supervisorScore = scored.contains(ScoreColumn.SUPERVISOR) ? answer.supervisorScore() : 0;
+
+            rows.add("(?, ?, ?, ?, 0, ?, ?, 0)");
+            args.add(idGenerator.generate(session, null, null, EventType.INSERT));
+            args.add(employeeScore);
+            args.add(managerScore);
+            args.add(supervisorScore);
+            args.add(answer.questionId());
+            args.add(summaryAssessmentId);
+        }
+
+        // Khi trùng khóa chỉ ghi đè cột của vai trò đã chấm (không có cột nào: giữ nguyên dòng) và tăng version,
+        // để bản entity đang giữ ở transaction khác bị từ chối khi ghi (optimistic lock)
+        StringJoiner updates = new StringJoiner(", ");
+        scored.forEach(column -> updates.add(column.column() + " = VALUES(" + column.column() + ")"));
+        if (!scored.isEmpty()) {
+            updates.add("version = version + 1");
+        } else {
+            updates.add("question_id = question_id");
+        }
+
+        jdbcTemplate.update("INSERT INTO evaluation_answers (evaluation_answer_id, total_score_by_employee, total_score_by_manager, "
+                + "total_score_by_supervision, total_score, question_id, summary_assessment_id, version) VALUES " + rows
+                + " ON DUPLICATE KEY UPDATE " + updates, args.toArray());
+
+        // total_score tính sau, từ các cột đã gộp: trong ON DUPLICATE KEY UPDATE, MySQL gán tuần tự còn H2 đọc giá trị cũ
+        // (và không nhận VALUES() bên trong biểu thức), nên không tính chung một câu lệnh được
+        jdbcTemplate.update("UPDATE evaluation_answers SET total_score = " + EvaluationAnswers.totalScoreSql(
+                        ScoreColumn.EMPLOYEE.column(), ScoreColumn.MANAGER.column(), ScoreColumn.SUPERVISOR.column())
+                + " WHERE summary_assessment_id = ?", summaryAssessmentId);
+        jdbcTemplate.update("""
+                UPDATE summary_assessment
+                SET average_score = (SELECT COALESCE(SUM(total_score), 0) FROM evaluation_answers WHERE summary_assessment_id = ?)
+                WHERE summary_assessment_id = ?
+                """, summaryAssessmentId, summaryAssessmentId);
+    }
+}
@@ -12,7 +12,6 @@ import com.example.assessment_employee.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -76,10 +75,8 @@ public class AccountService {
         log.info("Getting all accounts with pagination: page={}, size={}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Account> accountPage = accountRepository.findAll(pageable);
-        List<AccountResponse> responses = accountMapper.toResponseList(accountPage.getContent());
-        
-        return new PageImpl<>(responses, pageable, accountPage.getTotalElements());
+        // Projection: chỉ các cột của response, không tạo entity / proxy lazy
+        return accountRepository.findAllRows(pageable).map(accountMapper::toResponse);
     }
     
     /**
@@ -89,8 +86,7 @@ public class AccountService {
     public List<AccountResponse> getAllAccounts() {
         log.info("Getting all accounts");
         
-        List<Account> accounts = accountRepository.findAllWithEmployee();
-        return accountMapper.toResponseList(accounts);
+        return accountMapper.toResponseListFromRows(accountRepository.findAllRows());
     }
     
     /**
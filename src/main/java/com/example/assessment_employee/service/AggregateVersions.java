@@ -0,0 +1,173 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.entity.Account;
+import com.example.assessment_employee.entity.CriteriaForm;
+import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.entity.Employee;
+import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.entity.EvaluationCycles;
+import com.example.assessment_employee.entity.EvaluationQuestions;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bộ đếm phiên bản cho các danh mục lớn (nhân viên, tài khoản, câu hỏi, phiếu đánh giá), dùng làm ETag.
+ * Mọi thay đổi entity qua Hibernate (kể cả bảng nối many-to-many) tăng version của các aggregate có
+ * chứa entity đó trong response, sau khi transaction commit. Ghi thẳng bằng JDBC phải gọi {@link #bumpAll()}.
+ * Epoch khởi động nằm trong ETag nên version cũ không bao giờ trùng sau khi restart.
+ * ETag được phát dạng weak (W/) vì Tomcat không nén gzip response có strong ETag;
+ * If-None-Match so sánh weak nên 304 vẫn hoạt động như nhau.
+ * Chỉ đúng khi chạy một instance: thay đổi ở instance khác không làm tăng version cục bộ.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateVersions implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    public enum Aggregate {
+        EMPLOYEE, ACCOUNT, EVALUATION_QUESTION, CRITERIA_FORM, FORM_DEFINITION, EVALUATION_CYCLE
+    }
+
+    // Entity -> các aggregate có nhúng dữ liệu của entity đó trong response
+    private static final Map<Class<?>, Set<Aggregate>> AFFECTED = Map.of(
+            Employee.class, EnumSet.of(Aggregate.EMPLOYEE, Aggregate.ACCOUNT),
+            Account.class, EnumSet.of(Aggregate.ACCOUNT, Aggregate.EMPLOYEE),
+            Department.class, EnumSet.of(Aggregate.EMPLOYEE, Aggregate.ACCOUNT),
+            EvaluationQuestions.class, EnumSet.of(Aggregate.EVALUATION_QUESTION, Aggregate.FORM_DEFINITION),
+            EvaluationCriteria.class, EnumSet.of(Aggregate.EVALUATION_QUESTION, Aggregate.CRITERIA_FORM, Aggregate.FORM_DEFINITION),
+            CriteriaForm.class, EnumSet.of(Aggregate.CRITERIA_FORM, Aggregate.FORM_DEFINITION),
+            EvaluationCycles.class, EnumSet.of(Aggregate.EVALUATION_CYCLE));
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @PostConstruct
+    void registerListeners() {
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    /**
+     * ETag (đã có dấu nháy) cho trạng thái hiện tại của aggregate
+     */
+    public String etag(Aggregate aggregate) {
+        return etag(aggregate, version(aggregate));
+    }
+
+    /**
+     * ETag của một version đã đọc trước đó bằng {@link #version(Aggregate)}
+     */
+    public String etag(Aggregate aggregate, long version) {
+        return "W/\"" + aggregate.name().toLowerCase() + "-" + epoch + "-" + version + "\"";
+    }
+
+    public long version(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+
+    public void bumpAll() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        changed(event.getAffectedOwnerOrNull());
+    }
+
+    private void changed(Object entity) {
+        if (entity == null) {
+            return;
+        }
+        Set<Aggregate> affected = AFFECTED.get(Hibernate.getClass(entity));
+        if (affected == null) {
+            return;
+        }
+        // Tăng sau commit: reader không thể gắn version mới cho dữ liệu chưa commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(affected);
+                }
+            });
+        } else {
+            bump(affected);
+        }
+    }
+
+    private void bump(Set<Aggregate> affected) {
+        affected.forEach(aggregate -> versions.get(aggregate).incrementAndGet());
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.request.AssessmentRequest;
+import com.example.assessment_employee.dto.response.AssessmentDraftResponse;
+import com.example.assessment_employee.entity.AssessmentDraft;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import com.example.assessment_employee.repository.AssessmentDraftRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autosave bản nháp đánh giá với bộ đệm write-behind.
+ * Mỗi lần lưu chỉ thay bản nháp trong bộ nhớ theo (người đánh giá, nhân viên, biểu mẫu), nên nhiều lần lưu liên tiếp
+ * được gộp thành một lần ghi; flush định kỳ (flush-ms) ghi các bản nháp đã đổi thành một JDBC batch.
+ * Bộ đệm giới hạn max-entries bản nháp: khi đầy, request lưu flush đồng bộ (backpressure) thay vì tăng bộ nhớ.
+ * Bản nháp còn trong bộ đệm được flush khi tắt ứng dụng; tắt đột ngột mất tối đa một chu kỳ flush.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssessmentDraftService {
+
+    private static final TypeReference<List<AssessmentRequest.AssessmentItem>> ITEMS = new TypeReference<>() {
+    };
+
+    private final AssessmentDraftRepository assessmentDraftRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Bản nháp chưa ghi xuống DB; chỉ bị xóa sau khi đã ghi (remove(key, draft)), nên đọc luôn thấy bản mới nhất
+    private final Map<DraftKey, AssessmentDraft> buffer = new ConcurrentHashMap<>();
+
+    @Value("${app.draft-buffer.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.draft-buffer.max-items:500}")
+    private int maxItems;
+
+    private Counter savedCounter;
+    private Counter flushedCounter;
+
+    private record DraftKey(long assessorId, long employeeId, long criteriaFormId) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("assessment.drafts.buffered", buffer, Map::size).register(meterRegistry);
+        savedCounter = meterRegistry.counter("assessment.drafts.saved");
+        flushedCounter = meterRegistry.counter("assessment.drafts.flushed");
+    }
+
+    /**
+     * Lưu (thay thế) bản nháp; request chứa toàn bộ trạng thái hiện tại của biểu mẫu
+     */
+    public AssessmentDraftResponse saveDraft(AssessmentRequest request) {
+        if (request.getAssessmentItems().size() > maxItems) {
+            throw new AppException(ErrorCode.ASSESSMENT_DRAFT_TOO_LARGE);
+        }
+        DraftKey key = new DraftKey(request.getAssessorId(), request.getEmployeeId(), request.getFormId());
+        AssessmentDraft draft = AssessmentDraft.builder()
+                .assessorId(key.assessorId())
+                .employeeId(key.employeeId())
+                .criteriaFormId(key.criteriaFormId())
+                .comment(request.getComment())
+                .answers(writeItems(request.getAssessmentItems()))
+                .updatedAt(LocalDateTime.now())
+                .build();
+        buffer.put(key, draft);
+        savedCounter.increment();
+
+        if (buffer.size() > maxEntries) {
+            flush();
+            if (buffer.size() > maxEntries) {
+                // Flush lỗi (DB không ghi được): từ chối thay vì để bộ đệm tăng không giới hạn
+                buffer.remove(key, draft);
+                throw new AppException(ErrorCode.ASSESSMENT_DRAFT_BUFFER_FULL);
+            }
+        }
+        return AssessmentDraftResponse.builder()
+                .formId(key.criteriaFormId())
+                .employeeId(key.employeeId())
+                .assessorId(key.assessorId())
+                .comment(draft.getComment())
+                .assessmentItems(request.getAssessmentItems())
+                .updatedAt(draft.getUpdatedAt())
+                .build();
+    }
+
+    public AssessmentDraftResponse getDraft(long formId, long employeeId, long assessorId) {
+        AssessmentDraft draft = buffer.get(new DraftKey(assessorId, employeeId, formId));
+        if (draft == null) {
+            draft = assessmentDraftRepository.findByAssessorIdAndEmployeeIdAndCriteriaFormId(assessorId, employeeId, formId)
+                    .orElseThrow(() -> new AppException(ErrorCode.ASSESSMENT_DRAFT_NOT_FOUND));
+        }
+        return toResponse(draft);
+    }
+
+    /**
+     * Đánh giá đã nộp (sau commit) thay thế bản nháp của người đánh giá đó; transaction mới vì transaction nộp đã kết thúc
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public synchronized void onAssessmentSubmitted(AssessmentSubmittedEvent event) {
+        if (event.assessorId() == null) {
+            return;
+        }
+        buffer.remove(new DraftKey(event.assessorId(), event.employeeId(), event.criteriaFormId()));
+        assessmentDraftRepository.deleteDraft(event.assessorId(), event.employeeId(), event.criteriaFormId());
+    }
+
+    /**
+     * Ghi các bản nháp đã đổi; lần lưu mới hơn đến trong lúc ghi được giữ lại cho lượt sau
+     */
+    @Scheduled(fixedDelayString = "${app.draft-buffer.flush-ms:5000}")
+    public synchronized void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<DraftKey, AssessmentDraft>> pending = buffer.entrySet().stream()
+                .map(Map.Entry::copyOf)
+                .toList();
+        try {
+            assessmentDraftRepository.upsertDrafts(pending.stream().map(Map.Entry::getValue).toList());
+        } catch (RuntimeException e) {
+            // Giữ nguyên trong bộ đệm, thử lại ở lượt sau
+            log.warn("Could not flush {} assessment drafts: {}", pending.size(), e.getMessage());
+            return;
+        }
+        pending.forEach(entry -> buffer.remove(entry.getKey(), entry.getValue()));
+        flushedCounter.increment(pending.size());
+        log.debug("Flushed {} assessment drafts", pending.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        int pending = buffer.size();
+        flush();
+        if (!buffer.isEmpty()) {
+            log.error("{} assessment drafts could not be saved on shutdown", buffer.size());
+        } else if (pending > 0) {
+            log.info("Flushed {} assessment drafts on shutdown", pending);
+        }
+    }
+
+    private String writeItems(List<AssessmentRequest.AssessmentItem> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new AppException(ErrorCode.VALIDATION_ERROR);
+        }
+    }
+
+    private AssessmentDraftResponse toResponse(AssessmentDraft draft) {
+        List<AssessmentRequest.AssessmentItem> items;
+        try {
+            items = objectMapper.readValue(draft.getAnswers(), ITEMS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt assessment draft " + draft.getAssessmentDraftId(), e);
+        }
+        return AssessmentDraftResponse.builder()
+                .formId(draft.getCriteriaFormId())
+                .employeeId(draft.getEmployeeId())
+                .assessorId(draft.getAssessorId())
+                .comment(draft.getComment())
+                .assessmentItems(items)
+                .updatedAt(draft.getUpdatedAt())
+                .build();
+    }
+}
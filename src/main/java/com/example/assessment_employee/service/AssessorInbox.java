@@ -0,0 +1,328 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.constants.RoleConstants;
+import com.example.assessment_employee.dto.projection.EmployeeRow;
+import com.example.assessment_employee.dto.projection.InboxFormRow;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.CompletionStatus;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
+import com.example.assessment_employee.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Danh sách việc cần làm của người đánh giá, tính sẵn trong bộ nhớ.
+ * Ma trận phân công lấy từ cùng quy tắc với EvaluationService: mọi nhân viên tự đánh giá (EMPLOYEE), MANAGER và
+ * SUPERVISOR đánh giá các nhân viên khác cùng phòng ban, trên các biểu mẫu hiện hành của chu kỳ ACTIVE của phòng ban.
+ * Với mỗi biểu mẫu và vai trò giữ hai bitmap nhân viên chưa hoàn thành (chưa làm, đang làm), lấy từ
+ * {@link CompletionTracker}; nên lấy inbox của một người chỉ là tra người đánh giá -> phòng ban -> biểu mẫu.
+ * Cập nhật sau mỗi lần nộp (sau CompletionTracker); nạp lại khi nhân viên/tài khoản, biểu mẫu hoặc chu kỳ đổi.
+ * Chỉ đúng khi chạy một instance (giống AggregateVersions).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssessorInbox {
+
+    private static final Set<AssessorRole> ASSESSOR_ROLES = EnumSet.of(AssessorRole.EMPLOYEE, AssessorRole.MANAGER,
+            AssessorRole.SUPERVISOR);
+    // EMPLOYEE: đổi nhân viên, tài khoản (vai trò) hoặc phòng ban
+    private static final List<AggregateVersions.Aggregate> SOURCES = List.of(AggregateVersions.Aggregate.EMPLOYEE,
+            AggregateVersions.Aggregate.FORM_DEFINITION, AggregateVersions.Aggregate.EVALUATION_CYCLE);
+
+    private final CompletionTracker completionTracker;
+    private final EmployeeRepository employeeRepository;
+    private final CriteriaFormRepository criteriaFormRepository;
+    private final AggregateVersions aggregateVersions;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Chỉ thay khi giữ write lock; bitmap bên trong chỉ sửa khi giữ write lock
+    private Snapshot snapshot;
+    // Khác null trong lúc nạp: các lần nộp trong lúc nạp, áp dụng lại vào bản mới
+    private Set<AssessmentSubmittedEvent> changedDuringLoad;
+
+    public record Item(long criteriaFormId, String criteriaFormName, long evaluationCycleId, LocalDate endDate,
+                       AssessorRole role, long employeeId, String employeeName, CompletionStatus status) {
+    }
+
+    /**
+     * Các bản đánh giá người đánh giá còn phải làm (chưa làm hoặc đang làm), theo hạn chu kỳ, biểu mẫu, vai trò và mã
+     * nhân viên; rỗng nếu không có nhân viên với mã này
+     */
+    public Optional<List<Item>> inbox(long assessorId) {
+        Snapshot current = current();
+        lock.readLock().lock();
+        try {
+            Assessor assessor = current.assessors.get(assessorId);
+            if (assessor == null) {
+                return Optional.empty();
+            }
+            int self = Math.toIntExact(assessorId);
+            List<Item> items = new ArrayList<>();
+            for (Assignment assignment : current.byDepartment.getOrDefault(assessor.departmentId(), List.of())) {
+                for (AssessorRole role : assessor.roles()) {
+                    RoaringBitmap pending = assignment.pending.get(role);
+                    RoaringBitmap inProgress = assignment.inProgress.get(role);
+                    if (role == AssessorRole.EMPLOYEE) {
+                        if (pending.contains(self) || inProgress.contains(self)) {
+                            items.add(assignment.item(role, assessorId, current.names.get(assessorId),
+                                    inProgress.contains(self)));
+                        }
+                        continue;
+                    }
+                    RoaringBitmap.or(pending, inProgress).forEach((int employee) -> {
+                        if (employee != self) {
+                            items.add(assignment.item(role, employee, current.names.get((long) employee),
+                                    inProgress.contains(employee)));
+                        }
+                    });
+                }
+            }
+            return Optional.of(items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Đánh giá đã nộp (sau commit, sau khi CompletionTracker đã cập nhật): chuyển nhân viên giữa các bitmap của biểu mẫu.
+     * Transaction mới (primary) vì transaction nộp đã kết thúc.
+     */
+    @TransactionalEventListener
+    @Order(1)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAssessmentSubmitted(AssessmentSubmittedEvent event) {
+        if (event.employeeId() == null || event.criteriaFormId() == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (snapshot == null && changedDuringLoad == null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        apply(List.of(event));
+    }
+
+    private Snapshot current() {
+        long[] versions = versions();
+        Snapshot stale;
+        lock.readLock().lock();
+        try {
+            if (snapshot != null && Arrays.equals(snapshot.versions, versions)) {
+                return snapshot;
+            }
+            stale = snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Đang có luồng khác nạp: dùng tạm bản cũ thay vì chờ
+        if (stale != null && !loadLock.tryLock()) {
+            return stale;
+        }
+        if (stale == null) {
+            loadLock.lock();
+        }
+        try {
+            lock.readLock().lock();
+            try {
+                if (snapshot != null && Arrays.equals(snapshot.versions, versions)) {
+                    return snapshot;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return reload(versions);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot reload(long[] versions) {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot built;
+        try {
+            built = load(versions);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // Thay bản mới và lấy danh sách thay đổi cùng lúc: cập nhật sau đó áp dụng thẳng vào bản mới
+        Set<AssessmentSubmittedEvent> changed;
+        lock.writeLock().lock();
+        try {
+            snapshot = built;
+            changed = changedDuringLoad;
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!changed.isEmpty()) {
+            apply(changed);
+        }
+        return built;
+    }
+
+    private Snapshot load(long[] versions) {
+        long started = System.nanoTime();
+        Snapshot built = new Snapshot(versions);
+        // Đọc primary (không readOnly, transaction riêng kể cả khi được gọi từ request readOnly):
+        // thay đổi vừa commit phải có trong bản nạp
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<InboxFormRow> forms = transaction.execute(status -> {
+            employeeRepository.findAllRows().forEach(built::putEmployee);
+            return criteriaFormRepository.findInboxFormRows();
+        });
+
+        for (InboxFormRow form : forms) {
+            Assignment assignment = new Assignment(form);
+            for (AssessorRole role : ASSESSOR_ROLES) {
+                assignment.pending.put(role, completionTracker.employees(form.evaluationCycleId(), form.criteriaFormId(),
+                        List.of(form.departmentId()), List.of(role), CompletionStatus.PENDING));
+                assignment.inProgress.put(role, completionTracker.employees(form.evaluationCycleId(), form.criteriaFormId(),
+                        List.of(form.departmentId()), List.of(role), CompletionStatus.IN_PROGRESS));
+            }
+            built.byForm.put(form.criteriaFormId(), assignment);
+            built.byDepartment.computeIfAbsent(form.departmentId(), id -> new ArrayList<>()).add(assignment);
+        }
+        log.info("Loaded assessor inbox: {} assessors, {} active forms in {} ms", built.assessors.size(),
+                built.byForm.size(), (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    private void apply(Collection<AssessmentSubmittedEvent> events) {
+        // Trạng thái đọc từ CompletionTracker trước khi giữ write lock (tracker có thể phải nạp lại)
+        List<Update> updates = events.stream()
+                .map(event -> {
+                    Map<AssessorRole, CompletionStatus> statuses = new EnumMap<>(AssessorRole.class);
+                    ASSESSOR_ROLES.forEach(role -> statuses.put(role,
+                            completionTracker.status(event.criteriaFormId(), event.employeeId(), role)));
+                    return new Update(event.criteriaFormId(), event.employeeId(), statuses);
+                })
+                .toList();
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.addAll(events);
+            }
+            if (snapshot != null) {
+                updates.forEach(snapshot::apply);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] versions() {
+        return SOURCES.stream().mapToLong(aggregateVersions::version).toArray();
+    }
+
+    private record Assessor(Long departmentId, Set<AssessorRole> roles) {
+    }
+
+    private record Update(long criteriaFormId, long employeeId, Map<AssessorRole, CompletionStatus> statuses) {
+    }
+
+    private static final class Assignment {
+        final InboxFormRow form;
+        final Map<AssessorRole, RoaringBitmap> pending = new EnumMap<>(AssessorRole.class);
+        final Map<AssessorRole, RoaringBitmap> inProgress = new EnumMap<>(AssessorRole.class);
+
+        Assignment(InboxFormRow form) {
+            this.form = form;
+        }
+
+        Item item(AssessorRole role, long employeeId, String employeeName, boolean started) {
+            return new Item(form.criteriaFormId(), form.criteriaFormName(), form.evaluationCycleId(), form.endDate(),
+                    role, employeeId, employeeName, started ? CompletionStatus.IN_PROGRESS : CompletionStatus.PENDING);
+        }
+    }
+
+    private static final class Snapshot {
+        // Version của SOURCES lúc bắt đầu nạp
+        final long[] versions;
+        final Map<Long, Assessor> assessors = new HashMap<>();
+        final Map<Long, String> names = new HashMap<>();
+        final Map<Long, List<Assignment>> byDepartment = new HashMap<>();
+        final Map<Long, Assignment> byForm = new HashMap<>();
+
+        Snapshot(long[] versions) {
+            this.versions = versions;
+        }
+
+        void putEmployee(EmployeeRow row) {
+            names.put(row.code(), row.fullName());
+            Set<AssessorRole> roles = EnumSet.of(AssessorRole.EMPLOYEE);
+            if (RoleConstants.MANAGER.equals(row.role())) {
+                roles.add(AssessorRole.MANAGER);
+            }
+            if (RoleConstants.SUPERVISOR.equals(row.role())) {
+                roles.add(AssessorRole.SUPERVISOR);
+            }
+            assessors.put(row.code(), new Assessor(row.departmentId(), roles));
+        }
+
+        void apply(Update update) {
+            Assignment assignment = byForm.get(update.criteriaFormId());
+            Assessor employee = assessors.get(update.employeeId());
+            // Biểu mẫu không thuộc chu kỳ ACTIVE, hoặc nhân viên không còn thuộc phòng ban của chu kỳ
+            if (assignment == null || employee == null
+                    || !assignment.form.departmentId().equals(employee.departmentId())) {
+                return;
+            }
+            int code = Math.toIntExact(update.employeeId());
+            update.statuses().forEach((role, status) -> {
+                assignment.pending.get(role).remove(code);
+                assignment.inProgress.get(role).remove(code);
+                if (status == CompletionStatus.PENDING) {
+                    assignment.pending.get(role).add(code);
+                } else if (status == CompletionStatus.IN_PROGRESS) {
+                    assignment.inProgress.get(role).add(code);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.response.AssessorInboxItemResponse;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssessorInboxService {
+
+    private final AssessorInbox assessorInbox;
+
+    /**
+     * Bản đánh giá người đánh giá còn phải làm trong các chu kỳ ACTIVE, lọc theo vai trò (tùy chọn).
+     * Không truy vấn DB khi inbox đã nạp.
+     */
+    public Page<AssessorInboxItemResponse> getInbox(Long assessorId, AssessorRole role, Pageable pageable) {
+        List<AssessorInbox.Item> items = assessorInbox.inbox(assessorId)
+                .orElseThrow(() -> new AppException(ErrorCode.ASSESSOR_NOT_FOUND));
+        if (role != null) {
+            items = items.stream().filter(item -> item.role() == role).toList();
+        }
+        log.debug("Assessor {} has {} pending evaluations", assessorId, items.size());
+
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        List<AssessorInboxItemResponse> content = items.subList(from, to).stream()
+                .map(item -> AssessorInboxItemResponse.builder()
+                        .criteriaFormId(item.criteriaFormId())
+                        .criteriaFormName(item.criteriaFormName())
+                        .evaluationCycleId(item.evaluationCycleId())
+                        .endDate(item.endDate())
+                        .role(item.role())
+                        .employeeId(item.employeeId())
+                        .employeeName(item.employeeName())
+                        .status(item.status())
+                        .build())
+                .toList();
+        return new PageImpl<>(content, pageable, items.size());
+    }
+}
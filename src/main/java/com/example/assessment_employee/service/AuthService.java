@@ -1,5 +1,6 @@
 package com.example.assessment_employee.service;
 
+import com.example.assessment_employee.configuration.ObservabilityConfig;
 import com.example.assessment_employee.dto.request.LoginRequest;
 import com.example.assessment_employee.dto.response.LoginResponse;
 import com.example.assessment_employee.entity.Account;
@@ -9,6 +10,7 @@ import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.AccountMapper;
 import com.example.assessment_employee.repository.AccountRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,6 +31,7 @@ import java.time.temporal.ChronoUnit;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Observed(name = ObservabilityConfig.SERVICE_OBSERVATION)
 public class AuthService {
     
     private final AccountRepository accountRepository;
@@ -0,0 +1,421 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.CommentRow;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
+import com.example.assessment_employee.repository.SummaryAssessmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chỉ mục đảo ngược trên bình luận đánh giá (SummaryAssessment.comment), xếp hạng BM25.
+ * Bình luận được chuẩn hóa bằng {@link TextNormalizer}; term là từng âm tiết và từng cặp âm tiết liền nhau
+ * (tiếng Việt viết từ ghép thành nhiều âm tiết: "trễ hạn" -> "tre", "han", "tre han"), nên cụm từ khớp liền được xếp trên.
+ * Lọc theo chu kỳ, phòng ban (của nhân viên lúc đánh giá được nộp) và cảm xúc khi chấm điểm.
+ * Nạp lần đầu khi cần, cập nhật sau mỗi lần nộp đánh giá; {@link #rebuild()} dựng bản mới từ DB trong khi bản cũ
+ * vẫn phục vụ tìm kiếm, rồi thay thế. Cập nhật so version của SummaryAssessment nên không bị ghi đè bởi dữ liệu cũ hơn.
+ * Chỉ đúng khi chạy một instance (giống AggregateVersions).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final SummaryAssessmentRepository summaryAssessmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.comment-search.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    // Chỉ thay khi giữ write lock
+    private Segment segment;
+    // Khác null trong lúc rebuild: các bản đánh giá đổi trong lúc nạp, áp dụng lại vào bản mới
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Bộ lọc; trường null không lọc
+     */
+    public record Filter(Long evaluationCycleId, Long departmentId, String sentiment) {
+    }
+
+    public record Hit(long summaryAssessmentId, double score) {
+    }
+
+    /**
+     * Các bản đánh giá có bình luận khớp ít nhất một term của truy vấn, điểm BM25 giảm dần
+     */
+    public List<Hit> search(String query, Filter filter) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(terms(TextNormalizer.tokens(query))));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            // null nếu vừa bị invalidate
+            return segment == null ? List.of() : segment.search(terms, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Đánh giá đã nộp (sau commit): đọc lại bình luận đã lưu (upsert giữ bình luận cũ khi request không có) và cập nhật.
+     * Transaction mới (primary) vì transaction nộp đã kết thúc.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAssessmentSubmitted(AssessmentSubmittedEvent event) {
+        if (event.summaryAssessmentId() == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (segment == null && changedDuringRebuild == null) {
+                // Chưa nạp: lần nạp sau đọc được bình luận đã commit
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        apply(List.of(event.summaryAssessmentId()),
+                summaryAssessmentRepository.findCommentRowsByIds(List.of(event.summaryAssessmentId())));
+    }
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ DB; tìm kiếm vẫn dùng bản cũ cho đến khi dựng xong
+     */
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Segment built;
+            try {
+                built = load();
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            // Thay bản mới và lấy danh sách thay đổi cùng lúc: cập nhật sau đó áp dụng thẳng vào bản mới
+            Set<Long> changed;
+            lock.writeLock().lock();
+            try {
+                segment = built;
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!changed.isEmpty()) {
+                List<Long> ids = List.copyOf(changed);
+                apply(ids, summaryAssessmentRepository.findCommentRowsByIds(ids));
+            }
+            return built.liveDocuments;
+        }
+    }
+
+    /**
+     * Bỏ chỉ mục (ghi thẳng bằng JDBC); nạp lại ở lần tìm kiếm sau
+     */
+    public void invalidate() {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                segment = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (segment != null) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (rebuildLock) {
+            lock.readLock().lock();
+            try {
+                if (segment != null) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            rebuild();
+        }
+    }
+
+    private void apply(List<Long> summaryAssessmentIds, List<CommentRow> rows) {
+        Map<Long, CommentRow> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(row.summaryAssessmentId(), row));
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(summaryAssessmentIds);
+            }
+            if (segment == null) {
+                return;
+            }
+            for (Long id : summaryAssessmentIds) {
+                CommentRow row = byId.get(id);
+                if (row == null || row.comment() == null || row.comment().isBlank()) {
+                    segment.remove(id);
+                } else {
+                    segment.put(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Segment load() {
+        long started = System.nanoTime();
+        // Đọc primary (không readOnly, transaction riêng kể cả khi được gọi từ request readOnly):
+        // bình luận vừa commit phải có trong bản dựng
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Segment built = new Segment();
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            List<CommentRow> batch = transaction.execute(status ->
+                    summaryAssessmentRepository.findCommentRowsAfter(after, PageRequest.of(0, loadBatchSize)));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            batch.forEach(built::put);
+            afterId = batch.get(batch.size() - 1).summaryAssessmentId();
+        }
+        log.info("Indexed {} assessment comments ({} terms) in {} ms", built.liveDocuments, built.termIds.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * Âm tiết và cặp âm tiết liền nhau
+     */
+    private static List<String> terms(List<String> syllables) {
+        List<String> terms = new ArrayList<>(syllables.size() * 2);
+        terms.addAll(syllables);
+        for (int i = 0; i + 1 < syllables.size(); i++) {
+            terms.add(syllables.get(i) + " " + syllables.get(i + 1));
+        }
+        return terms;
+    }
+
+    private static final class Document {
+        private final long summaryAssessmentId;
+        private final long version;
+        private final Long evaluationCycleId;
+        private final Long departmentId;
+        private final String sentiment;
+        private final int length;
+        private final int[] termIds;
+
+        private Document(CommentRow row, int length, int[] termIds) {
+            this.summaryAssessmentId = row.summaryAssessmentId();
+            this.version = row.version();
+            this.evaluationCycleId = row.evaluationCycleId();
+            this.departmentId = row.departmentId();
+            this.sentiment = row.sentiment();
+            this.length = length;
+            this.termIds = termIds;
+        }
+
+        boolean matches(Filter filter) {
+            return filter == null
+                    || (filter.evaluationCycleId() == null || filter.evaluationCycleId().equals(evaluationCycleId))
+                    && (filter.departmentId() == null || filter.departmentId().equals(departmentId))
+                    && (filter.sentiment() == null || filter.sentiment().equalsIgnoreCase(sentiment));
+        }
+    }
+
+    /**
+     * Danh sách (ordinal tài liệu, tần suất) của một term; ordinal tăng dần vì chỉ thêm vào cuối
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        // Số tài liệu còn sống chứa term (không tính tài liệu đã bị thay/xóa)
+        private int documentFrequency;
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+
+        void compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Dữ liệu chỉ mục; không tự đồng bộ (CommentSearchIndex giữ lock).
+     * Bình luận sửa lại được thêm thành tài liệu mới, bản cũ đánh dấu xóa; compact khi tài liệu chết chiếm quá nửa.
+     */
+    private static final class Segment {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<Postings> postings = new ArrayList<>();
+        private final List<Document> documents = new ArrayList<>();
+        private final BitSet deleted = new BitSet();
+        private final Map<Long, Integer> ordinalBySummaryId = new HashMap<>();
+        private long totalLength;
+        private int liveDocuments;
+
+        void put(CommentRow row) {
+            Integer existing = ordinalBySummaryId.get(row.summaryAssessmentId());
+            if (existing != null && documents.get(existing).version > row.version()) {
+                return;
+            }
+            remove(row.summaryAssessmentId());
+
+            List<String> terms = terms(TextNormalizer.tokens(row.comment()));
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            for (String term : terms) {
+                int termId = termIds.computeIfAbsent(term, key -> {
+                    postings.add(new Postings());
+                    return postings.size() - 1;
+                });
+                frequencies.merge(termId, 1, Integer::sum);
+            }
+            int ordinal = documents.size();
+            int[] documentTerms = frequencies.keySet().stream().mapToInt(Integer::intValue).toArray();
+            documents.add(new Document(row, terms.size(), documentTerms));
+            frequencies.forEach((termId, frequency) -> postings.get(termId).add(ordinal, frequency));
+            ordinalBySummaryId.put(row.summaryAssessmentId(), ordinal);
+            totalLength += terms.size();
+            liveDocuments++;
+        }
+
+        void remove(long summaryAssessmentId) {
+            Integer ordinal = ordinalBySummaryId.remove(summaryAssessmentId);
+            if (ordinal == null) {
+                return;
+            }
+            Document document = documents.get(ordinal);
+            deleted.set(ordinal);
+            for (int termId : document.termIds) {
+                postings.get(termId).documentFrequency--;
+            }
+            totalLength -= document.length;
+            liveDocuments--;
+            if (deleted.cardinality() > documents.size() / 2) {
+                compact();
+            }
+        }
+
+        List<Hit> search(List<String> terms, Filter filter) {
+            if (liveDocuments == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / liveDocuments;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    continue;
+                }
+                Postings list = postings.get(termId);
+                if (list.documentFrequency == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocuments - list.documentFrequency + 0.5) / (list.documentFrequency + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int ordinal = list.ordinals[i];
+                    if (deleted.get(ordinal)) {
+                        continue;
+                    }
+                    Document document = documents.get(ordinal);
+                    if (!document.matches(filter)) {
+                        continue;
+                    }
+                    int frequency = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * document.length / averageLength);
+                    scores.merge(ordinal, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+            List<Hit> hits = new ArrayList<>(scores.size());
+            scores.forEach((ordinal, score) -> hits.add(new Hit(documents.get(ordinal).summaryAssessmentId, score)));
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(Comparator.comparingLong(Hit::summaryAssessmentId).reversed()));
+            return hits;
+        }
+
+        private void compact() {
+            int[] remap = new int[documents.size()];
+            List<Document> live = new ArrayList<>(liveDocuments);
+            for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+                if (deleted.get(ordinal)) {
+                    remap[ordinal] = -1;
+                } else {
+                    remap[ordinal] = live.size();
+                    live.add(documents.get(ordinal));
+                }
+            }
+            postings.forEach(list -> list.compact(remap));
+            documents.clear();
+            documents.addAll(live);
+            deleted.clear();
+            ordinalBySummaryId.replaceAll((id, ordinal) -> remap[ordinal]);
+        }
+    }
+}
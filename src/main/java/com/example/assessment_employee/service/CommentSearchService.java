@@ -0,0 +1,78 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.CommentRow;
+import com.example.assessment_employee.dto.response.CommentSearchResultResponse;
+import com.example.assessment_employee.repository.SummaryAssessmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommentSearchService {
+
+    private final CommentSearchIndex commentSearchIndex;
+    private final SummaryAssessmentRepository summaryAssessmentRepository;
+
+    /**
+     * Tìm bản đánh giá theo nội dung bình luận (BM25), lọc theo chu kỳ / phòng ban / cảm xúc.
+     * Chỉ mục xếp hạng trong bộ nhớ; DB chỉ được đọc cho các dòng của trang trả về.
+     */
+    @Transactional(readOnly = true)
+    public Page<CommentSearchResultResponse> searchComments(String query, Long evaluationCycleId, Long departmentId,
+                                                            String sentiment, Pageable pageable) {
+        log.info("Searching assessment comments: '{}' (cycle: {}, department: {}, sentiment: {})",
+                query, evaluationCycleId, departmentId, sentiment);
+
+        List<CommentSearchIndex.Hit> hits = commentSearchIndex.search(query,
+                new CommentSearchIndex.Filter(evaluationCycleId, departmentId, sentiment));
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<CommentSearchIndex.Hit> page = hits.subList(from, to);
+        if (page.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.size());
+        }
+
+        Map<Long, CommentRow> rows = summaryAssessmentRepository
+                .findCommentRowsByIds(page.stream().map(CommentSearchIndex.Hit::summaryAssessmentId).toList())
+                .stream()
+                .collect(Collectors.toMap(CommentRow::summaryAssessmentId, Function.identity()));
+        List<CommentSearchResultResponse> content = page.stream()
+                .map(hit -> {
+                    CommentRow row = rows.get(hit.summaryAssessmentId());
+                    return row == null ? null : CommentSearchResultResponse.builder()
+                            .summaryAssessmentId(row.summaryAssessmentId())
+                            .employeeId(row.employeeId())
+                            .employeeName(row.employeeName())
+                            .departmentId(row.departmentId())
+                            .criteriaFormId(row.criteriaFormId())
+                            .evaluationCycleId(row.evaluationCycleId())
+                            .sentiment(row.sentiment())
+                            .comment(row.comment())
+                            .score(hit.score())
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    /**
+     * Dựng lại chỉ mục bình luận từ DB
+     */
+    public int rebuildIndex() {
+        log.info("Rebuilding assessment comment index");
+        return commentSearchIndex.rebuild();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.SearchRow;
+import com.example.assessment_employee.dto.response.CompletionProgressResponse;
+import com.example.assessment_employee.dto.response.EmployeeSimpleResponse;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.CompletionStatus;
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import com.example.assessment_employee.repository.EmployeeRepository;
+import com.example.assessment_employee.repository.EvaluationCyclesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompletionService {
+
+    private final CompletionTracker completionTracker;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
+    private final EmployeeRepository employeeRepository;
+
+    /**
+     * Tiến độ của chu kỳ, lọc theo biểu mẫu và phòng ban (tùy chọn); tính từ bitmap trong bộ nhớ
+     */
+    public CompletionProgressResponse getCycleProgress(Long evaluationCycleId, Long criteriaFormId, Set<Long> departmentIds) {
+        requireCycle(evaluationCycleId);
+        CompletionTracker.CycleProgress progress = completionTracker.progress(evaluationCycleId, criteriaFormId, departmentIds);
+
+        return CompletionProgressResponse.builder()
+                .evaluationCycleId(evaluationCycleId)
+                .roles(toRoleProgress(progress.roles()))
+                .forms(progress.forms().stream()
+                        .map(form -> CompletionProgressResponse.FormProgress.builder()
+                                .criteriaFormId(form.criteriaFormId())
+                                .questionCount(form.questionCount())
+                                .roles(toRoleProgress(form.roles()))
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Nhân viên của chu kỳ có trạng thái status với mọi vai trò trong roles (mặc định: chưa đánh giá), theo mã tăng dần.
+     * Chỉ truy vấn họ tên cho trang được trả về.
+     */
+    public Page<EmployeeSimpleResponse> getEmployeesByStatus(Long evaluationCycleId, Long criteriaFormId,
+                                                             Set<Long> departmentIds, Set<AssessorRole> roles,
+                                                             CompletionStatus status, Pageable pageable) {
+        requireCycle(evaluationCycleId);
+        RoaringBitmap employees = completionTracker.employees(evaluationCycleId, criteriaFormId, departmentIds, roles,
+                status == null ? CompletionStatus.PENDING : status);
+
+        List<Long> codes = employees.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .mapToObj(code -> (long) code)
+                .toList();
+        Map<Long, String> names = codes.isEmpty() ? Map.of() : employeeRepository.findSearchRowsByCodes(codes).stream()
+                .collect(Collectors.toMap(SearchRow::id, SearchRow::name));
+        List<EmployeeSimpleResponse> content = codes.stream()
+                .map(code -> new EmployeeSimpleResponse(code, names.get(code)))
+                .toList();
+        return new PageImpl<>(content, pageable, employees.getLongCardinality());
+    }
+
+    private void requireCycle(Long evaluationCycleId) {
+        if (!evaluationCyclesRepository.existsById(evaluationCycleId)) {
+            throw new AppException(ErrorCode.EVALUATION_CYCLE_NOT_FOUND);
+        }
+    }
+
+    private List<CompletionProgressResponse.RoleProgress> toRoleProgress(Map<AssessorRole, CompletionTracker.Counts> roles) {
+        return roles.entrySet().stream()
+                .map(entry -> {
+                    CompletionTracker.Counts counts = entry.getValue();
+                    double percent = counts.total() == 0 ? 0.0 : counts.completed() * 100.0 / counts.total();
+                    return CompletionProgressResponse.RoleProgress.builder()
+                            .role(entry.getKey())
+                            .totalEmployees(counts.total())
+                            .pending(counts.pending())
+                            .inProgress(counts.inProgress())
+                            .completed(counts.completed())
+                            .completedPercent(Math.round(percent * 10.0) / 10.0)
+                            .build();
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,476 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.CompletionRow;
+import com.example.assessment_employee.dto.projection.PublishedFormRow;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.CompletionStatus;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
+import com.example.assessment_employee.repository.EmployeeRepository;
+import com.example.assessment_employee.repository.EvaluationAnswersRepository;
+import com.example.assessment_employee.repository.EvaluationCyclesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tiến độ đánh giá trong bộ nhớ: với mỗi biểu mẫu và vai trò chấm điểm, hai RoaringBitmap mã nhân viên
+ * (đang làm, đã hoàn thành); nhân viên không thuộc bitmap nào là chưa đánh giá.
+ * Tỷ lệ hoàn thành, danh sách chưa đánh giá và giao/hợp theo phòng ban và vai trò là phép toán bitmap, không truy vấn DB.
+ * Cập nhật sau mỗi lần nộp đánh giá; nạp lại khi nhân viên, biểu mẫu/câu hỏi hoặc chu kỳ đổi (version EMPLOYEE,
+ * FORM_DEFINITION, EVALUATION_CYCLE của {@link AggregateVersions}), bản cũ vẫn phục vụ trong lúc nạp.
+ * Chỉ đúng khi chạy một instance (giống AggregateVersions).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CompletionTracker {
+
+    private static final List<AggregateVersions.Aggregate> SOURCES = List.of(AggregateVersions.Aggregate.EMPLOYEE,
+            AggregateVersions.Aggregate.FORM_DEFINITION, AggregateVersions.Aggregate.EVALUATION_CYCLE);
+
+    private final EvaluationAnswersRepository evaluationAnswersRepository;
+    private final CriteriaFormRepository criteriaFormRepository;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
+    private final EmployeeRepository employeeRepository;
+    private final FormDefinitionService formDefinitionService;
+    private final AggregateVersions aggregateVersions;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Các lần nộp được đọc và áp dụng lần lượt: bản đọc sau (mới hơn) luôn được áp dụng sau
+    private final Object updateLock = new Object();
+    // Chỉ thay khi giữ write lock; bitmap bên trong chỉ sửa khi giữ write lock
+    private Snapshot snapshot;
+    // Khác null trong lúc nạp: các lần nộp trong lúc nạp, áp dụng lại vào bản mới
+    private Set<AssessmentSubmittedEvent> changedDuringLoad;
+
+    /**
+     * Số nhân viên theo trạng thái; total = pending + inProgress + completed
+     */
+    public record Counts(int total, int pending, int inProgress, int completed) {
+    }
+
+    public record FormProgress(long criteriaFormId, long questionCount, Map<AssessorRole, Counts> roles) {
+    }
+
+    /**
+     * Tiến độ của chu kỳ theo vai trò (hoàn thành: đã hoàn thành mọi biểu mẫu trong phạm vi) và của từng biểu mẫu
+     */
+    public record CycleProgress(Map<AssessorRole, Counts> roles, List<FormProgress> forms) {
+    }
+
+    /**
+     * Trạng thái và số câu đã trả lời (vai trò ANY) của nhân viên trên biểu mẫu; hoàn thành: answered = questionCount
+     */
+    public record EmployeeProgress(CompletionStatus status, long questionCount, long answered) {
+    }
+
+    /**
+     * Trạng thái bản đánh giá của nhân viên trên biểu mẫu, theo một vai trò hoặc ANY
+     */
+    public CompletionStatus status(long criteriaFormId, long employeeId, AssessorRole role) {
+        Snapshot current = current();
+        lock.readLock().lock();
+        try {
+            FormState form = current.forms.get(criteriaFormId);
+            if (form == null) {
+                return CompletionStatus.PENDING;
+            }
+            int employee = Math.toIntExact(employeeId);
+            if (form.completed.get(role).contains(employee)) {
+                return CompletionStatus.COMPLETED;
+            }
+            return form.inProgress.get(role).contains(employee) ? CompletionStatus.IN_PROGRESS : CompletionStatus.PENDING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Trạng thái cùng số câu hỏi / số câu đã trả lời (vai trò ANY), đọc từ cùng một bản nên luôn khớp nhau
+     */
+    public EmployeeProgress progress(long criteriaFormId, long employeeId) {
+        Snapshot current = current();
+        lock.readLock().lock();
+        try {
+            FormState form = current.forms.get(criteriaFormId);
+            if (form == null) {
+                return new EmployeeProgress(CompletionStatus.PENDING, 0, 0);
+            }
+            int employee = Math.toIntExact(employeeId);
+            if (form.completed.get(AssessorRole.ANY).contains(employee)) {
+                return new EmployeeProgress(CompletionStatus.COMPLETED, form.questionCount, form.questionCount);
+            }
+            Long answered = form.answeredInProgress.get(employee);
+            return answered != null ? new EmployeeProgress(CompletionStatus.IN_PROGRESS, form.questionCount, answered)
+                    : new EmployeeProgress(CompletionStatus.PENDING, form.questionCount, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tiến độ của chu kỳ. Nhân viên trong phạm vi: nhân viên phòng ban của chu kỳ và người đã có đánh giá trong chu kỳ,
+     * giới hạn theo departmentIds (hợp) nếu có. criteriaFormId null: mọi biểu mẫu của chu kỳ.
+     */
+    public CycleProgress progress(long evaluationCycleId, Long criteriaFormId, Collection<Long> departmentIds) {
+        Snapshot current = current();
+        lock.readLock().lock();
+        try {
+            List<FormState> forms = current.forms(evaluationCycleId, criteriaFormId);
+            RoaringBitmap population = current.population(evaluationCycleId, forms, departmentIds);
+            List<FormProgress> formProgress = forms.stream()
+                    .map(form -> new FormProgress(form.criteriaFormId, form.questionCount,
+                            counts(List.of(form), population)))
+                    .toList();
+            return new CycleProgress(counts(forms, population), formProgress);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mã nhân viên (tăng dần) có trạng thái status với mọi vai trò trong roles (giao); roles rỗng: ANY
+     */
+    public RoaringBitmap employees(long evaluationCycleId, Long criteriaFormId, Collection<Long> departmentIds,
+                                   Collection<AssessorRole> roles, CompletionStatus status) {
+        Snapshot current = current();
+        lock.readLock().lock();
+        try {
+            List<FormState> forms = current.forms(evaluationCycleId, criteriaFormId);
+            RoaringBitmap result = current.population(evaluationCycleId, forms, departmentIds);
+            for (AssessorRole role : roles == null || roles.isEmpty() ? List.of(AssessorRole.ANY) : roles) {
+                result.and(withStatus(forms, role, status, result));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Đánh giá đã nộp (sau commit): đọc lại số câu đã trả lời của bản đánh giá và chuyển nhân viên giữa các bitmap.
+     * Transaction mới (primary) vì transaction nộp đã kết thúc. Chạy trước AssessorInbox (đọc trạng thái từ đây).
+     */
+    @TransactionalEventListener
+    @Order(0)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAssessmentSubmitted(AssessmentSubmittedEvent event) {
+        if (event.summaryAssessmentId() == null || event.employeeId() == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (snapshot == null && changedDuringLoad == null) {
+                // Chưa nạp: lần nạp sau đọc được câu trả lời đã commit
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        apply(List.of(event));
+    }
+
+    private Map<AssessorRole, Counts> counts(List<FormState> forms, RoaringBitmap population) {
+        Map<AssessorRole, Counts> counts = new EnumMap<>(AssessorRole.class);
+        for (AssessorRole role : AssessorRole.values()) {
+            RoaringBitmap completed = completed(forms, role, population);
+            RoaringBitmap started = started(forms, role, population);
+            int total = population.getCardinality();
+            int startedCount = started.getCardinality();
+            int completedCount = completed.getCardinality();
+            counts.put(role, new Counts(total, total - startedCount, startedCount - completedCount, completedCount));
+        }
+        return counts;
+    }
+
+    private RoaringBitmap withStatus(List<FormState> forms, AssessorRole role, CompletionStatus status, RoaringBitmap population) {
+        return switch (status) {
+            case COMPLETED -> completed(forms, role, population);
+            case IN_PROGRESS -> RoaringBitmap.andNot(started(forms, role, population), completed(forms, role, population));
+            case PENDING -> RoaringBitmap.andNot(population, started(forms, role, population));
+        };
+    }
+
+    private RoaringBitmap completed(List<FormState> forms, AssessorRole role, RoaringBitmap population) {
+        if (forms.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap completed = population.clone();
+        forms.forEach(form -> completed.and(form.completed.get(role)));
+        return completed;
+    }
+
+    private RoaringBitmap started(List<FormState> forms, AssessorRole role, RoaringBitmap population) {
+        RoaringBitmap started = new RoaringBitmap();
+        forms.forEach(form -> {
+            started.or(form.inProgress.get(role));
+            started.or(form.completed.get(role));
+        });
+        started.and(population);
+        return started;
+    }
+
+    private Snapshot current() {
+        long[] versions = versions();
+        Snapshot stale;
+        lock.readLock().lock();
+        try {
+            if (snapshot != null && Arrays.equals(snapshot.versions, versions)) {
+                return snapshot;
+            }
+            stale = snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Đang có luồng khác nạp: dùng tạm bản cũ thay vì chờ
+        if (stale != null && !loadLock.tryLock()) {
+            return stale;
+        }
+        if (stale == null) {
+            loadLock.lock();
+        }
+        try {
+            lock.readLock().lock();
+            try {
+                if (snapshot != null && Arrays.equals(snapshot.versions, versions)) {
+                    return snapshot;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            return reload(versions);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot reload(long[] versions) {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot built;
+        try {
+            built = load(versions);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        // Thay bản mới và lấy danh sách thay đổi cùng lúc: cập nhật sau đó áp dụng thẳng vào bản mới
+        Set<AssessmentSubmittedEvent> changed;
+        lock.writeLock().lock();
+        try {
+            snapshot = built;
+            changed = changedDuringLoad;
+            changedDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!changed.isEmpty()) {
+            apply(changed);
+        }
+        return built;
+    }
+
+    private Snapshot load(long[] versions) {
+        long started = System.nanoTime();
+        // Đọc primary (không readOnly, transaction riêng kể cả khi được gọi từ request readOnly):
+        // câu trả lời vừa commit phải có trong bản nạp
+        Snapshot built = primaryTransaction().execute(status -> {
+            Snapshot loaded = new Snapshot(versions);
+            evaluationCyclesRepository.findDepartmentCycleRows()
+                    .forEach(row -> loaded.departmentByCycle.put(row.evaluationCycleId(), row.departmentId()));
+            employeeRepository.findDepartmentEmployeeRows().forEach(row -> loaded.employeesByDepartment
+                    .computeIfAbsent(row.departmentId(), id -> new RoaringBitmap())
+                    .add(Math.toIntExact(row.code())));
+            criteriaFormRepository.findQuestionCountRows()
+                    .forEach(row -> loaded.addForm(row.criteriaFormId(), row.evaluationCycleId(), row.questionCount()));
+            // Version đã phát hành: số câu hỏi của bộ đóng băng, câu hỏi thêm/ngừng dùng sau đó không đổi trạng thái
+            List<PublishedFormRow> published = criteriaFormRepository.findPublishedFormRows();
+            Map<Long, Integer> publishedCounts = formDefinitionService.publishedQuestionCounts(published);
+            published.forEach(row -> loaded.addForm(row.criteriaFormId(), row.evaluationCycleId(),
+                    publishedCounts.getOrDefault(row.criteriaFormId(), 0)));
+            evaluationAnswersRepository.findCompletionRows().forEach(loaded::put);
+            return loaded;
+        });
+        built.optimize();
+        log.info("Loaded completion tracker: {} forms, {} departments in {} ms", built.forms.size(),
+                built.employeesByDepartment.size(), (System.nanoTime() - started) / 1_000_000);
+        return built;
+    }
+
+    private void apply(Collection<AssessmentSubmittedEvent> events) {
+        synchronized (updateLock) {
+            List<CompletionRow> rows = primaryTransaction().execute(status -> events.stream()
+                    .map(event -> evaluationAnswersRepository.findCompletionRows(event.summaryAssessmentId()).stream()
+                            .findFirst()
+                            // Không còn câu trả lời: nhân viên quay về chưa đánh giá
+                            .orElseGet(() -> new CompletionRow(event.employeeId(), event.criteriaFormId(), 0, 0, 0, 0)))
+                    .toList());
+            lock.writeLock().lock();
+            try {
+                if (changedDuringLoad != null) {
+                    changedDuringLoad.addAll(events);
+                }
+                if (snapshot != null) {
+                    rows.forEach(snapshot::put);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private TransactionTemplate primaryTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
+    }
+
+    private long[] versions() {
+        return SOURCES.stream().mapToLong(aggregateVersions::version).toArray();
+    }
+
+    private static final class Snapshot {
+        // Version của SOURCES lúc bắt đầu nạp
+        final long[] versions;
+        final Map<Long, FormState> forms = new HashMap<>();
+        final Map<Long, List<FormState>> formsByCycle = new HashMap<>();
+        final Map<Long, Long> departmentByCycle = new HashMap<>();
+        final Map<Long, RoaringBitmap> employeesByDepartment = new HashMap<>();
+
+        Snapshot(long[] versions) {
+            this.versions = versions;
+        }
+
+        void addForm(long criteriaFormId, Long evaluationCycleId, long questionCount) {
+            FormState form = new FormState(criteriaFormId, questionCount);
+            forms.put(criteriaFormId, form);
+            if (evaluationCycleId != null) {
+                formsByCycle.computeIfAbsent(evaluationCycleId, id -> new ArrayList<>()).add(form);
+            }
+        }
+
+        void put(CompletionRow row) {
+            FormState form = forms.get(row.criteriaFormId());
+            // Biểu mẫu tạo sau lần nạp: có trong lần nạp kế tiếp (version FORM_DEFINITION đã tăng)
+            if (form != null && row.employeeId() != null) {
+                form.put(row);
+            }
+        }
+
+        List<FormState> forms(long evaluationCycleId, Long criteriaFormId) {
+            List<FormState> cycleForms = formsByCycle.getOrDefault(evaluationCycleId, List.of());
+            return criteriaFormId == null ? cycleForms
+                    : cycleForms.stream().filter(form -> form.criteriaFormId == criteriaFormId).toList();
+        }
+
+        /**
+         * Bitmap mới (caller được sửa)
+         */
+        RoaringBitmap population(long evaluationCycleId, List<FormState> forms, Collection<Long> departmentIds) {
+            RoaringBitmap population = new RoaringBitmap();
+            Long departmentId = departmentByCycle.get(evaluationCycleId);
+            if (departmentId != null && employeesByDepartment.containsKey(departmentId)) {
+                population.or(employeesByDepartment.get(departmentId));
+            }
+            forms.forEach(form -> {
+                population.or(form.inProgress.get(AssessorRole.ANY));
+                population.or(form.completed.get(AssessorRole.ANY));
+            });
+            if (departmentIds != null && !departmentIds.isEmpty()) {
+                RoaringBitmap departments = new RoaringBitmap();
+                departmentIds.stream()
+                        .map(employeesByDepartment::get)
+                        .filter(Objects::nonNull)
+                        .forEach(departments::or);
+                population.and(departments);
+            }
+            return population;
+        }
+
+        void optimize() {
+            employeesByDepartment.values().forEach(RoaringBitmap::runOptimize);
+            forms.values().forEach(form -> {
+                form.inProgress.values().forEach(RoaringBitmap::runOptimize);
+                form.completed.values().forEach(RoaringBitmap::runOptimize);
+            });
+        }
+    }
+
+    private static final class FormState {
+        final long criteriaFormId;
+        final long questionCount;
+        final Map<AssessorRole, RoaringBitmap> inProgress = new EnumMap<>(AssessorRole.class);
+        final Map<AssessorRole, RoaringBitmap> completed = new EnumMap<>(AssessorRole.class);
+        // Số câu đã trả lời (ANY) của nhân viên đang làm; chưa đánh giá: 0, hoàn thành: questionCount
+        final Map<Integer, Long> answeredInProgress = new HashMap<>();
+
+        FormState(long criteriaFormId, long questionCount) {
+            this.criteriaFormId = criteriaFormId;
+            this.questionCount = questionCount;
+            for (AssessorRole role : AssessorRole.values()) {
+                inProgress.put(role, new RoaringBitmap());
+                completed.put(role, new RoaringBitmap());
+            }
+        }
+
+        void put(CompletionRow row) {
+            int employee = Math.toIntExact(row.employeeId());
+            for (AssessorRole role : AssessorRole.values()) {
+                long answered = switch (role) {
+                    case ANY -> row.answered();
+                    case EMPLOYEE -> row.employeeAnswered();
+                    case MANAGER -> row.managerAnswered();
+                    case SUPERVISOR -> row.supervisorAnswered();
+                };
+                inProgress.get(role).remove(employee);
+                completed.get(role).remove(employee);
+                if (answered > 0 && answered >= questionCount) {
+                    completed.get(role).add(employee);
+                } else if (answered > 0) {
+                    inProgress.get(role).add(employee);
+                }
+            }
+            if (row.answered() > 0 && row.answered() < questionCount) {
+                answeredInProgress.put(employee, row.answered());
+            } else {
+                answeredInProgress.remove(employee);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.assessment_employee.dto.request.CriteriaFormCreateRequest;
 import com.example.assessment_employee.dto.response.CriteriaFormResponse;
 import com.example.assessment_employee.entity.CriteriaForm;
 import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.enums.SearchEntityType;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.CriteriaFormMapper;
@@ -11,6 +12,7 @@ import com.example.assessment_employee.mapper.EvaluationCriteriaMapper;
 import com.example.assessment_employee.repository.CriteriaFormRepository;
 import com.example.assessment_employee.repository.EvaluationCriteriaRepository;
 import com.example.assessment_employee.repository.EvaluationAnswersRepository;
+import com.example.assessment_employee.repository.EvaluationCyclesRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -35,8 +37,11 @@ public class CriteriaFormService {
     private final CriteriaFormRepository criteriaFormRepository;
     private final EvaluationCriteriaRepository evaluationCriteriaRepository;
     private final EvaluationAnswersRepository evaluationAnswersRepository;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
     private final CriteriaFormMapper criteriaFormMapper;
     private final EvaluationCriteriaMapper evaluationCriteriaMapper;
+    private final FormVersionService formVersionService;
+    private final SearchIndex searchIndex;
 
     /**
      * Helper method to manually map CriteriaForm to CriteriaFormResponse
@@ -84,6 +89,8 @@ public class CriteriaFormService {
             throw new AppException(ErrorCode.CRITERIA_FORM_NAME_EXISTED);
         }
         
+        validateEvaluationCycleExists(request.getEvaluationCycleId());
+        
         // Check if form name already exists for this evaluation cycle
         if (criteriaFormRepository.existsByEvaluationCycleIdAndCriteriaFormName(
                 request.getEvaluationCycleId(), request.getCriteriaFormName())) {
@@ -112,8 +119,11 @@ public class CriteriaFormService {
         criteriaForm.setEvaluationCriteria(evaluationCriteria);
         criteriaForm.setEvaluationCycleId(request.getEvaluationCycleId());
         
-        // Save criteria form
+        // Save criteria form (biểu mẫu thêm vào chu kỳ đã chạy được phát hành ngay)
         CriteriaForm savedForm = criteriaFormRepository.save(criteriaForm);
+        if (!formVersionService.isDraftCycle(savedForm.getEvaluationCycleId())) {
+            formVersionService.publish(savedForm);
+        }
         
         log.info("Criteria form created successfully with ID: {}", savedForm.getCriteriaFormId());
         
@@ -128,7 +138,7 @@ public class CriteriaFormService {
         log.info("Getting all criteria forms with pagination: page={}, size={}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<CriteriaForm> formPage = criteriaFormRepository.findAll(pageable);
+        Page<CriteriaForm> formPage = criteriaFormRepository.findBySupersededByIdIsNull(pageable);
         List<CriteriaFormResponse> responses = mapToResponseList(formPage.getContent());
         
         return new PageImpl<>(responses, pageable, formPage.getTotalElements());
@@ -141,7 +151,8 @@ public class CriteriaFormService {
     public List<CriteriaFormResponse> getAllCriteriaForms() {
         log.info("Getting all criteria forms");
         
-        List<CriteriaForm> forms = criteriaFormRepository.findAllWithFullDetails();
+        // Response chỉ có tên tiêu chí, không cần nạp câu hỏi
+        List<CriteriaForm> forms = criteriaFormRepository.findAllWithEvaluationCriteria();
         return mapToResponseList(forms);
     }
     
@@ -152,7 +163,8 @@ public class CriteriaFormService {
     public CriteriaFormResponse getCriteriaFormById(Long id) {
         log.info("Getting criteria form by ID: {}", id);
         
-        CriteriaForm form = criteriaFormRepository.findByIdWithEvaluationCriteria(id)
+        // findById + collection lazy: đọc từ second-level cache (JOIN FETCH luôn đi database)
+        CriteriaForm form = criteriaFormRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Criteria form not found with ID: {}", id);
                     return new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND);
@@ -188,6 +200,10 @@ public class CriteriaFormService {
                     log.warn("Criteria form not found for update with ID: {}", id);
                     return new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND);
                 });
+        if (existingForm.getSupersededById() != null) {
+            log.warn("Criteria form update failed: Form {} was superseded by {}", id, existingForm.getSupersededById());
+            throw new AppException(ErrorCode.CRITERIA_FORM_SUPERSEDED);
+        }
 
         // Check if form name is being changed and if new name already exists
         if (!existingForm.getCriteriaFormName().equals(request.getCriteriaFormName()) &&
@@ -196,6 +212,8 @@ public class CriteriaFormService {
             throw new AppException(ErrorCode.CRITERIA_FORM_NAME_EXISTED);
         }
         
+        validateEvaluationCycleExists(request.getEvaluationCycleId());
+        
         // Check if form name already exists for the evaluation cycle (excluding current form)
         if (!existingForm.getCriteriaFormName().equals(request.getCriteriaFormName()) &&
             criteriaFormRepository.existsByEvaluationCycleIdAndCriteriaFormName(
@@ -220,13 +238,24 @@ public class CriteriaFormService {
             throw new AppException(ErrorCode.EVALUATION_CRITERIA_NOT_FOUND);
         }
         
+        // Biểu mẫu đã khóa: đóng băng version đang dùng, sửa trên version mới (đánh giá cũ giữ version cũ)
+        CriteriaForm targetForm = existingForm;
+        if (formVersionService.isLocked(existingForm)) {
+            formVersionService.publish(existingForm);
+            targetForm = formVersionService.createNextVersion(existingForm);
+        }
+
         // Update form fields
-        criteriaFormMapper.updateEntity(request, existingForm);
-        existingForm.setEvaluationCriteria(evaluationCriteria);
-        existingForm.setEvaluationCycleId(request.getEvaluationCycleId());
-        CriteriaForm updatedForm = criteriaFormRepository.save(existingForm);
+        criteriaFormMapper.updateEntity(request, targetForm);
+        targetForm.setEvaluationCriteria(evaluationCriteria);
+        targetForm.setEvaluationCycleId(request.getEvaluationCycleId());
+        CriteriaForm updatedForm = criteriaFormRepository.save(targetForm);
+        if (!formVersionService.isDraftCycle(updatedForm.getEvaluationCycleId())) {
+            formVersionService.publish(updatedForm);
+        }
         
-        log.info("Criteria form updated successfully with ID: {}", updatedForm.getCriteriaFormId());
+        log.info("Criteria form updated successfully with ID: {} (version {})",
+                updatedForm.getCriteriaFormId(), updatedForm.getFormVersion());
         
         return mapToResponse(updatedForm);
     }
@@ -242,6 +271,10 @@ public class CriteriaFormService {
                     log.warn("Criteria form not found for deletion with ID: {}", id);
                     return new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND);
                 });
+        if (formVersionService.isLocked(form)) {
+            log.warn("Cannot delete locked criteria form: {}", id);
+            throw new AppException(ErrorCode.CRITERIA_FORM_PUBLISHED);
+        }
         
         criteriaFormRepository.deleteById(id);
         
@@ -252,7 +285,7 @@ public class CriteriaFormService {
      * Get criteria forms by evaluation cycle ID
      */
     @Transactional(readOnly = true)
-    public List<CriteriaFormResponse> getCriteriaFormsByEvaluationCycleId(String evaluationCycleId) {
+    public List<CriteriaFormResponse> getCriteriaFormsByEvaluationCycleId(Long evaluationCycleId) {
         log.info("Getting criteria forms by evaluation cycle ID: {}", evaluationCycleId);
         
         List<CriteriaForm> forms = criteriaFormRepository.findByEvaluationCycleIdWithCriteria(evaluationCycleId);
@@ -266,7 +299,10 @@ public class CriteriaFormService {
     public List<CriteriaFormResponse> searchCriteriaFormsByName(String keyword) {
         log.info("Searching criteria forms by name keyword: {}", keyword);
         
-        List<CriteriaForm> forms = criteriaFormRepository.searchByCriteriaFormName(keyword);
+        // Chỉ mục trong bộ nhớ (không dấu, trigram) thay cho LIKE '%kw%' quét toàn bảng
+        List<Long> ids = searchIndex.searchIds(SearchEntityType.CRITERIA_FORM, keyword);
+        List<CriteriaForm> forms = SearchIndex.inRankOrder(ids, criteriaFormRepository.findAllById(ids),
+                CriteriaForm::getCriteriaFormId);
         return mapToResponseList(forms);
     }
     
@@ -288,7 +324,8 @@ public class CriteriaFormService {
     public CriteriaFormResponse getCriteriaFormWithFullDetails(Long id) {
         log.info("Getting criteria form with full details for ID: {}", id);
 
-        CriteriaForm form = criteriaFormRepository.findByIdWithEvaluationCriteria(id)
+        // findById + collection lazy: đọc từ second-level cache (JOIN FETCH luôn đi database)
+        CriteriaForm form = criteriaFormRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Criteria form not found with ID: {}", id);
                     return new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND);
@@ -317,7 +354,17 @@ public class CriteriaFormService {
      * Count criteria forms by evaluation cycle
      */
     @Transactional(readOnly = true)
-    public long countCriteriaFormsByEvaluationCycle(String evaluationCycleId) {
+    public long countCriteriaFormsByEvaluationCycle(Long evaluationCycleId) {
         return criteriaFormRepository.countByEvaluationCycleId(evaluationCycleId);
     }
+    
+    /**
+     * Validate evaluation cycle exists (criteria_form.evaluation_cycle_id is a foreign key)
+     */
+    private void validateEvaluationCycleExists(Long evaluationCycleId) {
+        if (!evaluationCyclesRepository.existsById(evaluationCycleId)) {
+            log.warn("Evaluation cycle not found with ID: {}", evaluationCycleId);
+            throw new AppException(ErrorCode.EVALUATION_CYCLE_NOT_FOUND);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.entity.EvaluationCycles;
+import com.example.assessment_employee.repository.EvaluationCyclesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-department index of evaluation cycle date ranges (epoch days, sorted by start).
+ * Cycles of one department never overlap, so the only candidate for an overlap with [start, end]
+ * is the last cycle starting on or before end: overlap and "which cycle contains date X" are binary searches.
+ * Loaded lazily per department and dropped after each committed cycle mutation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CycleIntervalIndex {
+
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
+
+    private final Map<Long, DepartmentIntervals> intervalsByDepartment = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Find a cycle of the department overlapping [start, end] (inclusive), ignoring excludeCycleId
+     */
+    public Optional<Long> findOverlapping(Long departmentId, LocalDate start, LocalDate end, Long excludeCycleId) {
+        return intervals(departmentId).findOverlapping(start.toEpochDay(), end.toEpochDay(), excludeCycleId);
+    }
+
+    /**
+     * Find the cycle of the department whose date range contains the given date
+     */
+    public Optional<Long> findContaining(Long departmentId, LocalDate date) {
+        long day = date.toEpochDay();
+        return intervals(departmentId).findOverlapping(day, day, null);
+    }
+
+    /**
+     * Drop the cached intervals of a department once the current transaction commits
+     */
+    public void evictAfterCommit(Long departmentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(departmentId);
+                }
+            });
+        } else {
+            evict(departmentId);
+        }
+    }
+
+    public void evict(Long departmentId) {
+        generation.incrementAndGet();
+        intervalsByDepartment.remove(departmentId);
+    }
+
+    private DepartmentIntervals intervals(Long departmentId) {
+        DepartmentIntervals cached = intervalsByDepartment.get(departmentId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Chỉ lưu vào cache nếu không có thay đổi nào xảy ra trong lúc đang tải
+        long loadedAt = generation.get();
+        DepartmentIntervals loaded = DepartmentIntervals.of(evaluationCyclesRepository.findByDepartmentId(departmentId));
+        if (generation.get() == loadedAt) {
+            intervalsByDepartment.putIfAbsent(departmentId, loaded);
+        }
+        log.debug("Loaded {} cycle intervals for department: {}", loaded.cycleIds.length, departmentId);
+        return loaded;
+    }
+
+    private static final class DepartmentIntervals {
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] cycleIds;
+        // false khi dữ liệu cũ vi phạm ràng buộc không chồng lấn: phải duyệt lùi toàn bộ
+        private final boolean disjoint;
+
+        private DepartmentIntervals(long[] starts, long[] ends, long[] cycleIds, boolean disjoint) {
+            this.starts = starts;
+            this.ends = ends;
+            this.cycleIds = cycleIds;
+            this.disjoint = disjoint;
+        }
+
+        static DepartmentIntervals of(List<EvaluationCycles> cycles) {
+            List<EvaluationCycles> sorted = cycles.stream()
+                    .filter(cycle -> cycle.getStartDate() != null && cycle.getEndDate() != null)
+                    .sorted(Comparator.comparing(EvaluationCycles::getStartDate))
+                    .toList();
+
+            int size = sorted.size();
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            long[] cycleIds = new long[size];
+            boolean disjoint = true;
+            for (int i = 0; i < size; i++) {
+                EvaluationCycles cycle = sorted.get(i);
+                starts[i] = cycle.getStartDate().toEpochDay();
+                ends[i] = cycle.getEndDate().toEpochDay();
+                cycleIds[i] = cycle.getEvaluationCycleId();
+                if (i > 0 && starts[i] <= ends[i - 1]) {
+                    disjoint = false;
+                }
+            }
+            return new DepartmentIntervals(starts, ends, cycleIds, disjoint);
+        }
+
+        Optional<Long> findOverlapping(long start, long end, Long excludeCycleId) {
+            // Vị trí cuối cùng có start <= end
+            int low = 0;
+            int high = starts.length - 1;
+            int candidate = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= end) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            for (int i = candidate; i >= 0; i--) {
+                if (excludeCycleId != null && cycleIds[i] == excludeCycleId) {
+                    continue;
+                }
+                if (ends[i] >= start) {
+                    return Optional.of(cycleIds[i]);
+                }
+                if (disjoint) {
+                    break;
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.response.CycleResultResponse;
+import com.example.assessment_employee.entity.*;
+import com.example.assessment_employee.enums.SnapshotScope;
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import com.example.assessment_employee.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Builds and serves the frozen results of completed evaluation cycles.
+ * Once a cycle is COMPLETED its answers can no longer change, so every per-assessment,
+ * per-employee, per-criteria and per-department result is computed once and stored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CycleSnapshotService {
+
+    private static final String COMPLETED = "COMPLETED";
+
+    private final CycleResultSnapshotRepository cycleResultSnapshotRepository;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
+    private final CriteriaFormRepository criteriaFormRepository;
+    private final SummaryAssessmentRepository summaryAssessmentRepository;
+    private final EvaluationAnswersRepository evaluationAnswersRepository;
+    private final FormDefinitionService formDefinitionService;
+
+    /**
+     * Close-cycle job: freeze the results of a cycle that has just moved to COMPLETED.
+     * Joins the caller's transaction so the snapshot commits together with the status change.
+     */
+    @Transactional
+    public void createSnapshot(EvaluationCycles cycle) {
+        Long cycleId = cycle.getEvaluationCycleId();
+        if (cycleResultSnapshotRepository.existsByEvaluationCycleId(cycleId)) {
+            log.warn("Snapshot already exists for evaluation cycle: {}", cycleId);
+            return;
+        }
+
+        List<CycleResultSnapshot> rows = computeRows(cycle);
+        cycleResultSnapshotRepository.saveAll(rows);
+
+        log.info("Created {} snapshot rows for evaluation cycle: {}", rows.size(), cycleId);
+    }
+
+    /**
+     * Get ranked results of a cycle, from the snapshot when the cycle is completed
+     */
+    @Transactional(readOnly = true)
+    public CycleResultResponse getCycleResults(Long cycleId) {
+        EvaluationCycles cycle = evaluationCyclesRepository.findByIdWithDepartment(cycleId)
+                .orElseThrow(() -> new AppException(ErrorCode.EVALUATION_CYCLE_NOT_FOUND));
+
+        boolean fromSnapshot = COMPLETED.equals(cycle.getStatus())
+                && cycleResultSnapshotRepository.existsByEvaluationCycleId(cycleId);
+        List<CycleResultSnapshot> rows = fromSnapshot ? findAllRows(cycleId) : computeRows(cycle);
+
+        return toResultResponse(cycle, rows, fromSnapshot);
+    }
+
+    /**
+     * Find the snapshot rows of one scope for a cycle.
+     * Empty when the cycle is not completed or was completed before snapshots existed.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<CycleResultSnapshot>> findSnapshotRows(EvaluationCycles cycle, SnapshotScope scope) {
+        if (!COMPLETED.equals(cycle.getStatus())) {
+            return Optional.empty();
+        }
+        List<CycleResultSnapshot> rows = cycleResultSnapshotRepository.findByCycleAndScope(cycle.getEvaluationCycleId(), scope);
+        if (rows.isEmpty() && !cycleResultSnapshotRepository.existsByEvaluationCycleId(cycle.getEvaluationCycleId())) {
+            return Optional.empty();
+        }
+        return Optional.of(rows);
+    }
+
+    /**
+     * Find frozen assessment rows by summary assessment ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CycleResultSnapshot> findAssessmentSnapshots(Collection<Long> summaryAssessmentIds) {
+        if (summaryAssessmentIds.isEmpty()) {
+            return Map.of();
+        }
+        return cycleResultSnapshotRepository.findByScopeAndRefIds(SnapshotScope.ASSESSMENT, summaryAssessmentIds).stream()
+                .collect(Collectors.toMap(CycleResultSnapshot::getRefId, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * Compute every result row of a cycle from the raw answers
+     */
+    List<CycleResultSnapshot> computeRows(EvaluationCycles cycle) {
+        Long cycleId = cycle.getEvaluationCycleId();
+        String cycleName = cycle.getStartDate() + " - " + cycle.getEndDate();
+
+        Map<Long, CriteriaForm> formsById = criteriaFormRepository.findByEvaluationCycleId(cycleId).stream()
+                .collect(Collectors.toMap(CriteriaForm::getCriteriaFormId, Function.identity()));
+
+        List<SummaryAssessment> assessments = formsById.isEmpty()
+                ? List.of()
+                : summaryAssessmentRepository.findByCriteriaFormIdsWithEmployee(formsById.keySet());
+
+        Map<Long, List<EvaluationAnswers>> answersByAssessment = assessments.isEmpty()
+                ? Map.of()
+                : evaluationAnswersRepository.findBySummaryAssessmentIdsWithCriteria(
+                        assessments.stream().map(SummaryAssessment::getSummaryAssessmentId).toList()).stream()
+                .collect(Collectors.groupingBy(answer -> answer.getSummaryAssessment().getSummaryAssessmentId()));
+
+        Map<Long, Integer> totalQuestionsByForm = new HashMap<>();
+        // Version đã phát hành đếm theo bộ câu hỏi đóng băng, không theo tiêu chí hiện tại
+        formsById.forEach((formId, form) -> totalQuestionsByForm.put(formId, formDefinitionService.questionCount(form)));
+
+        List<CycleResultSnapshot> assessmentRows = new ArrayList<>();
+        Map<Long, Long> departmentIdByAssessment = new HashMap<>();
+        for (SummaryAssessment assessment : assessments) {
+            List<EvaluationAnswers> answers = answersByAssessment.getOrDefault(assessment.getSummaryAssessmentId(), List.of());
+            int totalQuestions = totalQuestionsByForm.getOrDefault(assessment.getCriteriaFormId(), 0);
+            int completedQuestions = answers.size();
+            Employee employee = assessment.getEmployee();
+            Department department = employee.getDepartment();
+            if (department != null) {
+                departmentIdByAssessment.put(assessment.getSummaryAssessmentId(), department.getDepartmentId());
+            }
+
+            assessmentRows.add(CycleResultSnapshot.builder()
+                    .evaluationCycleId(cycleId)
+                    .scope(SnapshotScope.ASSESSMENT)
+                    .refId(assessment.getSummaryAssessmentId())
+                    .refName(employee.getFullName())
+                    .employeeId(employee.getCode())
+                    .position(employee.getStaffType())
+                    .departmentName(department != null ? department.getDepartmentName() : null)
+                    .formId(assessment.getCriteriaFormId())
+                    .formName(formsById.get(assessment.getCriteriaFormId()).getCriteriaFormName())
+                    .cycleName(cycleName)
+                    .sentiment(assessment.getSentiment())
+                    .status(assessmentStatus(totalQuestions, completedQuestions))
+                    .averageScore(assessmentScore(assessment, answers))
+                    .totalQuestions(totalQuestions)
+                    .completedQuestions(completedQuestions)
+                    .build());
+        }
+
+        List<CycleResultSnapshot> rows = new ArrayList<>(assessmentRows);
+        rows.add(cycleRow(cycle, cycleName, assessmentRows));
+        rows.addAll(employeeRows(cycleId, assessmentRows));
+        rows.addAll(departmentRows(cycleId, assessmentRows, departmentIdByAssessment));
+        rows.addAll(criteriaRows(cycleId, answersByAssessment.values()));
+        return rows;
+    }
+
+    private List<CycleResultSnapshot> findAllRows(Long cycleId) {
+        List<CycleResultSnapshot> rows = new ArrayList<>();
+        for (SnapshotScope scope : SnapshotScope.values()) {
+            rows.addAll(cycleResultSnapshotRepository.findByCycleAndScope(cycleId, scope));
+        }
+        return rows;
+    }
+
+    private CycleResultSnapshot cycleRow(EvaluationCycles cycle, String cycleName, List<CycleResultSnapshot> assessmentRows) {
+        return CycleResultSnapshot.builder()
+                .evaluationCycleId(cycle.getEvaluationCycleId())
+                .scope(SnapshotScope.CYCLE)
+                .refId(cycle.getEvaluationCycleId())
+                .refName(cycleName)
+                .cycleName(cycleName)
+                .departmentName(cycle.getDepartment() != null ? cycle.getDepartment().getDepartmentName() : null)
+                .status(cycle.getStatus())
+                .averageScore(assessmentRows.stream().mapToDouble(CycleResultSnapshot::getAverageScore).average().orElse(0.0))
+                .evaluationCount(assessmentRows.size())
+                .completedCount(countCompleted(assessmentRows))
+                .build();
+    }
+
+    private List<CycleResultSnapshot> employeeRows(Long cycleId, List<CycleResultSnapshot> assessmentRows) {
+        List<CycleResultSnapshot> rows = assessmentRows.stream()
+                .collect(Collectors.groupingBy(CycleResultSnapshot::getEmployeeId, LinkedHashMap::new, Collectors.toList()))
+                .values().stream()
+                .map(group -> {
+                    CycleResultSnapshot first = group.get(0);
+                    return CycleResultSnapshot.builder()
+                            .evaluationCycleId(cycleId)
+                            .scope(SnapshotScope.EMPLOYEE)
+                            .refId(first.getEmployeeId())
+                            .employeeId(first.getEmployeeId())
+                            .refName(first.getRefName())
+                            .position(first.getPosition())
+                            .departmentName(first.getDepartmentName())
+                            .sentiment(first.getSentiment())
+                            .averageScore(group.stream().mapToDouble(CycleResultSnapshot::getAverageScore).average().orElse(0.0))
+                            .evaluationCount(group.size())
+                            .completedCount(countCompleted(group))
+                            .build();
+                })
+                .collect(Collectors.toList());
+        return assignRanking(rows);
+    }
+
+    private List<CycleResultSnapshot> departmentRows(Long cycleId, List<CycleResultSnapshot> assessmentRows,
+                                                     Map<Long, Long> departmentIdByAssessment) {
+        List<CycleResultSnapshot> rows = assessmentRows.stream()
+                .filter(row -> departmentIdByAssessment.containsKey(row.getRefId()))
+                .collect(Collectors.groupingBy(row -> departmentIdByAssessment.get(row.getRefId()), LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(entry -> CycleResultSnapshot.builder()
+                        .evaluationCycleId(cycleId)
+                        .scope(SnapshotScope.DEPARTMENT)
+                        .refId(entry.getKey())
+                        .refName(entry.getValue().get(0).getDepartmentName())
+                        .departmentName(entry.getValue().get(0).getDepartmentName())
+                        .averageScore(entry.getValue().stream().mapToDouble(CycleResultSnapshot::getAverageScore).average().orElse(0.0))
+                        .evaluationCount(entry.getValue().size())
+                        .completedCount(countCompleted(entry.getValue()))
+                        .build())
+                .collect(Collectors.toList());
+        return assignRanking(rows);
+    }
+
+    private List<CycleResultSnapshot> criteriaRows(Long cycleId, Collection<List<EvaluationAnswers>> answerGroups) {
+        Map<Long, List<EvaluationAnswers>> answersByCriteria = new LinkedHashMap<>();
+        answerGroups.forEach(answers -> answers.forEach(answer ->
+                answersByCriteria.computeIfAbsent(answer.getQuestion().getEvaluationCriteria().getEvaluationCriteriaId(),
+                        k -> new ArrayList<>()).add(answer)));
+
+        List<CycleResultSnapshot> rows = answersByCriteria.entrySet().stream()
+                .map(entry -> {
+                    List<EvaluationAnswers> answers = entry.getValue();
+                    return CycleResultSnapshot.builder()
+                            .evaluationCycleId(cycleId)
+                            .scope(SnapshotScope.CRITERIA)
+                            .refId(entry.getKey())
+                            .refName(answers.get(0).getQuestion().getEvaluationCriteria().getCriteriaName())
+                            .averageScore(answers.stream().mapToDouble(EvaluationAnswers::getAVGScore).average().orElse(0.0))
+                            .employeeScore(positiveAverage(answers, EvaluationAnswers::getTotalScoreByEmployee))
+                            .supervisorScore(positiveAverage(answers, EvaluationAnswers::getTotalScoreBySupervision))
+                            .managerScore(positiveAverage(answers, EvaluationAnswers::getTotalScoreByManager))
+                            .evaluationCount(answers.size())
+                            .build();
+                })
+                .collect(Collectors.toList());
+        return assignRanking(rows);
+    }
+
+    private CycleResultResponse toResultResponse(EvaluationCycles cycle, List<CycleResultSnapshot> rows, boolean fromSnapshot) {
+        Map<SnapshotScope, List<CycleResultSnapshot>> byScope = rows.stream()
+                .sorted(Comparator.comparing(CycleResultSnapshot::getRanking, Comparator.nullsLast(Integer::compareTo)))
+                .collect(Collectors.groupingBy(CycleResultSnapshot::getScope));
+        CycleResultSnapshot cycleRow = byScope.getOrDefault(SnapshotScope.CYCLE, List.of()).stream().findFirst()
+                .orElseGet(() -> cycleRow(cycle, cycle.getStartDate() + " - " + cycle.getEndDate(), List.of()));
+
+        return CycleResultResponse.builder()
+                .evaluationCycleId(cycle.getEvaluationCycleId())
+                .cycleName(cycleRow.getCycleName())
+                .status(cycle.getStatus())
+                .fromSnapshot(fromSnapshot)
+                .snapshotAt(fromSnapshot ? cycleRow.getCreatedAt() : null)
+                .totalEvaluations(cycleRow.getEvaluationCount())
+                .completedEvaluations(cycleRow.getCompletedCount())
+                .averageScore(round(cycleRow.getAverageScore()))
+                .employees(byScope.getOrDefault(SnapshotScope.EMPLOYEE, List.of()).stream()
+                        .map(row -> CycleResultResponse.EmployeeResult.builder()
+                                .rank(row.getRanking())
+                                .employeeId(row.getEmployeeId())
+                                .fullName(row.getRefName())
+                                .position(row.getPosition())
+                                .departmentName(row.getDepartmentName())
+                                .averageScore(round(row.getAverageScore()))
+                                .evaluationCount(row.getEvaluationCount())
+                                .build())
+                        .collect(Collectors.toList()))
+                .criteria(byScope.getOrDefault(SnapshotScope.CRITERIA, List.of()).stream()
+                        .map(row -> CycleResultResponse.CriteriaResult.builder()
+                                .rank(row.getRanking())
+                                .criteriaId(row.getRefId())
+                                .criteriaName(row.getRefName())
+                                .averageScore(round(row.getAverageScore()))
+                                .employeeScore(round(row.getEmployeeScore()))
+                                .supervisorScore(round(row.getSupervisorScore()))
+                                .managerScore(round(row.getManagerScore()))
+                                .build())
+                        .collect(Collectors.toList()))
+                .departments(byScope.getOrDefault(SnapshotScope.DEPARTMENT, List.of()).stream()
+                        .map(row -> CycleResultResponse.DepartmentResult.builder()
+                                .rank(row.getRanking())
+                                .departmentId(row.getRefId())
+                                .departmentName(row.getRefName())
+                                .averageScore(round(row.getAverageScore()))
+                                .evaluationCount(row.getEvaluationCount())
+                                .completedCount(row.getCompletedCount())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Sort by average score (highest first) and assign competition ranking (1, 2, 2, 4)
+     */
+    private List<CycleResultSnapshot> assignRanking(List<CycleResultSnapshot> rows) {
+        rows.sort(Comparator.comparing(CycleResultSnapshot::getAverageScore).reversed());
+        for (int i = 0; i < rows.size(); i++) {
+            boolean tied = i > 0 && rows.get(i).getAverageScore().equals(rows.get(i - 1).getAverageScore());
+            rows.get(i).setRanking(tied ? rows.get(i - 1).getRanking() : i + 1);
+        }
+        return rows;
+    }
+
+    private String assessmentStatus(int totalQuestions, int completedQuestions) {
+        if (completedQuestions == totalQuestions) {
+            return COMPLETED;
+        } else if (completedQuestions > 0) {
+            return "IN_PROGRESS";
+        }
+        return "PENDING";
+    }
+
+    private double assessmentScore(SummaryAssessment assessment, List<EvaluationAnswers> answers) {
+        if (assessment.getAverageScore() != null && assessment.getAverageScore() > 0) {
+            return round(assessment.getAverageScore());
+        }
+        return round(answers.stream().mapToDouble(EvaluationAnswers::getAVGScore).average().orElse(0.0));
+    }
+
+    private int countCompleted(List<CycleResultSnapshot> assessmentRows) {
+        return (int) assessmentRows.stream().filter(row -> COMPLETED.equals(row.getStatus())).count();
+    }
+
+    private double positiveAverage(List<EvaluationAnswers> answers, ToIntFunction<EvaluationAnswers> score) {
+        return answers.stream().mapToDouble(score::applyAsInt).filter(value -> value > 0).average().orElse(0.0);
+    }
+
+    private Double round(Double value) {
+        return value == null ? null : Math.round(value * 10.0) / 10.0;
+    }
+}
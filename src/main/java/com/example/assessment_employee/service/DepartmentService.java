@@ -1,8 +1,12 @@
 package com.example.assessment_employee.service;
 
+import com.example.assessment_employee.dto.projection.DepartmentCycleRow;
+import com.example.assessment_employee.dto.projection.DepartmentEmployeeRow;
+import com.example.assessment_employee.dto.projection.DepartmentRow;
 import com.example.assessment_employee.dto.request.DepartmentCreateRequest;
 import com.example.assessment_employee.dto.response.DepartmentResponse;
 import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.enums.SearchEntityType;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.DepartmentMapper;
@@ -18,6 +22,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +35,7 @@ public class DepartmentService {
     private final EmployeeRepository employeeRepository;
     private final EvaluationCyclesRepository evaluationCyclesRepository;
     private final DepartmentMapper departmentMapper;
+    private final SearchIndex searchIndex;
 
     /**
      * Helper method to manually map Department to DepartmentResponse
@@ -52,6 +59,31 @@ public class DepartmentService {
                 .collect(java.util.stream.Collectors.toList());
     }
     
+    /**
+     * Ghép DepartmentResponse từ projection: phòng ban, nhân viên và chu kỳ lấy bằng 3 truy vấn phẳng
+     * thay vì nạp collection lazy của từng phòng ban (1 + 2N truy vấn)
+     */
+    private List<DepartmentResponse> toResponses(List<DepartmentRow> departments,
+                                                 List<DepartmentEmployeeRow> employees,
+                                                 List<DepartmentCycleRow> cycles) {
+        Map<Long, List<DepartmentResponse.EmployeeInfo>> employeesByDepartment = employees.stream()
+                .collect(Collectors.groupingBy(DepartmentEmployeeRow::departmentId,
+                        Collectors.mapping(departmentMapper::toEmployeeInfo, Collectors.toList())));
+        Map<Long, List<DepartmentResponse.EvaluationCycleInfo>> cyclesByDepartment = cycles.stream()
+                .collect(Collectors.groupingBy(DepartmentCycleRow::departmentId,
+                        Collectors.mapping(departmentMapper::toEvaluationCycleInfo, Collectors.toList())));
+
+        return departments.stream()
+                .map(row -> {
+                    DepartmentResponse response = departmentMapper.toResponse(row);
+                    response.setEmployees(employeesByDepartment.getOrDefault(row.departmentId(), List.of()));
+                    // null khi chưa có chu kỳ, giống mapToResponse
+                    response.setEvaluationCycles(cyclesByDepartment.get(row.departmentId()));
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
+
     /**
      * Create new department
      */
@@ -91,8 +123,15 @@ public class DepartmentService {
         log.info("Getting all departments with pagination: page={}, size={}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Department> departmentPage = departmentRepository.findAll(pageable);
-        List<DepartmentResponse> responses = mapToResponseList(departmentPage.getContent());
+        Page<DepartmentRow> departmentPage = departmentRepository.findAllRows(pageable);
+        if (departmentPage.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, departmentPage.getTotalElements());
+        }
+
+        List<Long> departmentIds = departmentPage.getContent().stream().map(DepartmentRow::departmentId).toList();
+        List<DepartmentResponse> responses = toResponses(departmentPage.getContent(),
+                employeeRepository.findDepartmentEmployeeRows(departmentIds),
+                evaluationCyclesRepository.findDepartmentCycleRows(departmentIds));
         
         return new PageImpl<>(responses, pageable, departmentPage.getTotalElements());
     }
@@ -104,8 +143,9 @@ public class DepartmentService {
     public List<DepartmentResponse> getAllDepartments() {
         log.info("Getting all departments");
 
-        List<Department> departments = departmentRepository.findAllBasic();
-        return mapToResponseList(departments);
+        return toResponses(departmentRepository.findAllRows(),
+                employeeRepository.findDepartmentEmployeeRows(),
+                evaluationCyclesRepository.findDepartmentCycleRows());
     }
     
     /**
@@ -229,7 +269,10 @@ public class DepartmentService {
     public List<DepartmentResponse> searchDepartmentsByName(String keyword) {
         log.info("Searching departments by name keyword: {}", keyword);
         
-        List<Department> departments = departmentRepository.searchByDepartmentName(keyword);
+        // Chỉ mục trong bộ nhớ (không dấu, trigram) thay cho LIKE '%kw%' quét toàn bảng
+        List<Long> ids = searchIndex.searchIds(SearchEntityType.DEPARTMENT, keyword);
+        List<Department> departments = SearchIndex.inRankOrder(ids, departmentRepository.findAllById(ids),
+                Department::getDepartmentId);
         return mapToResponseList(departments);
     }
     
@@ -5,6 +5,7 @@ import com.example.assessment_employee.dto.response.EmployeeResponse;
 import com.example.assessment_employee.entity.Account;
 import com.example.assessment_employee.entity.Department;
 import com.example.assessment_employee.entity.Employee;
+import com.example.assessment_employee.enums.SearchEntityType;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.EmployeeMapper;
@@ -14,7 +15,6 @@ import com.example.assessment_employee.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +31,7 @@ public class EmployeeService {
     private final AccountRepository accountRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeMapper employeeMapper;
+    private final SearchIndex searchIndex;
     
     /**
      * Create new employee
@@ -81,10 +82,8 @@ public class EmployeeService {
         log.info("Getting all employees with pagination: page={}, size={}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Employee> employeePage = employeeRepository.findAll(pageable);
-        List<EmployeeResponse> responses = employeeMapper.toResponseList(employeePage.getContent());
-        
-        return new PageImpl<>(responses, pageable, employeePage.getTotalElements());
+        // Projection: chỉ các cột của response, không tạo entity / proxy lazy
+        return employeeRepository.findAllRows(pageable).map(employeeMapper::toResponse);
     }
     
     /**
@@ -94,8 +93,7 @@ public class EmployeeService {
     public List<EmployeeResponse> getAllEmployees() {
         log.info("Getting all employees");
         
-        List<Employee> employees = employeeRepository.findAllWithFullInfo();
-        return employeeMapper.toResponseList(employees);
+        return employeeMapper.toResponseListFromRows(employeeRepository.findAllRows());
     }
     
     /**
@@ -232,7 +230,10 @@ public class EmployeeService {
     public List<EmployeeResponse> searchEmployeesByFullName(String keyword) {
         log.info("Searching employees by fullName keyword: {}", keyword);
 
-        List<Employee> employees = employeeRepository.searchByFullName(keyword);
+        // Chỉ mục trong bộ nhớ (không dấu, trigram) thay cho LIKE '%kw%' quét toàn bảng
+        List<Long> codes = searchIndex.searchIds(SearchEntityType.EMPLOYEE, keyword);
+        List<Employee> employees = SearchIndex.inRankOrder(codes, employeeRepository.findAllById(codes),
+                Employee::getCode);
         return employeeMapper.toResponseList(employees);
     }
     
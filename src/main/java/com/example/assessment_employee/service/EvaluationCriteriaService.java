@@ -3,6 +3,7 @@ package com.example.assessment_employee.service;
 import com.example.assessment_employee.dto.request.EvaluationCriteriaCreateRequest;
 import com.example.assessment_employee.dto.response.EvaluationCriteriaResponse;
 import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.enums.SearchEntityType;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.EvaluationCriteriaMapper;
@@ -27,6 +28,8 @@ public class EvaluationCriteriaService {
     private final EvaluationCriteriaRepository evaluationCriteriaRepository;
     private final EvaluationQuestionsRepository evaluationQuestionsRepository;
     private final EvaluationCriteriaMapper evaluationCriteriaMapper;
+    private final FormVersionService formVersionService;
+    private final SearchIndex searchIndex;
     
     /**
      * Create new evaluation criteria
@@ -105,7 +108,8 @@ public class EvaluationCriteriaService {
     public EvaluationCriteriaResponse getEvaluationCriteriaById(Long id) {
         log.info("Getting evaluation criteria by ID: {}", id);
         
-        EvaluationCriteria criteria = evaluationCriteriaRepository.findByIdWithQuestions(id)
+        // findById + collection lazy: đọc từ second-level cache (JOIN FETCH luôn đi database)
+        EvaluationCriteria criteria = evaluationCriteriaRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Evaluation criteria not found with ID: {}", id);
                     return new AppException(ErrorCode.EVALUATION_CRITERIA_NOT_FOUND);
@@ -161,6 +165,9 @@ public class EvaluationCriteriaService {
             throw new AppException(ErrorCode.CRITERIA_NAME_EXISTED);
         }
         
+        // Biểu mẫu đã khóa giữ tên tiêu chí cũ trong định nghĩa đã phát hành
+        formVersionService.freezeFormsUsingCriteria(id);
+        
         // Update criteria fields
         evaluationCriteriaMapper.updateEntity(request, existingCriteria);
         
@@ -215,7 +222,10 @@ public class EvaluationCriteriaService {
     public List<EvaluationCriteriaResponse> searchEvaluationCriteriaByName(String keyword) {
         log.info("Searching evaluation criteria by name keyword: {}", keyword);
         
-        List<EvaluationCriteria> criteria = evaluationCriteriaRepository.searchByCriteriaName(keyword);
+        // Chỉ mục trong bộ nhớ (không dấu, trigram) thay cho LIKE '%kw%' quét toàn bảng
+        List<Long> ids = searchIndex.searchIds(SearchEntityType.EVALUATION_CRITERIA, keyword);
+        List<EvaluationCriteria> criteria = SearchIndex.inRankOrder(ids, evaluationCriteriaRepository.findAllById(ids),
+                EvaluationCriteria::getEvaluationCriteriaId);
         return evaluationCriteriaMapper.toResponseList(criteria);
     }
     
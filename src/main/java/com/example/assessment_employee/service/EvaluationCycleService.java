@@ -7,6 +7,7 @@ import com.example.assessment_employee.entity.EvaluationCycles;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.EvaluationCycleMapper;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
 import com.example.assessment_employee.repository.DepartmentRepository;
 import com.example.assessment_employee.repository.EvaluationCyclesRepository;
 import com.example.assessment_employee.repository.EvaluationAnswersRepository;
@@ -32,7 +33,11 @@ public class EvaluationCycleService {
     private final EvaluationCyclesRepository evaluationCyclesRepository;
     private final DepartmentRepository departmentRepository;
     private final EvaluationAnswersRepository evaluationAnswersRepository;
+    private final CriteriaFormRepository criteriaFormRepository;
     private final EvaluationCycleMapper evaluationCycleMapper;
+    private final CycleSnapshotService cycleSnapshotService;
+    private final CycleIntervalIndex cycleIntervalIndex;
+    private final FormVersionService formVersionService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
@@ -61,6 +66,8 @@ public class EvaluationCycleService {
         
         // Save evaluation cycle
         EvaluationCycles savedCycle = evaluationCyclesRepository.save(evaluationCycle);
+        snapshotIfCompleted(null, savedCycle);
+        cycleIntervalIndex.evictAfterCommit(department.getDepartmentId());
         
         log.info("Evaluation cycle created successfully with ID: {}", savedCycle.getEvaluationCycleId());
         
@@ -127,6 +134,7 @@ public class EvaluationCycleService {
         }
         
         // Validate department exists if being changed
+        Long previousDepartmentId = existingCycle.getDepartment().getDepartmentId();
         if (!existingCycle.getDepartment().getDepartmentId().equals(request.getDepartmentId())) {
             Department newDepartment = departmentRepository.findById(request.getDepartmentId())
                     .orElseThrow(() -> {
@@ -143,9 +151,13 @@ public class EvaluationCycleService {
         checkForOverlappingCycles(request.getDepartmentId(), request.getStartDate(), request.getEndDate(), id);
         
         // Update cycle fields
+        String previousStatus = existingCycle.getStatus();
         evaluationCycleMapper.updateEntity(request, existingCycle);
         
         EvaluationCycles updatedCycle = evaluationCyclesRepository.save(existingCycle);
+        snapshotIfCompleted(previousStatus, updatedCycle);
+        cycleIntervalIndex.evictAfterCommit(previousDepartmentId);
+        cycleIntervalIndex.evictAfterCommit(updatedCycle.getDepartment().getDepartmentId());
         
         log.info("Evaluation cycle updated successfully with ID: {}", updatedCycle.getEvaluationCycleId());
         
@@ -173,8 +185,13 @@ public class EvaluationCycleService {
         // Validate status transition
         validateStatusTransition(cycle.getStatus(), status);
         
+        String previousStatus = cycle.getStatus();
         cycle.setStatus(status);
         EvaluationCycles updatedCycle = evaluationCyclesRepository.save(cycle);
+        if ("DRAFT".equals(previousStatus) && !"DRAFT".equals(status)) {
+            formVersionService.publishCycle(id);
+        }
+        snapshotIfCompleted(previousStatus, updatedCycle);
         
         log.info("Evaluation cycle status updated successfully for ID: {}", id);
         
@@ -204,11 +221,14 @@ public class EvaluationCycleService {
             throw new AppException(ErrorCode.EVALUATION_CYCLE_COMPLETED);
         }
         
-        // Check if cycle has evaluations (through criteria forms)
-        // This would require checking CriteriaForm and EvaluationAnswers
-        // For now, we'll allow deletion of DRAFT cycles
+        // Check if cycle has criteria forms (criteria_form.evaluation_cycle_id references this cycle)
+        if (criteriaFormRepository.countByEvaluationCycleId(id) > 0) {
+            log.warn("Cannot delete evaluation cycle with criteria forms: {}", id);
+            throw new AppException(ErrorCode.EVALUATION_CYCLE_HAS_FORMS);
+        }
         
         evaluationCyclesRepository.deleteById(id);
+        cycleIntervalIndex.evictAfterCommit(cycle.getDepartment().getDepartmentId());
         
         log.info("Evaluation cycle deleted successfully with ID: {}", id);
     }
@@ -257,6 +277,22 @@ public class EvaluationCycleService {
         return evaluationCycleMapper.toResponseList(cycles);
     }
     
+    /**
+     * Get the cycle of a department whose date range contains the given date
+     */
+    @Transactional(readOnly = true)
+    public EvaluationCycleResponse getCycleContainingDate(Long departmentId, LocalDate date) {
+        log.info("Getting evaluation cycle of department {} containing date: {}", departmentId, date);
+        
+        Long cycleId = cycleIntervalIndex.findContaining(departmentId, date)
+                .orElseThrow(() -> {
+                    log.warn("No evaluation cycle of department {} contains date: {}", departmentId, date);
+                    return new AppException(ErrorCode.EVALUATION_CYCLE_NOT_FOUND);
+                });
+        
+        return getEvaluationCycleById(cycleId);
+    }
+    
     /**
      * Validate date range
      */
@@ -279,26 +315,16 @@ public class EvaluationCycleService {
      * Check for overlapping cycles in the same department
      */
     private void checkForOverlappingCycles(Long departmentId, String startDate, String endDate, Long excludeCycleId) {
-        List<EvaluationCycles> existingCycles = evaluationCyclesRepository.findByDepartmentId(departmentId);
-        
         LocalDate newStart = LocalDate.parse(startDate, DATE_FORMATTER);
         LocalDate newEnd = LocalDate.parse(endDate, DATE_FORMATTER);
         
-        for (EvaluationCycles cycle : existingCycles) {
-            if (excludeCycleId != null && cycle.getEvaluationCycleId().equals(excludeCycleId)) {
-                continue;
-            }
-            
-            LocalDate existingStart = LocalDate.parse(cycle.getStartDate(), DATE_FORMATTER);
-            LocalDate existingEnd = LocalDate.parse(cycle.getEndDate(), DATE_FORMATTER);
-            
-            // Check for overlap
-            if (!(newEnd.isBefore(existingStart) || newStart.isAfter(existingEnd))) {
-                log.warn("Overlapping evaluation cycle found for department {}: existing cycle {} ({} to {}), new cycle ({} to {})",
-                        departmentId, cycle.getEvaluationCycleId(), cycle.getStartDate(), cycle.getEndDate(), startDate, endDate);
-                throw new AppException(ErrorCode.EVALUATION_CYCLE_ALREADY_EXISTS);
-            }
-        }
+        // Check for overlap using the per-department interval index
+        cycleIntervalIndex.findOverlapping(departmentId, newStart, newEnd, excludeCycleId)
+                .ifPresent(existingCycleId -> {
+                    log.warn("Overlapping evaluation cycle found for department {}: existing cycle {}, new cycle ({} to {})",
+                            departmentId, existingCycleId, startDate, endDate);
+                    throw new AppException(ErrorCode.EVALUATION_CYCLE_ALREADY_EXISTS);
+                });
     }
     
     /**
@@ -308,6 +334,15 @@ public class EvaluationCycleService {
         return "DRAFT".equals(status) || "ACTIVE".equals(status) || "COMPLETED".equals(status);
     }
     
+    /**
+     * Freeze cycle results when the cycle moves into COMPLETED (same transaction as the status change)
+     */
+    private void snapshotIfCompleted(String previousStatus, EvaluationCycles cycle) {
+        if ("COMPLETED".equals(cycle.getStatus()) && !"COMPLETED".equals(previousStatus)) {
+            cycleSnapshotService.createSnapshot(cycle);
+        }
+    }
+    
     /**
      * Validate status transition
      */
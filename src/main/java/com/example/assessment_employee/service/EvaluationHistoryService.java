@@ -1,10 +1,14 @@
 package com.example.assessment_employee.service;
 
+import com.example.assessment_employee.configuration.ObservabilityConfig;
 import com.example.assessment_employee.dto.request.EvaluationHistoryFilterRequest;
 import com.example.assessment_employee.dto.response.CycleStatisticsResponse;
 import com.example.assessment_employee.dto.response.EvaluationHistoryResponse;
 import com.example.assessment_employee.entity.*;
+import com.example.assessment_employee.enums.AssessorRole;
+import com.example.assessment_employee.enums.SnapshotScope;
 import com.example.assessment_employee.repository.*;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,23 +17,29 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = ObservabilityConfig.SERVICE_OBSERVATION)
+@Transactional(readOnly = true)
 public class EvaluationHistoryService {
     
     private final SummaryAssessmentRepository summaryAssessmentRepository;
     private final EvaluationCyclesRepository evaluationCyclesRepository;
     private final CriteriaFormRepository criteriaFormRepository;
     private final EvaluationCriteriaRepository evaluationCriteriaRepository;
-    private final EvaluationQuestionsRepository evaluationQuestionsRepository;
     private final EvaluationAnswersRepository evaluationAnswersRepository;
     private final EmployeeRepository employeeRepository;
+    private final CycleSnapshotService cycleSnapshotService;
+    private final CompletionTracker completionTracker;
     
     /**
      * Lấy lịch sử đánh giá với filter và phân trang
@@ -53,8 +63,15 @@ public class EvaluationHistoryService {
             summaryAssessments = summaryAssessmentRepository.findAll(pageable);
         }
 
+        // Đánh giá thuộc chu kỳ đã hoàn thành: lấy kết quả đã chốt trong một truy vấn
+        Map<Long, CycleResultSnapshot> snapshots = cycleSnapshotService.findAssessmentSnapshots(
+                summaryAssessments.map(SummaryAssessment::getSummaryAssessmentId).getContent());
+
         // Convert sang response
-        return summaryAssessments.map(this::convertToHistoryResponse);
+        return summaryAssessments.map(assessment -> {
+            CycleResultSnapshot snapshot = snapshots.get(assessment.getSummaryAssessmentId());
+            return snapshot != null ? convertToHistoryResponse(assessment, snapshot) : convertToHistoryResponse(assessment);
+        });
     }
     
     /**
@@ -80,6 +97,18 @@ public class EvaluationHistoryService {
     public CycleStatisticsResponse getCycleStatistics(String cycleName) {
         log.info("Getting cycle statistics for: {}", cycleName);
 
+        Optional<CycleResultSnapshot> snapshot = findCompletedCycle(cycleName)
+                .flatMap(cycle -> cycleSnapshotService.findSnapshotRows(cycle, SnapshotScope.CYCLE))
+                .flatMap(rows -> rows.stream().findFirst());
+        if (snapshot.isPresent()) {
+            return CycleStatisticsResponse.builder()
+                    .cycleName(cycleName)
+                    .totalEvaluations(snapshot.get().getEvaluationCount())
+                    .completedEvaluations(snapshot.get().getCompletedCount())
+                    .averageScore(Math.round(snapshot.get().getAverageScore() * 10.0) / 10.0)
+                    .build();
+        }
+
         // Tìm các đánh giá trong chu kỳ này
         List<SummaryAssessment> cycleAssessments = findAssessmentsByCycleName(cycleName);
 
@@ -108,6 +137,21 @@ public class EvaluationHistoryService {
     public List<CycleStatisticsResponse.CriteriaChartDataResponse> getCriteriaChartData(String cycleName) {
         log.info("Getting criteria chart data for cycle: {}", cycleName);
 
+        Optional<List<CycleResultSnapshot>> snapshot = findCompletedCycle(cycleName)
+                .flatMap(cycle -> cycleSnapshotService.findSnapshotRows(cycle, SnapshotScope.CRITERIA));
+        if (snapshot.isPresent()) {
+            return snapshot.get().stream()
+                    .map(row -> CycleStatisticsResponse.CriteriaChartDataResponse.builder()
+                            .criteriaName(row.getRefName())
+                            .averageScore(Math.round(row.getAverageScore() * 10.0) / 10.0)
+                            .employeeScore(Math.round(row.getEmployeeScore() * 10.0) / 10.0)
+                            .supervisorScore(Math.round(row.getSupervisorScore() * 10.0) / 10.0)
+                            .managerScore(Math.round(row.getManagerScore() * 10.0) / 10.0)
+                            .color(criteriaColor(row.getRefName()))
+                            .build())
+                    .collect(Collectors.toList());
+        }
+
         List<SummaryAssessment> cycleAssessments = findAssessmentsByCycleName(cycleName);
         return generateCriteriaChartData(cycleAssessments);
     }
@@ -147,7 +191,9 @@ public class EvaluationHistoryService {
     private EvaluationHistoryResponse convertToHistoryResponse(SummaryAssessment assessment) {
         // Tính toán các thông tin cần thiết
         double averageScore = calculateAverageScore(assessment);
-        String status = getAssessmentStatus(assessment);
+        // Trạng thái và số câu lấy cùng lúc từ CompletionTracker: không COUNT theo từng dòng, luôn khớp nhau
+        CompletionTracker.EmployeeProgress progress = completionTracker.progress(assessment.getCriteriaFormId(),
+                assessment.getEmployee().getCode());
 
         return EvaluationHistoryResponse.builder()
                 .id(assessment.getSummaryAssessmentId())
@@ -159,11 +205,11 @@ public class EvaluationHistoryService {
                 .cycleName(getCycleNameById(assessment.getCriteriaFormId()))
                 .createdAt(assessment.getCreatedAt())
                 .updatedAt(assessment.getUpdatedAt())
-                .status(status)
+                .status(progress.status().name())
                 .comment(assessment.getComment())
                 .averageScore(averageScore)
-                .totalQuestions(getTotalQuestions(assessment))
-                .completedQuestions(getCompletedQuestions(assessment))
+                .totalQuestions(Math.toIntExact(progress.questionCount()))
+                .completedQuestions(Math.toIntExact(progress.answered()))
                 .sentiment(null)  // Bỏ qua logic sentiment
                 .sentimentLabel(null)  // Bỏ qua logic sentiment
                 .sentimentColor(null)  // Bỏ qua logic sentiment
@@ -171,6 +217,50 @@ public class EvaluationHistoryService {
                 .build();
     }
     
+    private EvaluationHistoryResponse convertToHistoryResponse(SummaryAssessment assessment, CycleResultSnapshot snapshot) {
+        // Chu kỳ đã chốt: form, chu kỳ, trạng thái và điểm lấy từ snapshot
+        return EvaluationHistoryResponse.builder()
+                .id(assessment.getSummaryAssessmentId())
+                .employeeId(snapshot.getEmployeeId())
+                .employeeName(snapshot.getRefName())
+                .departmentName(snapshot.getDepartmentName())
+                .formId(snapshot.getFormId())
+                .formName(snapshot.getFormName())
+                .cycleName(snapshot.getCycleName())
+                .createdAt(assessment.getCreatedAt())
+                .updatedAt(assessment.getUpdatedAt())
+                .status(snapshot.getStatus())
+                .comment(assessment.getComment())
+                .averageScore(snapshot.getAverageScore())
+                .totalQuestions(snapshot.getTotalQuestions())
+                .completedQuestions(snapshot.getCompletedQuestions())
+                .sentiment(null)  // Bỏ qua logic sentiment
+                .sentimentLabel(null)  // Bỏ qua logic sentiment
+                .sentimentColor(null)  // Bỏ qua logic sentiment
+                .assessmentItems(new ArrayList<>()) // Bỏ chi tiết đánh giá
+                .build();
+    }
+
+    /**
+     * Tìm chu kỳ đã hoàn thành theo tên "startDate - endDate" (chỉ khi tên xác định duy nhất một chu kỳ)
+     */
+    private Optional<EvaluationCycles> findCompletedCycle(String cycleName) {
+        String[] dates = cycleName.split(" - ");
+        if (dates.length != 2) {
+            return Optional.empty();
+        }
+        List<EvaluationCycles> cycles;
+        try {
+            cycles = evaluationCyclesRepository.findByStartDateAndEndDate(LocalDate.parse(dates[0]), LocalDate.parse(dates[1]));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+        if (cycles.size() != 1 || !"COMPLETED".equals(cycles.get(0).getStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(cycles.get(0));
+    }
+
     private List<SummaryAssessment> findAssessmentsByCycleName(String cycleName) {
         // Tìm assessments theo cycle name
         List<SummaryAssessment> allAssessments = summaryAssessmentRepository.findAll();
@@ -180,17 +270,9 @@ public class EvaluationHistoryService {
     }
 
     private String getAssessmentStatus(SummaryAssessment assessment) {
-        // Kiểm tra status dựa trên số câu hỏi đã hoàn thành
-        int totalQuestions = getTotalQuestions(assessment);
-        int completedQuestions = getCompletedQuestions(assessment);
-
-        if (completedQuestions == totalQuestions) {
-            return "COMPLETED";
-        } else if (completedQuestions > 0) {
-            return "IN_PROGRESS";
-        } else {
-            return "PENDING";
-        }
+        // Số câu đã trả lời so với số câu hỏi của biểu mẫu, lấy từ bitmap trong bộ nhớ thay vì hai lần COUNT mỗi bản đánh giá
+        return completionTracker.status(assessment.getCriteriaFormId(), assessment.getEmployee().getCode(),
+                AssessorRole.ANY).name();
     }
 
     private double calculateAverageScore(SummaryAssessment assessment) {
@@ -241,32 +323,15 @@ public class EvaluationHistoryService {
     private String getCycleName(CriteriaForm criteriaForm) {
         if (criteriaForm != null && criteriaForm.getEvaluationCycleId() != null) {
             // Tìm EvaluationCycles bằng evaluationCycleId
-            try {
-                Long cycleId = Long.parseLong(criteriaForm.getEvaluationCycleId());
-                Optional<EvaluationCycles> cycleOpt = evaluationCyclesRepository.findById(cycleId);
-                if (cycleOpt.isPresent()) {
-                    EvaluationCycles cycle = cycleOpt.get();
-                    return cycle.getStartDate() + " - " + cycle.getEndDate();
-                }
-            } catch (NumberFormatException e) {
-                log.warn("Invalid evaluation cycle ID format: {}", criteriaForm.getEvaluationCycleId());
+            Optional<EvaluationCycles> cycleOpt = evaluationCyclesRepository.findById(criteriaForm.getEvaluationCycleId());
+            if (cycleOpt.isPresent()) {
+                EvaluationCycles cycle = cycleOpt.get();
+                return cycle.getStartDate() + " - " + cycle.getEndDate();
             }
         }
         return "Unknown Cycle";
     }
 
-    private int getTotalQuestions(SummaryAssessment assessment) {
-        // Đếm tổng số câu hỏi trong form
-        return evaluationQuestionsRepository
-                .countByCriteriaFormId(assessment.getCriteriaFormId());
-    }
-
-    private int getCompletedQuestions(SummaryAssessment assessment) {
-        // Đếm số câu hỏi đã trả lời
-        return evaluationAnswersRepository
-                .countBySummaryAssessmentId(assessment.getSummaryAssessmentId());
-    }
-
 
 
 
@@ -324,9 +389,13 @@ public class EvaluationHistoryService {
                             .employeeScore(Math.round(avgEmployeeScore * 10.0) / 10.0)
                             .supervisorScore(Math.round(avgSupervisorScore * 10.0) / 10.0)
                             .managerScore(Math.round(avgManagerScore * 10.0) / 10.0)
-                            .color("#" + String.format("%06x", Math.abs(criteriaName.hashCode()) % 0xFFFFFF))
+                            .color(criteriaColor(criteriaName))
                             .build();
                 })
                 .collect(Collectors.toList());
     }
+
+    private String criteriaColor(String criteriaName) {
+        return "#" + String.format("%06x", Math.abs(criteriaName.hashCode()) % 0xFFFFFF);
+    }
 }
@@ -4,6 +4,7 @@ import com.example.assessment_employee.dto.request.EvaluationQuestionCreateReque
 import com.example.assessment_employee.dto.response.EvaluationQuestionResponse;
 import com.example.assessment_employee.entity.EvaluationCriteria;
 import com.example.assessment_employee.entity.EvaluationQuestions;
+import com.example.assessment_employee.enums.SearchEntityType;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.EvaluationQuestionMapper;
@@ -17,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -28,6 +30,8 @@ public class EvaluationQuestionService {
     private final EvaluationQuestionsRepository evaluationQuestionsRepository;
     private final EvaluationCriteriaRepository evaluationCriteriaRepository;
     private final EvaluationQuestionMapper evaluationQuestionMapper;
+    private final FormVersionService formVersionService;
+    private final SearchIndex searchIndex;
     
     /**
      * Create new evaluation question
@@ -56,6 +60,9 @@ public class EvaluationQuestionService {
             throw new AppException(ErrorCode.QUESTION_NAME_EXISTED);
         }
         
+        // Biểu mẫu đã khóa giữ bộ câu hỏi cũ
+        formVersionService.freezeFormsUsingCriteria(criteria.getEvaluationCriteriaId());
+        
         // Convert request to entity
         EvaluationQuestions question = evaluationQuestionMapper.toEntity(request);
         question.setEvaluationCriteria(criteria);
@@ -76,7 +83,7 @@ public class EvaluationQuestionService {
         log.info("Getting all evaluation questions with pagination: page={}, size={}", 
                 pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<EvaluationQuestions> questionPage = evaluationQuestionsRepository.findAll(pageable);
+        Page<EvaluationQuestions> questionPage = evaluationQuestionsRepository.findByRetiredAtIsNull(pageable);
         List<EvaluationQuestionResponse> responses = evaluationQuestionMapper.toResponseList(questionPage.getContent());
         
         return new PageImpl<>(responses, pageable, questionPage.getTotalElements());
@@ -100,7 +107,8 @@ public class EvaluationQuestionService {
     public EvaluationQuestionResponse getEvaluationQuestionById(Long id) {
         log.info("Getting evaluation question by ID: {}", id);
         
-        EvaluationQuestions question = evaluationQuestionsRepository.findByIdWithCriteria(id)
+        // Tiêu chí (ManyToOne) nạp từ second-level cache
+        EvaluationQuestions question = evaluationQuestionsRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("Evaluation question not found with ID: {}", id);
                     return new AppException(ErrorCode.EVALUATION_QUESTION_NOT_FOUND);
@@ -120,15 +128,20 @@ public class EvaluationQuestionService {
                     log.warn("Evaluation question not found for update with ID: {}", id);
                     return new AppException(ErrorCode.EVALUATION_QUESTION_NOT_FOUND);
                 });
+        if (existingQuestion.getRetiredAt() != null) {
+            log.warn("Evaluation question update failed: Question {} was retired", id);
+            throw new AppException(ErrorCode.QUESTION_RETIRED);
+        }
         
         // Validate evaluation criteria exists if being changed
-        if (!existingQuestion.getEvaluationCriteria().getEvaluationCriteriaId().equals(request.getEvaluationCriteriaId())) {
-            EvaluationCriteria newCriteria = evaluationCriteriaRepository.findById(request.getEvaluationCriteriaId())
+        EvaluationCriteria currentCriteria = existingQuestion.getEvaluationCriteria();
+        EvaluationCriteria targetCriteria = currentCriteria;
+        if (!currentCriteria.getEvaluationCriteriaId().equals(request.getEvaluationCriteriaId())) {
+            targetCriteria = evaluationCriteriaRepository.findById(request.getEvaluationCriteriaId())
                     .orElseThrow(() -> {
                         log.warn("Evaluation criteria not found with ID: {}", request.getEvaluationCriteriaId());
                         return new AppException(ErrorCode.EVALUATION_CRITERIA_NOT_FOUND);
                     });
-            existingQuestion.setEvaluationCriteria(newCriteria);
         }
         
         // Validate max score
@@ -146,8 +159,25 @@ public class EvaluationQuestionService {
             throw new AppException(ErrorCode.QUESTION_NAME_EXISTED);
         }
         
+        formVersionService.freezeFormsUsingCriteria(currentCriteria.getEvaluationCriteriaId());
+        if (targetCriteria != currentCriteria) {
+            formVersionService.freezeFormsUsingCriteria(targetCriteria.getEvaluationCriteriaId());
+        }
+        
+        // Câu hỏi đã được chấm/phát hành: tạo dòng mới, dòng cũ ngừng dùng (điểm và biểu mẫu cũ vẫn trỏ tới nó)
+        if (formVersionService.isQuestionLocked(existingQuestion)) {
+            EvaluationQuestions replacement = evaluationQuestionMapper.toEntity(request);
+            replacement.setEvaluationCriteria(targetCriteria);
+            replacement = evaluationQuestionsRepository.save(replacement);
+            retire(existingQuestion, replacement.getEvaluationQuestionId());
+            
+            log.info("Evaluation question {} replaced by {}", id, replacement.getEvaluationQuestionId());
+            return evaluationQuestionMapper.toResponse(replacement);
+        }
+        
         // Update question fields
         evaluationQuestionMapper.updateEntity(request, existingQuestion);
+        existingQuestion.setEvaluationCriteria(targetCriteria);
         
         EvaluationQuestions updatedQuestion = evaluationQuestionsRepository.save(existingQuestion);
         
@@ -168,15 +198,30 @@ public class EvaluationQuestionService {
                     return new AppException(ErrorCode.EVALUATION_QUESTION_NOT_FOUND);
                 });
         
-        // Check if question has answers (would need to check EvaluationAnswersDetail)
-        // For now, we'll allow deletion but in a real system, you'd check for existing answers
-        // This would require a method like: evaluationAnswersDetailRepository.existsByQuestionId(id)
+        if (question.getRetiredAt() != null) {
+            log.warn("Evaluation question already retired: {}", id);
+            throw new AppException(ErrorCode.QUESTION_RETIRED);
+        }
+        
+        // Câu hỏi đã có câu trả lời hoặc thuộc biểu mẫu đã phát hành chỉ ngừng dùng, không xóa
+        formVersionService.freezeFormsUsingCriteria(question.getEvaluationCriteria().getEvaluationCriteriaId());
+        if (formVersionService.isQuestionLocked(question)) {
+            retire(question, null);
+            log.info("Evaluation question retired with ID: {}", id);
+            return;
+        }
         
         evaluationQuestionsRepository.deleteById(id);
         
         log.info("Evaluation question deleted successfully with ID: {}", id);
     }
     
+    private void retire(EvaluationQuestions question, Long replacedById) {
+        question.setRetiredAt(LocalDateTime.now());
+        question.setReplacedById(replacedById);
+        evaluationQuestionsRepository.save(question);
+    }
+    
     /**
      * Get questions by criteria ID
      */
@@ -184,7 +229,8 @@ public class EvaluationQuestionService {
     public List<EvaluationQuestionResponse> getQuestionsByCriteriaId(Long criteriaId) {
         log.info("Getting evaluation questions by criteria ID: {}", criteriaId);
         
-        List<EvaluationQuestions> questions = evaluationQuestionsRepository.findByCriteriaIdWithCriteria(criteriaId);
+        // Query cache + tiêu chí từ second-level cache
+        List<EvaluationQuestions> questions = evaluationQuestionsRepository.findByCriteriaId(criteriaId);
         return evaluationQuestionMapper.toResponseList(questions);
     }
     
@@ -206,7 +252,10 @@ public class EvaluationQuestionService {
     public List<EvaluationQuestionResponse> searchQuestionsByName(String keyword) {
         log.info("Searching evaluation questions by name keyword: {}", keyword);
         
-        List<EvaluationQuestions> questions = evaluationQuestionsRepository.searchByQuestionName(keyword);
+        // Chỉ mục trong bộ nhớ (không dấu, trigram) thay cho LIKE '%kw%' quét toàn bảng
+        List<Long> ids = searchIndex.searchIds(SearchEntityType.EVALUATION_QUESTION, keyword);
+        List<EvaluationQuestions> questions = SearchIndex.inRankOrder(ids, evaluationQuestionsRepository.findAllById(ids),
+                EvaluationQuestions::getEvaluationQuestionId);
         return evaluationQuestionMapper.toResponseList(questions);
     }
     
@@ -217,7 +266,7 @@ public class EvaluationQuestionService {
     public List<EvaluationQuestionResponse> getQuestionsByMaxScore(Long maxScore) {
         log.info("Getting evaluation questions by max score: {}", maxScore);
         
-        List<EvaluationQuestions> questions = evaluationQuestionsRepository.findByMaxScore(maxScore);
+        List<EvaluationQuestions> questions = evaluationQuestionsRepository.findByMaxScoreAndRetiredAtIsNull(maxScore);
         return evaluationQuestionMapper.toResponseList(questions);
     }
     
@@ -1,71 +1,102 @@
 package com.example.assessment_employee.service;
 
+import com.example.assessment_employee.configuration.ObservabilityConfig;
 import com.example.assessment_employee.constants.RoleConstants;
 import com.example.assessment_employee.dto.request.AssessmentRequest;
 import com.example.assessment_employee.dto.request.SentimentRequest;
 import com.example.assessment_employee.dto.response.SentimentResponse;
 import com.example.assessment_employee.dto.response.SummaryAssessmentResponse;
 import com.example.assessment_employee.entity.*;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.mapper.SummaryAssessmentMapper;
 import com.example.assessment_employee.repository.*;
+import com.example.assessment_employee.repository.SummaryAssessmentUpsertRepository.AnswerScores;
+import com.example.assessment_employee.repository.SummaryAssessmentUpsertRepository.ScoreColumn;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Observed(name = ObservabilityConfig.SERVICE_OBSERVATION)
 public class EvaluationService {
 
-    private final EvaluationAnswersRepository evaluationAnswersRepository;
     private final EmployeeRepository employeeRepository;
     private final CriteriaFormRepository criteriaFormRepository;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
     private final EvaluationQuestionsRepository evaluationQuestionsRepository;
     private final SummaryAssessmentRepository summaryAssessmentRepository;
     private final SummaryAssessmentMapper summaryAssessmentMapper;
+    private final FormVersionService formVersionService;
+    private final FormDefinitionService formDefinitionService;
     SentimentAnalysisClient sentimentAnalysisClient;
+    ObservationRegistry observationRegistry;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * Submits an assessment for an employee by an assessor (employee, manager, or supervisor).
+     * Summary and answers are written with upserts on their unique keys, so concurrent submissions
+     * by the different roles merge into one row instead of racing on find-then-insert.
+     * Write conflicts (optimistic lock, deadlock, lock wait timeout) roll back and retry the whole
+     * transaction with bounded backoff; the retry advice wraps the transactional one.
      */
+    @Retryable(retryFor = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${app.submit-retry.max-attempts:4}",
+            backoff = @Backoff(delayExpression = "${app.submit-retry.delay-ms:20}",
+                    maxDelayExpression = "${app.submit-retry.max-delay-ms:200}",
+                    multiplier = 2, random = true),
+            listeners = ObservabilityConfig.SUBMIT_RETRY_LISTENER)
     @Transactional
     public SummaryAssessmentResponse submitAssessment(AssessmentRequest request) {
         log.info("Submitting assessment for employee ID: {}", request.getEmployeeId());
 
         // Validate employee, criteria form, and assessor
-        Employee employee = employeeRepository.findById(request.getEmployeeId())
-                .orElseThrow(() -> new AppException(ErrorCode.EMPLOYEE_NOT_FOUND));
-        CriteriaForm criteriaForm = criteriaFormRepository.findById(request.getFormId())
-                .orElseThrow(() -> new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND));
-        Employee assessor = employeeRepository.findById(request.getAssessorId())
-                .orElseThrow(() -> new AppException(ErrorCode.ASSESSOR_NOT_FOUND));
+        Employee employee = phase("load", () -> employeeRepository.findById(request.getEmployeeId())
+                .orElseThrow(() -> new AppException(ErrorCode.EMPLOYEE_NOT_FOUND)));
+        CriteriaForm criteriaForm = phase("load", () -> criteriaFormRepository.findById(request.getFormId())
+                .orElseThrow(() -> new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND)));
+        // Version cũ đã có bản thay thế: chỉ chấm theo version hiện hành
+        if (criteriaForm.getSupersededById() != null) {
+            throw new AppException(ErrorCode.CRITERIA_FORM_VERSION_SUPERSEDED);
+        }
+        Employee assessor = phase("load", () -> employeeRepository.findById(request.getAssessorId())
+                .orElseThrow(() -> new AppException(ErrorCode.ASSESSOR_NOT_FOUND)));
+
+        // Chu kỳ đã chốt được phục vụ từ snapshot bất biến (CycleSnapshotService): không nhận thêm điểm
+        if (criteriaForm.getEvaluationCycleId() != null && phase("load", () -> evaluationCyclesRepository
+                .findById(criteriaForm.getEvaluationCycleId())
+                .map(cycle -> "COMPLETED".equals(cycle.getStatus()))
+                .orElse(false))) {
+            throw new AppException(ErrorCode.EVALUATION_CYCLE_COMPLETED);
+        }
 
         // Validate assessment items
         if (request.getAssessmentItems() == null || request.getAssessmentItems().isEmpty()) {
             throw new AppException(ErrorCode.EVALUATION_QUESTION_NOT_FOUND);
         }
 
-        // Create or retrieve SummaryAssessment
-        SummaryAssessment summaryAssessment = summaryAssessmentRepository
-                .findByEmployeeAndCriteriaFormId(employee, criteriaForm.getCriteriaFormId())
-                .orElse(SummaryAssessment.builder()
-                        .employee(employee)
-                        .criteriaFormId(criteriaForm.getCriteriaFormId())
-                        .evaluationAnswers(new ArrayList<>())
-                        .build());
-
-        // Process assessment items and create EvaluationAnswers
-        List<EvaluationAnswers> evaluationAnswersList = request.getAssessmentItems().stream()
+        // Validate scores against each question (questions are served from the second-level cache)
+        List<AnswerScores> answerScores = phase("score", () -> request.getAssessmentItems().stream()
                 .map(item -> {
                     EvaluationQuestions question = evaluationQuestionsRepository.findById(item.getQuestionId())
                             .orElseThrow(() -> new AppException(ErrorCode.EVALUATION_QUESTION_NOT_FOUND));
@@ -74,52 +105,73 @@ public class EvaluationService {
                             || item.getSupervisorScore() > question.getMaxScore()) {
                         throw new AppException(ErrorCode.INVALID_MAX_SCORE);
                     }
-                    EvaluationAnswers answer = evaluationAnswersRepository
-                            .findBySummaryAssessmentIdAndQuestionId(summaryAssessment.getSummaryAssessmentId(), item.getQuestionId())
-                            .orElse(EvaluationAnswers.builder()
-                                    .question(question)
-                                    .summaryAssessment(summaryAssessment)
-                                    .build());
-
-                    // Set score based on assessor's role
-                    if (isEmployeeAssessor(assessor, employee)) {
-                        answer.setTotalScoreByEmployee(item.getEmployeeScore());
-                    }  if (isManagerAssessor(assessor, employee)) {
-                        answer.setTotalScoreByManager(item.getManagerScore());
-                    }  if (isSupervisorAssessor(assessor, employee)) {
-                        answer.setTotalScoreBySupervision(item.getSupervisorScore());
-                    }
-                    answer.setTotalScore(answer.getAVGScore());
-                    return answer;
+                    return new AnswerScores(item.getQuestionId(), item.getEmployeeScore(),
+                            item.getManagerScore(), item.getSupervisorScore());
                 })
-                .toList();
-
-        // Add evaluation answers to summary assessment
-        summaryAssessment.getEvaluationAnswers().addAll(evaluationAnswersList);
-        // set score;
-        summaryAssessment.setAverageScore(evaluationAnswersList.stream()
-                .mapToDouble(EvaluationAnswers::getAVGScore)
-                .sum());
+                .toList());
+
+        // Score columns written by this assessor's role(s)
+        EnumSet<ScoreColumn> scoredColumns = EnumSet.noneOf(ScoreColumn.class);
+        if (isEmployeeAssessor(assessor, employee)) {
+            scoredColumns.add(ScoreColumn.EMPLOYEE);
+        }
+        if (isManagerAssessor(assessor, employee)) {
+            scoredColumns.add(ScoreColumn.MANAGER);
+        }
+        if (isSupervisorAssessor(assessor, employee)) {
+            scoredColumns.add(ScoreColumn.SUPERVISOR);
+        }
+
         // sentiment
-        SentimentResponse sentimentResponse =sentimentAnalysisClient.analyzeSentiment(
+        SentimentResponse sentimentResponse = phase("sentiment", () -> sentimentAnalysisClient.analyzeSentiment(
                 SentimentRequest.builder()
                         .comment(request.getComment())
-                        .build());
-        summaryAssessment.setSentiment(sentimentResponse.getSentiment()
-        );
-        // Set comment if provided
-        if (request.getComment() != null && !request.getComment().trim().isEmpty()) {
-            summaryAssessment.setComment(request.getComment());
+                        .build()));
+        // Keep the existing comment unless one is provided
+        String comment = request.getComment() != null && !request.getComment().trim().isEmpty()
+                ? request.getComment()
+                : null;
+
+        // Đánh giá đầu tiên đóng băng biểu mẫu: điểm luôn gắn với version đã chấm
+        if (criteriaForm.getPublishedAt() == null) {
+            formVersionService.publish(criteriaForm);
+        }
+        // Chỉ nhận câu hỏi thuộc bộ câu hỏi đóng băng của version này
+        Set<Long> formQuestionIds = formDefinitionService.questionIds(criteriaForm);
+        if (answerScores.stream().anyMatch(scores -> !formQuestionIds.contains(scores.questionId()))) {
+            throw new AppException(ErrorCode.QUESTION_NOT_IN_FORM);
         }
 
-        // Save entities
-        evaluationAnswersRepository.saveAll(evaluationAnswersList);
-        summaryAssessmentRepository.save(summaryAssessment);
+        // Upsert summary, then all answers in one statement (average_score recomputed in the database)
+        long summaryAssessmentId = phase("persist", () -> {
+            long id = summaryAssessmentRepository.upsertSummary(employee.getCode(), criteriaForm.getCriteriaFormId(),
+                    sentimentResponse.getSentiment(), comment);
+            summaryAssessmentRepository.upsertAnswers(id, answerScores, scoredColumns);
+            return id;
+        });
+        // Listener (dashboard SSE) chỉ chạy sau khi transaction commit
+        eventPublisher.publishEvent(new AssessmentSubmittedEvent(summaryAssessmentId,
+                employee.getCode(), criteriaForm.getCriteriaFormId(), criteriaForm.getEvaluationCycleId(),
+                assessor.getCode()));
+
+        SummaryAssessment summaryAssessment = summaryAssessmentRepository.findById(summaryAssessmentId)
+                .orElseThrow(() -> new AppException(ErrorCode.SUMMARY_ASSESSMENT_NOT_FOUND));
 
         // Map to DTO and return
         return summaryAssessmentMapper.toSummaryAssessmentResponse(summaryAssessment);
     }
 
+    /**
+     * Đo một giai đoạn của submitAssessment (load, score, sentiment, persist): span con trong trace
+     * và timer "assessment.submit.phase" theo tag phase
+     */
+    private <T> T phase(String phase, Supplier<T> action) {
+        return Observation.createNotStarted("assessment.submit.phase", observationRegistry)
+                .contextualName("submit-assessment " + phase)
+                .lowCardinalityKeyValue("phase", phase)
+                .observe(action);
+    }
+
     /**
      * Retrieves an existing assessment for a given employee and criteria form.
      *
@@ -167,7 +219,7 @@ public class EvaluationService {
         boolean result = department != null
                 && Objects.equals(department.getDepartmentId(), assessor.getDepartment().getDepartmentId())
                 && assessor.getAccount().getRole().equals(RoleConstants.MANAGER);
-        log.info("result: "+result);
+        log.debug("isManagerAssessor: {}", result);
         return result;
     }
 
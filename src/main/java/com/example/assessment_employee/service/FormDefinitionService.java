@@ -0,0 +1,212 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.PublishedDefinitionRow;
+import com.example.assessment_employee.dto.projection.PublishedFormRow;
+import com.example.assessment_employee.dto.response.ApiResponse;
+import com.example.assessment_employee.dto.response.FormDefinitionResponse;
+import com.example.assessment_employee.entity.CriteriaForm;
+import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.entity.EvaluationQuestions;
+import com.example.assessment_employee.exception.AppException;
+import com.example.assessment_employee.exception.ErrorCode;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
+import com.example.assessment_employee.repository.EvaluationQuestionsRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Định nghĩa biểu mẫu (form -> tiêu chí -> câu hỏi) đã serialize sẵn thành JSON UTF-8.
+ * Biểu mẫu đã phát hành (FormVersionService) không bao giờ đổi: định nghĩa đóng băng được giữ mãi, không cần invalidate.
+ * Bản nháp được cache theo version FORM_DEFINITION của {@link AggregateVersions}: mọi thay đổi biểu mẫu, tiêu chí
+ * hoặc câu hỏi qua Hibernate tăng version sau commit, nên bản cũ tự hết hạn ở request kế tiếp.
+ * Request trúng cache không truy vấn DB và không serialize.
+ * Bộ câu hỏi của version đã phát hành cũng lấy từ định nghĩa đóng băng, không qua tiêu chí hiện tại: câu hỏi thêm
+ * hoặc ngừng dùng sau khi phát hành không đổi số câu hỏi (và trạng thái hoàn thành) của version đó.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FormDefinitionService {
+
+    private static final AggregateVersions.Aggregate AGGREGATE = AggregateVersions.Aggregate.FORM_DEFINITION;
+    private static final int DEFINITION_BATCH_SIZE = 500;
+
+    private final CriteriaFormRepository criteriaFormRepository;
+    private final EvaluationQuestionsRepository evaluationQuestionsRepository;
+    private final AggregateVersions aggregateVersions;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Definition> definitions = new ConcurrentHashMap<>();
+    // Version đã phát hành: bất biến, số lượng tăng chậm (vài biểu mẫu mỗi chu kỳ)
+    private final Map<Long, Definition> publishedDefinitions = new ConcurrentHashMap<>();
+    // Câu hỏi của version đã phát hành, theo (biểu mẫu, thời điểm phát hành): publish bị rollback không để lại bộ sai
+    private final Map<PublishedVersion, Set<Long>> publishedQuestionIds = new ConcurrentHashMap<>();
+
+    private record PublishedVersion(long criteriaFormId, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * Body ApiResponse đã serialize và ETag của version tạo ra nó; published: body không bao giờ đổi
+     */
+    public record Definition(long version, String etag, byte[] json, boolean published) {
+    }
+
+    public Definition getDefinition(Long formId) {
+        Definition published = publishedDefinitions.get(formId);
+        if (published != null) {
+            return published;
+        }
+
+        // Đọc version trước khi nạp: thay đổi commit trong lúc nạp làm bản này hết hạn ngay ở request sau
+        long version = aggregateVersions.version(AGGREGATE);
+        Definition cached = definitions.get(formId);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        if (cached != null) {
+            definitions.values().removeIf(definition -> definition.version() < version);
+        }
+
+        CriteriaForm form = criteriaFormRepository.findByIdWithFullDetails(formId)
+                .orElseThrow(() -> new AppException(ErrorCode.CRITERIA_FORM_NOT_FOUND));
+        if (form.getPublishedAt() != null) {
+            definitions.remove(formId);
+            Definition definition = new Definition(form.getFormVersion(),
+                    "W/\"criteria-form-" + formId + "-v" + form.getFormVersion() + "\"",
+                    serialize(readPublished(form)), true);
+            publishedDefinitions.putIfAbsent(formId, definition);
+            return definition;
+        }
+        Definition definition = new Definition(version, aggregateVersions.etag(AGGREGATE, version), serialize(toDefinition(form)), false);
+        definitions.merge(formId, definition, (current, loaded) -> current.version() >= loaded.version() ? current : loaded);
+        log.debug("Cached definition of criteria form {} ({} bytes, version {})", formId, definition.json().length, version);
+        return definition;
+    }
+
+    /**
+     * Cây định nghĩa hiện tại của biểu mẫu (tiêu chí và câu hỏi chưa ngừng dùng)
+     */
+    public FormDefinitionResponse toDefinition(CriteriaForm form) {
+        // Sắp xếp theo ID để cùng một version luôn cho cùng một body
+        List<FormDefinitionResponse.Criteria> criteria = form.getEvaluationCriteria().stream()
+                .sorted(Comparator.comparing(EvaluationCriteria::getEvaluationCriteriaId))
+                .map(item -> FormDefinitionResponse.Criteria.builder()
+                        .evaluationCriteriaId(item.getEvaluationCriteriaId())
+                        .criteriaName(item.getCriteriaName())
+                        .evaluationQuestions(item.getEvaluationQuestions().stream()
+                                .sorted(Comparator.comparing(EvaluationQuestions::getEvaluationQuestionId))
+                                .map(question -> FormDefinitionResponse.Question.builder()
+                                        .evaluationQuestionId(question.getEvaluationQuestionId())
+                                        .questionName(question.getQuestionName())
+                                        .maxScore(question.getMaxScore())
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+
+        return FormDefinitionResponse.builder()
+                .criteriaFormId(form.getCriteriaFormId())
+                .criteriaFormName(form.getCriteriaFormName())
+                .evaluationCycleId(form.getEvaluationCycleId())
+                .formVersion(form.getFormVersion())
+                .evaluationCriteria(criteria)
+                .build();
+    }
+
+    /**
+     * Câu hỏi của version: đã phát hành - bộ đóng băng trong publishedDefinition; bản nháp - câu hỏi chưa ngừng dùng
+     * của các tiêu chí hiện tại
+     */
+    public Set<Long> questionIds(CriteriaForm form) {
+        if (form.getPublishedAt() != null) {
+            return publishedQuestionIds.computeIfAbsent(
+                    new PublishedVersion(form.getCriteriaFormId(), form.getPublishedAt()),
+                    key -> parseQuestionIds(form.getCriteriaFormId(), form.getPublishedDefinition()));
+        }
+        return toDefinition(form).getEvaluationCriteria().stream()
+                .flatMap(criteria -> criteria.getEvaluationQuestions().stream())
+                .map(FormDefinitionResponse.Question::getEvaluationQuestionId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Số câu hỏi của version (xem {@link #questionIds(CriteriaForm)}); bản nháp đếm trong DB
+     */
+    public int questionCount(CriteriaForm form) {
+        return form.getPublishedAt() != null ? questionIds(form).size()
+                : evaluationQuestionsRepository.countByCriteriaFormId(form.getCriteriaFormId());
+    }
+
+    /**
+     * Số câu hỏi theo biểu mẫu của các version đã phát hành; chỉ đọc định nghĩa của version chưa có trong cache
+     */
+    public Map<Long, Integer> publishedQuestionCounts(List<PublishedFormRow> forms) {
+        List<Long> missing = forms.stream()
+                .filter(row -> !publishedQuestionIds.containsKey(new PublishedVersion(row.criteriaFormId(), row.publishedAt())))
+                .map(PublishedFormRow::criteriaFormId)
+                .toList();
+        for (int from = 0; from < missing.size(); from += DEFINITION_BATCH_SIZE) {
+            List<PublishedDefinitionRow> rows = criteriaFormRepository.findPublishedDefinitionRows(
+                    missing.subList(from, Math.min(from + DEFINITION_BATCH_SIZE, missing.size())));
+            rows.forEach(row -> publishedQuestionIds.putIfAbsent(new PublishedVersion(row.criteriaFormId(), row.publishedAt()),
+                    parseQuestionIds(row.criteriaFormId(), row.publishedDefinition())));
+        }
+
+        Map<Long, Integer> counts = new HashMap<>();
+        forms.forEach(row -> {
+            Set<Long> ids = publishedQuestionIds.get(new PublishedVersion(row.criteriaFormId(), row.publishedAt()));
+            if (ids != null) {
+                counts.put(row.criteriaFormId(), ids.size());
+            }
+        });
+        return counts;
+    }
+
+    private Set<Long> parseQuestionIds(Long formId, String publishedDefinition) {
+        JsonNode definition;
+        try {
+            definition = objectMapper.readTree(publishedDefinition);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt published definition of criteria form " + formId, e);
+        }
+        Set<Long> ids = new HashSet<>();
+        definition.path("evaluationCriteria").forEach(criteria -> criteria.path("evaluationQuestions")
+                .forEach(question -> ids.add(question.path("evaluationQuestionId").asLong())));
+        return Set.copyOf(ids);
+    }
+
+    private JsonNode readPublished(CriteriaForm form) {
+        try {
+            return objectMapper.readTree(form.getPublishedDefinition());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt published definition of criteria form " + form.getCriteriaFormId(), e);
+        }
+    }
+
+    private byte[] serialize(Object definition) {
+        ApiResponse<Object> response = ApiResponse.builder()
+                .code(200)
+                .message("Criteria form definition retrieved successfully")
+                .result(definition)
+                .build();
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize criteria form definition", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.entity.CriteriaForm;
+import com.example.assessment_employee.entity.EvaluationQuestions;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
+import com.example.assessment_employee.repository.EvaluationAnswersRepository;
+import com.example.assessment_employee.repository.EvaluationCyclesRepository;
+import com.example.assessment_employee.repository.SummaryAssessmentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+/**
+ * Copy-on-write cho biểu mẫu và câu hỏi.
+ * Biểu mẫu bị khóa khi chu kỳ đã rời DRAFT hoặc đã có đánh giá; lúc đó định nghĩa (tiêu chí, câu hỏi, maxScore) được
+ * đóng băng vào publishedDefinition và không bao giờ đổi nữa. Sửa biểu mẫu đã khóa tạo version mới (dòng mới);
+ * SummaryAssessment giữ criteria_form_id của version đã chấm. Câu hỏi đã được chấm hoặc thuộc biểu mẫu đã phát hành
+ * được thay bằng dòng mới thay vì sửa tại chỗ.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FormVersionService {
+
+    private static final String DRAFT = "DRAFT";
+
+    private final CriteriaFormRepository criteriaFormRepository;
+    private final EvaluationCyclesRepository evaluationCyclesRepository;
+    private final SummaryAssessmentRepository summaryAssessmentRepository;
+    private final EvaluationAnswersRepository evaluationAnswersRepository;
+    private final FormDefinitionService formDefinitionService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Biểu mẫu không còn được sửa tại chỗ: đã phát hành, chu kỳ đã rời DRAFT, hoặc đã có đánh giá
+     */
+    public boolean isLocked(CriteriaForm form) {
+        return form.getPublishedAt() != null
+                || !isDraftCycle(form.getEvaluationCycleId())
+                || summaryAssessmentRepository.existsByCriteriaFormId(form.getCriteriaFormId());
+    }
+
+    public boolean isDraftCycle(Long evaluationCycleId) {
+        return evaluationCycleId == null || evaluationCyclesRepository.findById(evaluationCycleId)
+                .map(cycle -> DRAFT.equals(cycle.getStatus()))
+                .orElse(true);
+    }
+
+    /**
+     * Đóng băng định nghĩa hiện tại của biểu mẫu (không làm gì nếu đã phát hành)
+     */
+    public void publish(CriteriaForm form) {
+        if (form.getPublishedAt() != null) {
+            return;
+        }
+        try {
+            form.setPublishedDefinition(objectMapper.writeValueAsString(formDefinitionService.toDefinition(form)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize criteria form " + form.getCriteriaFormId(), e);
+        }
+        form.setPublishedAt(LocalDateTime.now());
+        criteriaFormRepository.save(form);
+        log.info("Published criteria form {} version {}", form.getCriteriaFormId(), form.getFormVersion());
+    }
+
+    /**
+     * Chu kỳ chuyển sang ACTIVE: phát hành mọi biểu mẫu hiện hành của chu kỳ
+     */
+    public void publishCycle(Long evaluationCycleId) {
+        criteriaFormRepository.findByEvaluationCycleIdAndPublishedAtIsNullAndSupersededByIdIsNull(evaluationCycleId)
+                .forEach(this::publish);
+    }
+
+    /**
+     * Gọi trước khi sửa tiêu chí hoặc câu hỏi của nó: biểu mẫu đã khóa nhưng chưa phát hành được đóng băng với
+     * nội dung cũ, để thay đổi chỉ xuất hiện ở bản nháp và version sau
+     */
+    public void freezeFormsUsingCriteria(Long evaluationCriteriaId) {
+        criteriaFormRepository.findLockedUnpublishedByCriteriaId(evaluationCriteriaId).forEach(this::publish);
+    }
+
+    /**
+     * Tạo version kế tiếp (cùng tên, chu kỳ và tiêu chí) và đánh dấu version hiện tại là đã bị thay thế
+     */
+    public CriteriaForm createNextVersion(CriteriaForm current) {
+        CriteriaForm next = criteriaFormRepository.save(CriteriaForm.builder()
+                .criteriaFormName(current.getCriteriaFormName())
+                .evaluationCycleId(current.getEvaluationCycleId())
+                .evaluationCriteria(new HashSet<>(current.getEvaluationCriteria()))
+                .formVersion(current.getFormVersion() + 1)
+                .previousVersionId(current.getCriteriaFormId())
+                .build());
+        current.setSupersededById(next.getCriteriaFormId());
+        criteriaFormRepository.save(current);
+        log.info("Criteria form {} superseded by version {} ({})", current.getCriteriaFormId(),
+                next.getFormVersion(), next.getCriteriaFormId());
+        return next;
+    }
+
+    /**
+     * Câu hỏi phải được thay bằng dòng mới thay vì sửa/xóa: đã có câu trả lời hoặc thuộc biểu mẫu đã phát hành.
+     * Gọi sau {@link #freezeFormsUsingCriteria(Long)}.
+     */
+    public boolean isQuestionLocked(EvaluationQuestions question) {
+        return evaluationAnswersRepository.existsByQuestionId(question.getEvaluationQuestionId())
+                || criteriaFormRepository.existsPublishedByCriteriaId(question.getEvaluationCriteria().getEvaluationCriteriaId());
+    }
+}
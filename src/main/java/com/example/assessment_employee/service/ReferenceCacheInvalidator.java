@@ -0,0 +1,135 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.entity.EvaluationCycles;
+import com.example.assessment_employee.entity.EvaluationQuestions;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Invalidate second-level cache mà Hibernate không tự làm.
+ * Collection phía inverse (mappedBy) không bị xóa khi chỉ phía owner thay đổi: thêm/đổi/xóa câu hỏi
+ * hoặc chu kỳ phải xóa cache collection của tiêu chí / phòng ban cũ và mới, sau khi transaction commit.
+ * Ghi thẳng bằng JDBC (LargeDatasetGenerator) phải gọi {@link #evictAll()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceCacheInvalidator implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String CRITERIA_QUESTIONS = EvaluationCriteria.class.getName() + ".evaluationQuestions";
+    private static final String DEPARTMENT_CYCLES = Department.class.getName() + ".evaluationCycles";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private CacheImplementor cache;
+
+    @PostConstruct
+    void registerListeners() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        cache = sessionFactory.getCache();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Xóa toàn bộ entity, collection và query cache
+     */
+    public void evictAll() {
+        cache.evictAllRegions();
+        log.info("Second-level and query caches evicted");
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        ownersChanged(event.getEntity(), null, event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        ownersChanged(event.getEntity(), event.getOldState(), event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        ownersChanged(event.getEntity(), event.getDeletedState(), event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void ownersChanged(Object entity, Object[] previousState, EntityPersister persister) {
+        Set<Long> owners = new HashSet<>();
+        String role;
+        if (entity instanceof EvaluationQuestions question) {
+            role = CRITERIA_QUESTIONS;
+            addCriteria(owners, question.getEvaluationCriteria());
+            if (previousState != null) {
+                addCriteria(owners, previousState[persister.getPropertyIndex("evaluationCriteria")]);
+            }
+        } else if (entity instanceof EvaluationCycles cycle) {
+            role = DEPARTMENT_CYCLES;
+            addDepartment(owners, cycle.getDepartment());
+            if (previousState != null) {
+                addDepartment(owners, previousState[persister.getPropertyIndex("department")]);
+            }
+        } else {
+            return;
+        }
+        if (owners.isEmpty()) {
+            return;
+        }
+
+        // Xóa sau commit: transaction khác không thể nạp lại dữ liệu chưa commit vào cache
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(role, owners);
+                }
+            });
+        } else {
+            evict(role, owners);
+        }
+    }
+
+    private void evict(String role, Set<Long> owners) {
+        owners.forEach(owner -> cache.evictCollectionData(role, owner));
+    }
+
+    private static void addCriteria(Set<Long> owners, Object criteria) {
+        if (criteria instanceof EvaluationCriteria value && value.getEvaluationCriteriaId() != null) {
+            owners.add(value.getEvaluationCriteriaId());
+        }
+    }
+
+    private static void addDepartment(Set<Long> owners, Object department) {
+        if (department instanceof Department value && value.getDepartmentId() != null) {
+            owners.add(value.getDepartmentId());
+        }
+    }
+}
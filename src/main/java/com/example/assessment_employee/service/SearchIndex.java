@@ -0,0 +1,400 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.projection.SearchRow;
+import com.example.assessment_employee.entity.CriteriaForm;
+import com.example.assessment_employee.entity.Department;
+import com.example.assessment_employee.entity.Employee;
+import com.example.assessment_employee.entity.EvaluationCriteria;
+import com.example.assessment_employee.entity.EvaluationQuestions;
+import com.example.assessment_employee.enums.SearchEntityType;
+import com.example.assessment_employee.repository.CriteriaFormRepository;
+import com.example.assessment_employee.repository.DepartmentRepository;
+import com.example.assessment_employee.repository.EmployeeRepository;
+import com.example.assessment_employee.repository.EvaluationCriteriaRepository;
+import com.example.assessment_employee.repository.EvaluationQuestionsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Chỉ mục tìm kiếm theo tên trong bộ nhớ cho nhân viên, phòng ban, tiêu chí, câu hỏi và biểu mẫu.
+ * Tên được chuẩn hóa bằng {@link TextNormalizer} ("nguyen" khớp "Nguyễn"). Mỗi từ sinh posting cho các trigram của nó
+ * và cho tiền tố đầu từ ("^n", "^ng"), nên từ khóa 1-2 ký tự khớp theo đầu từ, từ khóa dài hơn khớp ở bất kỳ vị trí nào.
+ * Ứng viên là giao các posting của mọi trigram, sau đó được kiểm tra lại và chấm điểm:
+ * trùng cả từ > đầu từ > giữa từ, cộng điểm khi tên bắt đầu bằng cả chuỗi tìm kiếm.
+ * Mỗi loại entity được nạp lần đầu khi cần (từ primary) và cập nhật qua Hibernate listener sau commit.
+ * Ghi thẳng bằng JDBC (LargeDatasetGenerator) phải gọi {@link #invalidateAll()}.
+ * Chỉ đúng khi chạy một instance (giống AggregateVersions).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndex implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final char WORD_START = '^';
+
+    private static final int EXACT_WORD = 3;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 1;
+    private static final int NAME_PREFIX_BONUS = 2;
+    private static final int EXACT_NAME_BONUS = 5;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final EvaluationCriteriaRepository evaluationCriteriaRepository;
+    private final EvaluationQuestionsRepository evaluationQuestionsRepository;
+    private final CriteriaFormRepository criteriaFormRepository;
+
+    private final Map<SearchEntityType, Shard> shards = new EnumMap<>(SearchEntityType.class);
+
+    /**
+     * Một kết quả đã xếp hạng
+     */
+    public record Hit(SearchEntityType type, long id, String name, int score) {
+    }
+
+    private record Document(long id, String name, String folded, String[] words) {
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        // Đọc primary (không readOnly): bản ghi vừa commit mà listener bỏ qua lúc chưa nạp phải có trong lần nạp.
+        // REQUIRES_NEW: lần nạp lười chạy trong request readOnly, tham gia transaction đó sẽ đọc replica
+        TransactionTemplate loader = new TransactionTemplate(transactionManager);
+        loader.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        shards.put(SearchEntityType.EMPLOYEE, new Shard(SearchEntityType.EMPLOYEE,
+                () -> loader.execute(status -> employeeRepository.findSearchRows())));
+        shards.put(SearchEntityType.DEPARTMENT, new Shard(SearchEntityType.DEPARTMENT,
+                () -> loader.execute(status -> departmentRepository.findSearchRows())));
+        shards.put(SearchEntityType.EVALUATION_CRITERIA, new Shard(SearchEntityType.EVALUATION_CRITERIA,
+                () -> loader.execute(status -> evaluationCriteriaRepository.findSearchRows())));
+        shards.put(SearchEntityType.EVALUATION_QUESTION, new Shard(SearchEntityType.EVALUATION_QUESTION,
+                () -> loader.execute(status -> evaluationQuestionsRepository.findSearchRows())));
+        shards.put(SearchEntityType.CRITERIA_FORM, new Shard(SearchEntityType.CRITERIA_FORM,
+                () -> loader.execute(status -> criteriaFormRepository.findSearchRows())));
+
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Kết quả của các loại entity cho trước, đã xếp hạng (điểm giảm dần, tên ngắn trước, rồi theo ID)
+     */
+    public List<Hit> search(String query, Collection<SearchEntityType> types) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        String folded = String.join(" ", tokens);
+        List<Hit> hits = new ArrayList<>();
+        for (SearchEntityType type : types) {
+            shards.get(type).search(folded, tokens, hits);
+        }
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(hit -> hit.name().length())
+                .thenComparingLong(Hit::id));
+        return hits;
+    }
+
+    /**
+     * ID của các entity khớp, đã xếp hạng
+     */
+    public List<Long> searchIds(SearchEntityType type, String query) {
+        return search(query, List.of(type)).stream().map(Hit::id).toList();
+    }
+
+    /**
+     * Sắp xếp entity đã nạp theo thứ tự xếp hạng của ids (findAllById không giữ thứ tự)
+     */
+    public static <T> List<T> inRankOrder(List<Long> ids, List<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        entities.forEach(entity -> byId.put(idOf.apply(entity), entity));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Bỏ toàn bộ chỉ mục; mỗi loại được nạp lại ở lần tìm kiếm sau
+     */
+    public void invalidateAll() {
+        shards.values().forEach(Shard::invalidate);
+        log.info("Search index invalidated");
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity(), false);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity(), true);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity, boolean deleted) {
+        SearchEntityType type;
+        Long id;
+        String name;
+        boolean active = !deleted;
+        if (entity instanceof Employee employee) {
+            type = SearchEntityType.EMPLOYEE;
+            id = employee.getCode();
+            name = employee.getFullName();
+        } else if (entity instanceof Department department) {
+            type = SearchEntityType.DEPARTMENT;
+            id = department.getDepartmentId();
+            name = department.getDepartmentName();
+        } else if (entity instanceof EvaluationCriteria criteria) {
+            type = SearchEntityType.EVALUATION_CRITERIA;
+            id = criteria.getEvaluationCriteriaId();
+            name = criteria.getCriteriaName();
+        } else if (entity instanceof EvaluationQuestions question) {
+            type = SearchEntityType.EVALUATION_QUESTION;
+            id = question.getEvaluationQuestionId();
+            name = question.getQuestionName();
+            active &= question.getRetiredAt() == null;
+        } else if (entity instanceof CriteriaForm form) {
+            type = SearchEntityType.CRITERIA_FORM;
+            id = form.getCriteriaFormId();
+            name = form.getCriteriaFormName();
+            active &= form.getSupersededById() == null;
+        } else {
+            return;
+        }
+        if (id == null) {
+            return;
+        }
+
+        Shard shard = shards.get(type);
+        boolean indexed = active;
+        // Áp dụng sau commit: tìm kiếm không thấy dữ liệu bị rollback
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    shard.apply(id, name, indexed);
+                }
+            });
+        } else {
+            shard.apply(id, name, indexed);
+        }
+    }
+
+    private static Set<String> grams(String[] words) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words) {
+            String marked = WORD_START + word;
+            grams.add(marked.substring(0, 2));
+            for (int i = 0; i + 3 <= marked.length(); i++) {
+                grams.add(marked.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Các gram mà mọi tên khớp phải chứa: tiền tố đầu từ cho từ khóa ngắn, các trigram cho từ khóa dài
+     */
+    private static Set<String> queryGrams(List<String> tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            if (token.length() < 3) {
+                grams.add(WORD_START + token);
+            } else {
+                for (int i = 0; i + 3 <= token.length(); i++) {
+                    grams.add(token.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Điểm của tên đối với các từ khóa; 0 nếu có từ khóa không khớp
+     */
+    private static int score(Document document, String query, List<String> tokens) {
+        int score = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (String word : document.words()) {
+                if (word.equals(token)) {
+                    best = EXACT_WORD;
+                    break;
+                }
+                if (word.startsWith(token)) {
+                    best = Math.max(best, WORD_PREFIX);
+                } else if (token.length() >= 3 && word.contains(token)) {
+                    best = Math.max(best, SUBSTRING);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        if (document.folded().equals(query)) {
+            score += EXACT_NAME_BONUS;
+        } else if (document.folded().startsWith(query)) {
+            score += NAME_PREFIX_BONUS;
+        }
+        return score;
+    }
+
+    /**
+     * Chỉ mục của một loại entity. Ghi (nạp, cập nhật) tuần tự hóa trên shard; đọc không khóa.
+     * Cập nhật đến khi chưa nạp bị bỏ qua: lần nạp sau (sau commit đó) đã đọc được dữ liệu mới.
+     */
+    private static final class Shard {
+        private final SearchEntityType type;
+        private final Supplier<List<SearchRow>> loader;
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        private Shard(SearchEntityType type, Supplier<List<SearchRow>> loader) {
+            this.type = type;
+            this.loader = loader;
+        }
+
+        void search(String query, List<String> tokens, List<Hit> hits) {
+            if (!loaded) {
+                load();
+            }
+            for (Long id : candidates(queryGrams(tokens))) {
+                Document document = documents.get(id);
+                if (document == null) {
+                    continue;
+                }
+                int score = score(document, query, tokens);
+                if (score > 0) {
+                    hits.add(new Hit(type, document.id(), document.name(), score));
+                }
+            }
+        }
+
+        /**
+         * Giao các posting, bắt đầu từ posting nhỏ nhất
+         */
+        private Collection<Long> candidates(Set<String> grams) {
+            List<Set<Long>> sets = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                sets.add(posting);
+            }
+            sets.sort(Comparator.comparingInt(Set::size));
+            List<Long> result = new ArrayList<>();
+            for (Long id : sets.get(0)) {
+                boolean all = true;
+                for (int i = 1; i < sets.size() && all; i++) {
+                    all = sets.get(i).contains(id);
+                }
+                if (all) {
+                    result.add(id);
+                }
+            }
+            return result;
+        }
+
+        synchronized void load() {
+            if (loaded) {
+                return;
+            }
+            long started = System.nanoTime();
+            List<SearchRow> rows = loader.get();
+            Map<String, Set<Long>> built = new HashMap<>();
+            for (SearchRow row : rows) {
+                Document document = document(row.id(), row.name());
+                documents.put(document.id(), document);
+                for (String gram : grams(document.words())) {
+                    built.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document.id());
+                }
+            }
+            postings.putAll(built);
+            loaded = true;
+            log.info("Indexed {} {} names ({} grams) in {} ms", documents.size(), type, postings.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+
+        synchronized void apply(long id, String name, boolean indexed) {
+            if (!loaded) {
+                return;
+            }
+            Document previous = documents.remove(id);
+            if (previous != null) {
+                for (String gram : grams(previous.words())) {
+                    postings.computeIfPresent(gram, (key, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+            if (!indexed || name == null) {
+                return;
+            }
+            Document document = document(id, name);
+            for (String gram : grams(document.words())) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            documents.put(id, document);
+        }
+
+        synchronized void invalidate() {
+            loaded = false;
+            documents.clear();
+            postings.clear();
+        }
+
+        private static Document document(long id, String name) {
+            String folded = TextNormalizer.fold(name);
+            return new Document(id, name, folded, folded.isEmpty() ? new String[0] : folded.split(" "));
+        }
+    }
+}
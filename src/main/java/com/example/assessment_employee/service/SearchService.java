@@ -0,0 +1,44 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.response.SearchResultResponse;
+import com.example.assessment_employee.enums.SearchEntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    private final SearchIndex searchIndex;
+
+    /**
+     * Typeahead trên tên nhân viên, phòng ban, tiêu chí, câu hỏi và biểu mẫu (không phân biệt dấu), đã xếp hạng.
+     * Không truy vấn DB khi chỉ mục đã nạp.
+     */
+    public Page<SearchResultResponse> search(String query, Set<SearchEntityType> types, Pageable pageable) {
+        Set<SearchEntityType> searched = types == null || types.isEmpty() ? EnumSet.allOf(SearchEntityType.class) : types;
+        List<SearchIndex.Hit> hits = searchIndex.search(query, searched);
+        log.debug("Search '{}' in {} matched {} entities", query, searched, hits.size());
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<SearchResultResponse> content = hits.subList(from, to).stream()
+                .map(hit -> SearchResultResponse.builder()
+                        .type(hit.type())
+                        .id(hit.id())
+                        .name(hit.name())
+                        .score(hit.score())
+                        .build())
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+}
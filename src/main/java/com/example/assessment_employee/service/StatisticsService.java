@@ -1,27 +1,36 @@
 package com.example.assessment_employee.service;
 
+import com.example.assessment_employee.configuration.ObservabilityConfig;
 import com.example.assessment_employee.dto.response.*;
+import com.example.assessment_employee.entity.CycleResultSnapshot;
 import com.example.assessment_employee.entity.EvaluationCycles;
+import com.example.assessment_employee.enums.SnapshotScope;
 import com.example.assessment_employee.exception.AppException;
 import com.example.assessment_employee.exception.ErrorCode;
 import com.example.assessment_employee.repository.EmployeeRepository;
 import com.example.assessment_employee.repository.EvaluationAnswersRepository;
 import com.example.assessment_employee.repository.EvaluationCyclesRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = ObservabilityConfig.SERVICE_OBSERVATION)
+@Transactional(readOnly = true)
 public class StatisticsService {
     private final EmployeeRepository employeeRepository;
     private final EvaluationAnswersRepository evaluationAnswersRepository;
     private final EvaluationCyclesRepository evaluationCyclesRepository;
+    private final CycleSnapshotService cycleSnapshotService;
     public EvaluationStatisticsResponse getStatisticsOverview() {
         long total = employeeRepository.count();
         long evaluated = evaluationAnswersRepository.countEvaluatedEmployees();
@@ -72,6 +81,16 @@ public class StatisticsService {
             throw new AppException(ErrorCode.EVALUATION_CYCLE_NOT_FOUND);
         }
         EvaluationCycles evaluationCycle = evaluationCycles.get();
+
+        // Chu kỳ đã hoàn thành: đọc kết quả đã chốt thay vì tính lại
+        Optional<List<CycleResultSnapshot>> snapshot = cycleSnapshotService.findSnapshotRows(evaluationCycle, SnapshotScope.CRITERIA);
+        if (snapshot.isPresent()) {
+            return snapshot.get().stream()
+                    .sorted(Comparator.comparing(CycleResultSnapshot::getRefName))
+                    .map(row -> new CriteriaAverageResponse(row.getRefName(), row.getAverageScore()))
+                    .collect(Collectors.toList());
+        }
+
         List<Object[]> rawResults = evaluationAnswersRepository.getAverageScoreByCriteria(evaluationCycle.getStartDate(), evaluationCycle.getEndDate());
 
         return rawResults.stream()
@@ -89,6 +108,10 @@ public class StatisticsService {
                 .collect(Collectors.toList());
     }
 
+    public CycleResultResponse getCycleResults(Long cycleId) {
+        return cycleSnapshotService.getCycleResults(cycleId);
+    }
+
     public List<CriteriaEmployeeResponse> getCriteriaScoresForEmployee(Long employeeId) {
         return evaluationAnswersRepository.fetchAverageScoresByCriteriaForEmployee(employeeId);
     }
@@ -0,0 +1,182 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.response.CriteriaAverageResponse;
+import com.example.assessment_employee.dto.response.EvaluationStatisticsResponse;
+import com.example.assessment_employee.dto.response.StatisticsDeltaResponse;
+import com.example.assessment_employee.dto.response.TopEmployeeResponse;
+import com.example.assessment_employee.event.AssessmentSubmittedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Đẩy thay đổi thống kê dashboard qua Server-Sent Events thay cho polling.
+ * Mỗi lần submitAssessment commit chỉ đánh dấu "dirty"; một lượt flush định kỳ (coalesce-ms) tính lại
+ * overview / top-employees / criteria-average đúng một lần cho mọi client và chỉ gửi phần đã thay đổi,
+ * nên một loạt submit dồn dập chỉ sinh ra một cập nhật.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsStreamService {
+
+    private static final String EVENT_NAME = "statistics";
+
+    private final StatisticsService statisticsService;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Trạng thái đã gửi lần gần nhất, chỉ được đọc/ghi trong flush()
+    private EvaluationStatisticsResponse lastOverview;
+    private List<TopEmployeeResponse> lastTopEmployees;
+    private final Map<Long, List<CriteriaAverageResponse>> lastCriteriaAverages = new HashMap<>();
+
+    @Value("${app.statistics-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private record Subscriber(SseEmitter emitter, Long cycleId) {
+    }
+
+    /**
+     * Mở stream cho dashboard; cycleId (tùy chọn) để nhận thêm điểm trung bình theo tiêu chí của chu kỳ đó
+     */
+    public SseEmitter subscribe(Long cycleId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, cycleId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Ảnh chụp đầy đủ ban đầu để client không cần gọi các endpoint polling
+        StatisticsDeltaResponse initial = StatisticsDeltaResponse.builder()
+                .sequence(sequence.incrementAndGet())
+                .full(true)
+                .overview(statisticsService.getStatisticsOverview())
+                .topEmployees(statisticsService.getTopEmployees())
+                .cycleId(cycleId)
+                .criteriaAverages(cycleId != null ? statisticsService.getCriteriaAverages(cycleId) : null)
+                .build();
+        if (send(subscriber, initial)) {
+            remember(initial);
+            subscribers.add(subscriber);
+        }
+        log.debug("Statistics stream opened (cycle {}), {} subscribers", cycleId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Client đầu tiên: lấy ảnh chụp vừa gửi làm mốc so sánh cho lượt flush kế tiếp
+     */
+    private synchronized void remember(StatisticsDeltaResponse initial) {
+        if (lastOverview == null) {
+            lastOverview = initial.getOverview();
+            lastTopEmployees = initial.getTopEmployees();
+        }
+        if (initial.getCycleId() != null) {
+            lastCriteriaAverages.putIfAbsent(initial.getCycleId(), initial.getCriteriaAverages());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAssessmentSubmitted(AssessmentSubmittedEvent event) {
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics-stream.coalesce-ms:1000}")
+    public synchronized void flush() {
+        if (subscribers.isEmpty()) {
+            // Không ai nghe: bỏ trạng thái cũ, client mới luôn nhận ảnh chụp đầy đủ
+            dirty.set(false);
+            lastOverview = null;
+            lastTopEmployees = null;
+            lastCriteriaAverages.clear();
+            return;
+        }
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+
+        EvaluationStatisticsResponse overview = statisticsService.getStatisticsOverview();
+        List<TopEmployeeResponse> topEmployees = statisticsService.getTopEmployees();
+        EvaluationStatisticsResponse overviewDelta = Objects.equals(overview, lastOverview) ? null : overview;
+        List<TopEmployeeResponse> topEmployeesDelta = Objects.equals(topEmployees, lastTopEmployees) ? null : topEmployees;
+        lastOverview = overview;
+        lastTopEmployees = topEmployees;
+
+        Set<Long> cycleIds = subscribers.stream()
+                .map(Subscriber::cycleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, List<CriteriaAverageResponse>> criteriaDeltas = new HashMap<>();
+        for (Long cycleId : cycleIds) {
+            try {
+                List<CriteriaAverageResponse> averages = statisticsService.getCriteriaAverages(cycleId);
+                if (!averages.equals(lastCriteriaAverages.put(cycleId, averages))) {
+                    criteriaDeltas.put(cycleId, averages);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh criteria averages for cycle {}: {}", cycleId, e.getMessage());
+            }
+        }
+        lastCriteriaAverages.keySet().retainAll(cycleIds);
+
+        for (Subscriber subscriber : subscribers) {
+            List<CriteriaAverageResponse> criteriaDelta = subscriber.cycleId() != null ? criteriaDeltas.get(subscriber.cycleId()) : null;
+            if (overviewDelta == null && topEmployeesDelta == null && criteriaDelta == null) {
+                continue;
+            }
+            send(subscriber, StatisticsDeltaResponse.builder()
+                    .sequence(sequence.incrementAndGet())
+                    .overview(overviewDelta)
+                    .topEmployees(topEmployeesDelta)
+                    .cycleId(criteriaDelta != null ? subscriber.cycleId() : null)
+                    .criteriaAverages(criteriaDelta)
+                    .build());
+        }
+    }
+
+    /**
+     * Comment định kỳ giữ kết nối qua proxy và phát hiện client đã ngắt
+     */
+    @Scheduled(fixedRateString = "${app.statistics-stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter().send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, StatisticsDeltaResponse delta) {
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                    .id(String.valueOf(delta.getSequence()))
+                    .name(EVENT_NAME)
+                    .data(delta));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+            return false;
+        }
+    }
+}
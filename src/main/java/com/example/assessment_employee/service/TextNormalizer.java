@@ -0,0 +1,57 @@
+package com.example.assessment_employee.service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Chuẩn hóa văn bản tiếng Việt để tìm kiếm không phân biệt dấu và hoa/thường: "Nguyễn Văn Đức" -> "nguyen van duc".
+ * Tách dấu bằng NFD rồi bỏ các ký tự dấu kết hợp; đ/Đ không có dạng tách nên được đổi riêng.
+ * Ký tự không phải chữ/số được coi là dấu cách giữa các từ.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Chuỗi đã bỏ dấu, chữ thường, các từ cách nhau đúng một dấu cách; null thành chuỗi rỗng
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder folded = new StringBuilder(stripped.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            if (c == 'đ' || c == 'Đ') {
+                c = 'd';
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !folded.isEmpty()) {
+                    folded.append(' ');
+                }
+                pendingSpace = false;
+                folded.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Các từ của chuỗi đã chuẩn hóa
+     */
+    public static List<String> tokens(String text) {
+        String folded = fold(text);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        return List.of(folded.split(" "));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.assessment_employee.configuration;
+
+import com.example.assessment_employee.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ngân sách SQL ở mode FAIL: danh sách lịch sử đánh giá (N+1 theo từng dòng) phải bị chặn và câu SQL lặp lại được nêu tên
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query-budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"app.query-budget.mode=FAIL",
+		"app.query-budget.max-time-ms=0",
+		"app.data-generator.departments=1",
+		"app.data-generator.employees-per-department=20",
+		"app.data-generator.supervisors-per-department=2",
+		"app.data-generator.criteria=4",
+		"app.data-generator.questions-per-criteria=3",
+		"app.data-generator.criteria-per-form=2"
+})
+@ActiveProfiles({"h2", "datagen"})
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class QueryBudgetTest {
+
+	private static final Pattern MOST_REPEATED = Pattern.compile("most repeated \\((\\d+)x\\): (select .+)", Pattern.CASE_INSENSITIVE);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QueryBudgetProperties properties;
+
+	@Test
+	void historyListingExceedsBudgetAndNamesRepeatedStatement(CapturedOutput output) throws Exception {
+		mockMvc.perform(get("/api/evaluation-history").param("page", "0").param("size", "20"))
+				.andExpect(status().is(ErrorCode.QUERY_BUDGET_EXCEEDED.getHttpStatusCode().value()))
+				.andExpect(jsonPath("$.code").value(ErrorCode.QUERY_BUDGET_EXCEEDED.getCode()));
+
+		Matcher violation = MOST_REPEATED.matcher(output.getOut());
+		assertTrue(violation.find(), "Query budget violation should name the most repeated statement");
+		assertTrue(Integer.parseInt(violation.group(1)) > properties.getMaxRepeats(),
+				"Repeated statement should exceed max-repeats: " + violation.group());
+	}
+
+	@Test
+	void requestWithinBudgetIsServed() throws Exception {
+		mockMvc.perform(get("/api/evaluation-history/cycles"))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,152 @@
+package com.example.assessment_employee.service;
+
+import com.example.assessment_employee.dto.request.AssessmentRequest;
+import com.example.assessment_employee.dto.response.SentimentResponse;
+import com.example.assessment_employee.repository.SentimentAnalysisClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Nhân viên, quản lý và giám sát cùng nộp điểm cho một (nhân viên, biểu mẫu): upsert phải gộp vào
+ * một dòng summary_assessment, một câu trả lời cho mỗi câu hỏi và tính lại average_score trong database
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:submit-merge;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+		"app.data-generator.departments=1",
+		"app.data-generator.employees-per-department=20",
+		"app.data-generator.supervisors-per-department=2",
+		"app.data-generator.criteria=4",
+		"app.data-generator.questions-per-criteria=3",
+		"app.data-generator.criteria-per-form=2"
+})
+@ActiveProfiles({"h2", "datagen"})
+class SubmitAssessmentMergeTest {
+
+	private static final int EMPLOYEE_SCORE = 5;
+	private static final int MANAGER_SCORE = 7;
+	private static final int SUPERVISOR_SCORE = 9;
+
+	@Autowired
+	private EvaluationService evaluationService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private SentimentAnalysisClient sentimentAnalysisClient;
+
+	@Test
+	void concurrentRoleSubmissionsMergeIntoOneSummary() throws Exception {
+		when(sentimentAnalysisClient.analyzeSentiment(any())).thenReturn(new SentimentResponse("Tốt"));
+
+		// Biểu mẫu của chu kỳ ACTIVE trong phòng ban sinh bởi datagen (có quản lý, giám sát và nhân viên)
+		Map<String, Object> form = jdbcTemplate.queryForMap("""
+				SELECT cf.criteria_form_id, ec.department_id FROM criteria_form cf
+				JOIN evaluation_cycles ec ON ec.evaluation_cycle_id = cf.evaluation_cycle_id
+				WHERE ec.status = 'ACTIVE' AND cf.superseded_by_id IS NULL AND cf.criteria_form_name LIKE 'GEN %'
+				ORDER BY cf.criteria_form_id LIMIT 1
+				""");
+		long formId = ((Number) form.get("criteria_form_id")).longValue();
+		long departmentId = ((Number) form.get("department_id")).longValue();
+		long employee = employeeWithRole(departmentId, "EMPLOYEE");
+		long manager = employeeWithRole(departmentId, "MANAGER");
+		long supervisor = employeeWithRole(departmentId, "SUPERVISOR");
+		// datagen đã chấm sẵn mọi (nhân viên, biểu mẫu): xóa để ba lần nộp cùng tạo mới một dòng
+		jdbcTemplate.update("""
+				DELETE FROM evaluation_answers WHERE summary_assessment_id IN
+				(SELECT summary_assessment_id FROM summary_assessment WHERE employee_id = ? AND criteria_form_id = ?)
+				""", employee, formId);
+		jdbcTemplate.update("DELETE FROM summary_assessment WHERE employee_id = ? AND criteria_form_id = ?", employee, formId);
+		List<Long> questionIds = jdbcTemplate.queryForList("""
+				SELECT q.evaluation_question_id FROM evaluation_questions q
+				JOIN criteria_form_evaluation_criteria fc ON fc.evaluation_criteria_evaluation_criteria_id = q.evaluation_criteria_id
+				WHERE fc.criteria_form_criteria_form_id = ?
+				ORDER BY q.evaluation_question_id
+				""", Long.class, formId);
+
+		// Ba vai trò nộp đồng thời: mỗi request chỉ ghi cột điểm của vai trò người chấm
+		List<AssessmentRequest> requests = List.of(
+				request(formId, employee, employee, questionIds),
+				request(formId, employee, manager, questionIds),
+				request(formId, employee, supervisor, questionIds));
+		ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = requests.stream()
+					.<Future<?>>map(request -> executor.submit(() -> {
+						start.await();
+						return evaluationService.submitAssessment(request);
+					}))
+					.toList();
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		List<Long> summaryIds = jdbcTemplate.queryForList(
+				"SELECT summary_assessment_id FROM summary_assessment WHERE employee_id = ? AND criteria_form_id = ?",
+				Long.class, employee, formId);
+		assertEquals(1, summaryIds.size());
+		long summaryId = summaryIds.get(0);
+
+		List<Map<String, Object>> answers = jdbcTemplate.queryForList("""
+				SELECT question_id, total_score_by_employee, total_score_by_manager, total_score_by_supervision, total_score
+				FROM evaluation_answers WHERE summary_assessment_id = ? ORDER BY question_id
+				""", summaryId);
+		assertEquals(questionIds, answers.stream().map(row -> ((Number) row.get("question_id")).longValue()).toList());
+		int expectedTotal = (EMPLOYEE_SCORE * 2 + SUPERVISOR_SCORE * 4 + MANAGER_SCORE * 4) / 10;
+		for (Map<String, Object> answer : answers) {
+			assertEquals(EMPLOYEE_SCORE, ((Number) answer.get("total_score_by_employee")).intValue());
+			assertEquals(MANAGER_SCORE, ((Number) answer.get("total_score_by_manager")).intValue());
+			assertEquals(SUPERVISOR_SCORE, ((Number) answer.get("total_score_by_supervision")).intValue());
+			assertEquals(expectedTotal, ((Number) answer.get("total_score")).intValue());
+		}
+
+		double averageScore = jdbcTemplate.queryForObject(
+				"SELECT average_score FROM summary_assessment WHERE summary_assessment_id = ?", Double.class, summaryId);
+		assertEquals((double) expectedTotal * questionIds.size(), averageScore, 0.0001);
+	}
+
+	private long employeeWithRole(long departmentId, String role) {
+		return jdbcTemplate.queryForObject("""
+				SELECT e.code FROM employee e JOIN account a ON a.id = e.id
+				WHERE e.department_id = ? AND a.role = ?
+				ORDER BY e.code LIMIT 1
+				""", Long.class, departmentId, role);
+	}
+
+	private static AssessmentRequest request(long formId, long employee, long assessor, List<Long> questionIds) {
+		return AssessmentRequest.builder()
+				.formId(formId)
+				.employeeId(employee)
+				.assessorId(assessor)
+				.comment("Hoàn thành tốt")
+				.assessmentItems(questionIds.stream()
+						.map(questionId -> AssessmentRequest.AssessmentItem.builder()
+								.questionId(questionId)
+								.employeeScore(EMPLOYEE_SCORE)
+								.managerScore(MANAGER_SCORE)
+								.supervisorScore(SUPERVISOR_SCORE)
+								.build())
+						.toList())
+				.build();
+	}
+}